@@ -0,0 +1,127 @@
+package com.synq.backend.audit;
+
+import com.synq.backend.config.AuditProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maintains the monthly RANGE COLUMNS partitions of audit_logs.
+ * Upcoming months are split off the p_max catch-all ahead of time, and months past
+ * the retention window are removed with DROP PARTITION instead of a bulk DELETE.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditPartitionManager {
+
+    private static final String TABLE = "audit_logs";
+    private static final String CATCH_ALL = "p_max";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditProperties auditProperties;
+
+    private record Partition(String name, LocalDate upperBound) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${synq.audit.partition-cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        maintainPartitions(YearMonth.now());
+    }
+
+    /**
+     * Maintain partitions as of the given month
+     */
+    void maintainPartitions(YearMonth current) {
+        try {
+            List<Partition> partitions = loadPartitions();
+            if (partitions.isEmpty()) {
+                log.warn("Table {} is not partitioned, skipping partition maintenance", TABLE);
+                return;
+            }
+
+            createUpcomingPartitions(partitions, current);
+            dropExpiredPartitions(partitions, current);
+        } catch (DataAccessException e) {
+            // Another node may be running the same maintenance; it is retried on the next run
+            log.error("Audit partition maintenance failed", e);
+        }
+    }
+
+    private void createUpcomingPartitions(List<Partition> partitions, YearMonth current) {
+        LocalDate highestBound = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(Objects::nonNull)
+                .max(LocalDate::compareTo)
+                .orElse(LocalDate.MIN);
+
+        List<String> definitions = new ArrayList<>();
+        for (int i = 0; i <= auditProperties.getPremakeMonths(); i++) {
+            YearMonth month = current.plusMonths(i);
+            LocalDate upperBound = month.plusMonths(1).atDay(1);
+            if (upperBound.isAfter(highestBound)) {
+                definitions.add("PARTITION " + month.format(PARTITION_NAME)
+                        + " VALUES LESS THAN ('" + upperBound + "')");
+            }
+        }
+
+        if (definitions.isEmpty()) {
+            return;
+        }
+
+        definitions.add("PARTITION " + CATCH_ALL + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + CATCH_ALL
+                + " INTO (" + String.join(", ", definitions) + ")");
+        log.info("Created {} upcoming audit log partitions", definitions.size() - 1);
+    }
+
+    private void dropExpiredPartitions(List<Partition> partitions, YearMonth current) {
+        LocalDate cutoff = current.minusMonths(auditProperties.getRetentionMonths()).atDay(1);
+
+        List<String> expired = partitions.stream()
+                .filter(partition -> partition.upperBound() != null && !partition.upperBound().isAfter(cutoff))
+                .map(Partition::name)
+                .toList();
+
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + String.join(", ", expired));
+        log.info("Dropped expired audit log partitions {}", expired);
+    }
+
+    private List<Partition> loadPartitions() {
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                        "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> new Partition(rs.getString(1), parseBound(rs.getString(2))),
+                TABLE
+        );
+    }
+
+    /**
+     * RANGE COLUMNS descriptions look like 'YYYY-MM-DD hh:mm:ss' or MAXVALUE
+     */
+    private static LocalDate parseBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        return LocalDate.parse(description.replace("'", "").substring(0, 10));
+    }
+}
@@ -0,0 +1,154 @@
+package com.synq.backend.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synq.backend.event.AuditEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Local NDJSON file holding audit events that did not fit in the queue or failed to persist.
+ * Events are replayed into the database once the writer is idle. Appends share one open writer;
+ * a replay moves the file aside first, so later appends start a new one.
+ */
+@Slf4j
+public class AuditSpillFile {
+
+    private final Path path;
+    private final Path replayPath;
+    private final Path offsetPath;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Open while the spill file exists; guarded by this
+     */
+    private BufferedWriter writer;
+
+    public AuditSpillFile(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.replayPath = path.resolveSibling(path.getFileName() + ".replay");
+        this.offsetPath = path.resolveSibling(path.getFileName() + ".replay.offset");
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Append events and flush them to the file before returning
+     */
+    public synchronized void append(List<AuditEvent> events) {
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (AuditEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            closeWriter();
+            throw new UncheckedIOException("Failed to spill audit events to " + path, e);
+        }
+    }
+
+    public boolean hasPending() {
+        return Files.exists(replayPath) || Files.exists(path);
+    }
+
+    /**
+     * Hand spilled events to the consumer in batches. The number of lines consumed is recorded after
+     * every batch the consumer accepts, so a failed or interrupted replay resumes at the failed batch
+     * instead of inserting the earlier ones again. Lines that cannot be parsed, such as one cut short
+     * by a crash, are skipped.
+     */
+    public void replay(int batchSize, Consumer<List<AuditEvent>> consumer) throws IOException {
+        synchronized (this) {
+            if (!Files.exists(replayPath)) {
+                if (!Files.exists(path)) {
+                    return;
+                }
+                closeWriter();
+                Files.deleteIfExists(offsetPath);
+                Files.move(path, replayPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+
+        long consumed = readOffset();
+        long lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replayPath, StandardCharsets.UTF_8)) {
+            List<AuditEvent> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= consumed || line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(objectMapper.readValue(line, AuditEvent.class));
+                } catch (JsonProcessingException e) {
+                    log.warn("Skipping unreadable line {} of {}", lineNumber, replayPath);
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    consumer.accept(batch);
+                    writeOffset(lineNumber);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+            }
+        }
+
+        Files.delete(replayPath);
+        Files.deleteIfExists(offsetPath);
+        log.info("Replayed spilled audit events from {}", path);
+    }
+
+    public synchronized void close() {
+        closeWriter();
+    }
+
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Failed to close audit spill file {}", path, e);
+        }
+        writer = null;
+    }
+
+    private long readOffset() throws IOException {
+        if (!Files.exists(offsetPath)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(offsetPath, StandardCharsets.UTF_8).trim());
+        } catch (NumberFormatException e) {
+            // An unreadable offset replays the whole file rather than losing events
+            log.warn("Ignoring unreadable replay offset in {}", offsetPath);
+            return 0;
+        }
+    }
+
+    private void writeOffset(long lines) throws IOException {
+        Path temp = offsetPath.resolveSibling(offsetPath.getFileName() + ".tmp");
+        Files.writeString(temp, Long.toString(lines), StandardCharsets.UTF_8);
+        Files.move(temp, offsetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,64 @@
+package com.synq.backend.audit;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free bounded multi-producer queue: a ConcurrentLinkedQueue guarded by a CAS-reserved size.
+ */
+public class BoundedEventQueue<T> {
+
+    private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+
+    public BoundedEventQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Enqueue the item if there is room, without blocking
+     */
+    public boolean offer(T item) {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+
+        queue.offer(item);
+        return true;
+    }
+
+    public T poll() {
+        T item = queue.poll();
+        if (item != null) {
+            size.decrementAndGet();
+        }
+        return item;
+    }
+
+    /**
+     * Move up to {@code max} items into the sink, returning how many were moved
+     */
+    public int drainTo(List<T> sink, int max) {
+        int drained = 0;
+        T item;
+        while (drained < max && (item = poll()) != null) {
+            sink.add(item);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
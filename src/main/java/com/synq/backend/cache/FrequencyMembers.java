@@ -0,0 +1,128 @@
+package com.synq.backend.cache;
+
+import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.repository.projection.MemberRow;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of the members of one frequency.
+ * Member ids live in a compressed bitmap; only members that differ from a plain, unbanned,
+ * unmuted MEMBER are kept in small parallel arrays sorted by user id, so a 100k member
+ * frequency costs a few bytes per member instead of a boxed set entry.
+ */
+final class FrequencyMembers {
+
+    private static final MembershipRole[] ROLES = MembershipRole.values();
+    private static final Optional<MemberState> PLAIN_MEMBER =
+            Optional.of(new MemberState(MembershipRole.MEMBER, false, null));
+
+    private final boolean privateFrequency;
+    private final Roaring64Bitmap memberIds;
+    private final long[] specialIds;
+    private final byte[] specialRoles;
+    private final BitSet banned;
+    private final LocalDateTime[] mutedUntil;
+
+    private FrequencyMembers(boolean privateFrequency, Roaring64Bitmap memberIds, long[] specialIds,
+                             byte[] specialRoles, BitSet banned, LocalDateTime[] mutedUntil) {
+        this.privateFrequency = privateFrequency;
+        this.memberIds = memberIds;
+        this.specialIds = specialIds;
+        this.specialRoles = specialRoles;
+        this.banned = banned;
+        this.mutedUntil = mutedUntil;
+    }
+
+    static FrequencyMembers of(boolean privateFrequency, List<MemberRow> rows) {
+        Roaring64Bitmap memberIds = new Roaring64Bitmap();
+        List<MemberRow> special = new ArrayList<>();
+        for (MemberRow row : rows) {
+            memberIds.addLong(row.userId());
+            if (isSpecial(row)) {
+                special.add(row);
+            }
+        }
+        memberIds.runOptimize();
+        special.sort(Comparator.comparingLong(MemberRow::userId));
+
+        long[] specialIds = new long[special.size()];
+        byte[] specialRoles = new byte[special.size()];
+        BitSet banned = null;
+        LocalDateTime[] mutedUntil = null;
+
+        for (int i = 0; i < special.size(); i++) {
+            MemberRow row = special.get(i);
+            specialIds[i] = row.userId();
+            specialRoles[i] = (byte) row.role().ordinal();
+            if (row.banned()) {
+                if (banned == null) {
+                    banned = new BitSet(special.size());
+                }
+                banned.set(i);
+            }
+            if (row.mutedUntil() != null) {
+                if (mutedUntil == null) {
+                    mutedUntil = new LocalDateTime[special.size()];
+                }
+                mutedUntil[i] = row.mutedUntil();
+            }
+        }
+
+        return new FrequencyMembers(privateFrequency, memberIds, specialIds, specialRoles, banned, mutedUntil);
+    }
+
+    boolean isPrivateFrequency() {
+        return privateFrequency;
+    }
+
+    boolean contains(long userId) {
+        return memberIds.contains(userId);
+    }
+
+    Optional<MemberState> find(long userId) {
+        if (!memberIds.contains(userId)) {
+            return Optional.empty();
+        }
+
+        int index = Arrays.binarySearch(specialIds, userId);
+        if (index < 0) {
+            return PLAIN_MEMBER;
+        }
+
+        return Optional.of(new MemberState(
+                ROLES[specialRoles[index]],
+                banned != null && banned.get(index),
+                mutedUntil != null ? mutedUntil[index] : null
+        ));
+    }
+
+    long size() {
+        return memberIds.getLongCardinality();
+    }
+
+    /**
+     * Rough retained heap size, used to weigh the snapshot against the index budget
+     */
+    int estimatedBytes() {
+        long bytes = 64L + memberIds.getLongSizeInBytes() + 9L * specialIds.length;
+        if (banned != null) {
+            bytes += 32 + specialIds.length / 8;
+        }
+        if (mutedUntil != null) {
+            bytes += 16 + 52L * mutedUntil.length;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static boolean isSpecial(MemberRow row) {
+        return row.role() != MembershipRole.MEMBER || row.banned() || row.mutedUntil() != null;
+    }
+}
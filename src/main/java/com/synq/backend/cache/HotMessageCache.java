@@ -0,0 +1,132 @@
+package com.synq.backend.cache;
+
+import com.synq.backend.config.HotMessageCacheProperties;
+import com.synq.backend.dto.response.MessageDto;
+import com.synq.backend.event.MessageEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of the newest messages of each frequency, already mapped to DTOs.
+ * Buffers are filled on the first read, kept current from committed message events,
+ * and evicted least-recently-used once the frequency budget is exceeded.
+ */
+@Component
+@Slf4j
+public class HotMessageCache {
+
+    private static final int WRITE_STRIPES = 1024;
+
+    private final HotMessageCacheProperties properties;
+    private final Map<Long, MessageRingBuffer> buffers;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * Write counters per frequency stripe, used to discard a load that raced with a write
+     */
+    private final AtomicLongArray writeStamps = new AtomicLongArray(WRITE_STRIPES);
+
+    public HotMessageCache(HotMessageCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.buffers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MessageRingBuffer> eldest) {
+                return size() > properties.getMaxFrequencies();
+            }
+        };
+        this.hits = meterRegistry.counter("synq.hot_messages.requests", "result", "hit");
+        this.misses = meterRegistry.counter("synq.hot_messages.requests", "result", "miss");
+        meterRegistry.gauge("synq.hot_messages.frequencies", this, HotMessageCache::cachedFrequencies);
+    }
+
+    /**
+     * Newest {@code count} active messages of a frequency, newest first.
+     * On a miss the loader is asked for a full buffer's worth of messages.
+     */
+    public Optional<List<MessageDto>> getLatest(Long frequencyId, int count, Supplier<List<MessageDto>> loader) {
+        if (!properties.isEnabled() || count > properties.getCapacityPerFrequency()) {
+            return Optional.empty();
+        }
+
+        MessageRingBuffer buffer = buffer(frequencyId);
+        if (buffer != null) {
+            Optional<List<MessageDto>> cached;
+            synchronized (buffer) {
+                cached = buffer.newest(count);
+            }
+            if (cached.isPresent()) {
+                hits.increment();
+                return cached;
+            }
+        }
+
+        misses.increment();
+        long stamp = writeStamps.get(stripe(frequencyId));
+        List<MessageDto> loaded = loader.get();
+        MessageRingBuffer fresh = new MessageRingBuffer(properties.getCapacityPerFrequency(), loaded);
+
+        synchronized (buffers) {
+            if (writeStamps.get(stripe(frequencyId)) == stamp) {
+                buffers.put(frequencyId, fresh);
+            }
+        }
+        return fresh.newest(count);
+    }
+
+    public int capacityPerFrequency() {
+        return properties.getCapacityPerFrequency();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageEvent(MessageEvent event) {
+        writeStamps.incrementAndGet(stripe(event.frequencyId()));
+
+        MessageRingBuffer buffer = buffer(event.frequencyId());
+        if (buffer == null) {
+            return;
+        }
+
+        synchronized (buffer) {
+            switch (event.type()) {
+                case CREATED -> buffer.insert(event.message());
+                case UPDATED -> buffer.replace(event.message());
+                case DELETED -> buffer.remove(event.message().id());
+            }
+        }
+    }
+
+    public void evict(Long frequencyId) {
+        writeStamps.incrementAndGet(stripe(frequencyId));
+        synchronized (buffers) {
+            buffers.remove(frequencyId);
+        }
+    }
+
+    private MessageRingBuffer buffer(Long frequencyId) {
+        synchronized (buffers) {
+            return buffers.get(frequencyId);
+        }
+    }
+
+    private int cachedFrequencies() {
+        synchronized (buffers) {
+            return buffers.size();
+        }
+    }
+
+    private static int stripe(Long frequencyId) {
+        return (int) (frequencyId & (WRITE_STRIPES - 1));
+    }
+}
@@ -0,0 +1,19 @@
+package com.synq.backend.cache;
+
+import com.synq.backend.enums.MembershipRole;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cached role and ban/mute state of a user in a frequency
+ */
+public record MemberState(
+        MembershipRole role,
+        boolean banned,
+        LocalDateTime mutedUntil
+) {
+
+    public boolean isMuted(LocalDateTime now) {
+        return mutedUntil != null && mutedUntil.isAfter(now);
+    }
+}
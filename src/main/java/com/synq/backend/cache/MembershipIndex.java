@@ -0,0 +1,114 @@
+package com.synq.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.synq.backend.config.MembershipIndexProperties;
+import com.synq.backend.event.MembershipChangedEvent;
+import com.synq.backend.exceptions.EndpointException;
+import com.synq.backend.repository.FrequencyRepository;
+import com.synq.backend.repository.MembershipRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * In-process index of frequency members with their roles and ban/mute state, so that
+ * authorization checks are a memory lookup. Member sets are loaded on first use, evicted
+ * least-recently-used once the heap budget is exceeded, and dropped whenever a
+ * {@link MembershipChangedEvent} completes its transaction. The event is local, so sets also
+ * expire after a fixed time: a ban committed on another node is enforced here within that TTL.
+ */
+@Component
+@Slf4j
+public class MembershipIndex {
+
+    private final MembershipRepository membershipRepository;
+    private final FrequencyRepository frequencyRepository;
+    private final MembershipIndexProperties properties;
+    private final Cache<Long, FrequencyMembers> members;
+
+    public MembershipIndex(MembershipRepository membershipRepository, FrequencyRepository frequencyRepository,
+                           MembershipIndexProperties properties, MeterRegistry meterRegistry) {
+        this.membershipRepository = membershipRepository;
+        this.frequencyRepository = frequencyRepository;
+        this.properties = properties;
+        this.members = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((Long frequencyId, FrequencyMembers snapshot) -> snapshot.estimatedBytes())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, members, "synq.membership_index");
+    }
+
+    /**
+     * Role and ban/mute state of a user in a frequency, empty if not a member or the frequency does not exist
+     */
+    public Optional<MemberState> find(Long frequencyId, Long userId) {
+        FrequencyMembers snapshot = members(frequencyId);
+        return snapshot != null ? snapshot.find(userId) : Optional.empty();
+    }
+
+    public boolean isMember(Long frequencyId, Long userId) {
+        FrequencyMembers snapshot = members(frequencyId);
+        return snapshot != null && snapshot.contains(userId);
+    }
+
+    /**
+     * Public frequencies are readable by anyone; private ones only by members who are not banned
+     */
+    public boolean canAccess(Long frequencyId, Long userId) {
+        FrequencyMembers snapshot = members(frequencyId);
+        if (snapshot == null) {
+            throw new EndpointException("Frequency not found", HttpStatus.NOT_FOUND);
+        }
+
+        if (!snapshot.isPrivateFrequency()) {
+            return true;
+        }
+
+        return snapshot.find(userId)
+                .filter(state -> !state.banned())
+                .isPresent();
+    }
+
+    /**
+     * Runs after commit and after rollback, so a snapshot loaded from uncommitted state never survives
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onMembershipChanged(MembershipChangedEvent event) {
+        evict(event.frequencyId());
+    }
+
+    public void evict(Long frequencyId) {
+        members.invalidate(frequencyId);
+    }
+
+    private FrequencyMembers members(Long frequencyId) {
+        if (!properties.isEnabled()) {
+            return load(frequencyId);
+        }
+        return members.get(frequencyId, this::load);
+    }
+
+    /**
+     * Returns null for an unknown frequency, which is not cached
+     */
+    private FrequencyMembers load(Long frequencyId) {
+        return frequencyRepository.findPrivateFlagById(frequencyId)
+                .map(privateFrequency -> {
+                    FrequencyMembers snapshot = FrequencyMembers.of(privateFrequency,
+                            membershipRepository.findMemberRowsByFrequencyId(frequencyId));
+                    log.debug("Loaded {} members of frequency {} into the membership index",
+                            snapshot.size(), frequencyId);
+                    return snapshot;
+                })
+                .orElse(null);
+    }
+}
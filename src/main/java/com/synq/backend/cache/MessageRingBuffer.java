@@ -0,0 +1,121 @@
+package com.synq.backend.cache;
+
+import com.synq.backend.dto.response.MessageDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fixed-capacity circular buffer holding the newest active messages of one frequency, newest first.
+ * Not thread-safe on its own; callers synchronize on the instance.
+ */
+class MessageRingBuffer {
+
+    private final MessageDto[] slots;
+    private int head;
+    private int size;
+
+    /**
+     * True when the buffer holds every active message of the frequency,
+     * so a shorter buffer still answers any page size.
+     */
+    private boolean complete;
+
+    MessageRingBuffer(int capacity, List<MessageDto> newestFirst) {
+        this.slots = new MessageDto[capacity];
+        int count = Math.min(capacity, newestFirst.size());
+        for (int i = 0; i < count; i++) {
+            slots[i] = newestFirst.get(i);
+        }
+        this.size = count;
+        this.complete = newestFirst.size() < capacity;
+    }
+
+    Optional<List<MessageDto>> newest(int count) {
+        if (count > size && !complete) {
+            return Optional.empty();
+        }
+        int limit = Math.min(count, size);
+        List<MessageDto> result = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            result.add(get(i));
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Add a new message in order; a message already held (an event replayed or raced with the
+     * load that filled the buffer) is replaced in place instead of being listed twice
+     */
+    void insert(MessageDto message) {
+        for (int i = 0; i < size; i++) {
+            if (get(i).id().equals(message.id())) {
+                set(i, message);
+                return;
+            }
+        }
+
+        int position = 0;
+        while (position < size && isNewer(get(position), message)) {
+            position++;
+        }
+        if (position == slots.length) {
+            // Older than everything retained in a full buffer
+            return;
+        }
+
+        if (size == slots.length) {
+            // Drop the oldest entry; the buffer no longer covers the whole frequency
+            size--;
+            complete = false;
+        }
+        if (position == 0) {
+            // Common case: newest message, step the head back onto the freed slot
+            head = (head - 1 + slots.length) % slots.length;
+            slots[head] = message;
+            size++;
+            return;
+        }
+        for (int i = size; i > position; i--) {
+            set(i, get(i - 1));
+        }
+        set(position, message);
+        size++;
+    }
+
+    void replace(MessageDto message) {
+        for (int i = 0; i < size; i++) {
+            if (get(i).id().equals(message.id())) {
+                set(i, message);
+                return;
+            }
+        }
+    }
+
+    void remove(Long messageId) {
+        for (int i = 0; i < size; i++) {
+            if (get(i).id().equals(messageId)) {
+                for (int j = i; j < size - 1; j++) {
+                    set(j, get(j + 1));
+                }
+                set(size - 1, null);
+                size--;
+                return;
+            }
+        }
+    }
+
+    private MessageDto get(int index) {
+        return slots[(head + index) % slots.length];
+    }
+
+    private void set(int index, MessageDto message) {
+        slots[(head + index) % slots.length] = message;
+    }
+
+    private static boolean isNewer(MessageDto a, MessageDto b) {
+        int byTime = a.createdAt().compareTo(b.createdAt());
+        return byTime > 0 || (byTime == 0 && a.id() > b.id());
+    }
+}
@@ -0,0 +1,42 @@
+package com.synq.backend.config;
+
+import com.synq.backend.enums.AuditOverflowPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "synq.audit")
+@Data
+public class AuditProperties {
+
+    private int queueCapacity = 10_000;
+
+    /**
+     * Number of queued events that triggers a flush before the interval elapses
+     */
+    private int batchSize = 500;
+
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    private AuditOverflowPolicy overflowPolicy = AuditOverflowPolicy.BLOCK;
+
+    /**
+     * Maximum time a producer waits for space under the BLOCK policy before the event is dropped
+     */
+    private Duration blockTimeout = Duration.ofMillis(200);
+
+    private String spillFile = "audit-spill.ndjson";
+
+    /**
+     * Whole months of audit history kept before a monthly partition is dropped
+     */
+    private int retentionMonths = 12;
+
+    /**
+     * Future monthly partitions created ahead of time
+     */
+    private int premakeMonths = 3;
+}
@@ -0,0 +1,28 @@
+package com.synq.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "synq.change-log")
+@Data
+public class ChangeLogProperties {
+
+    /**
+     * How long message changes are kept; clients with an older token must resync from scratch
+     */
+    private Duration retention = Duration.ofDays(30);
+
+    /**
+     * How often expired changes are pruned
+     */
+    private Duration pruneInterval = Duration.ofHours(1);
+
+    /**
+     * Maximum rows removed by a single DELETE while pruning
+     */
+    private int pruneBatchSize = 5000;
+}
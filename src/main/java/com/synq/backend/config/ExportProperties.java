@@ -0,0 +1,24 @@
+package com.synq.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "synq.export")
+@Data
+public class ExportProperties {
+
+    /**
+     * JDBC fetch size of the export cursor. Integer.MIN_VALUE makes MySQL Connector/J stream rows
+     * one at a time; a positive value only bounds memory with useCursorFetch=true on the JDBC URL
+     */
+    private int fetchSize = Integer.MIN_VALUE;
+
+    /**
+     * How long MySQL waits on a slow export client before aborting a streaming result
+     */
+    private Duration netWriteTimeout = Duration.ofMinutes(10);
+}
@@ -0,0 +1,28 @@
+package com.synq.backend.config;
+
+import com.synq.backend.core.ExternalIds;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the externalId strategy: uuid-v7 (time-ordered, default) or uuid-v4 (random)
+ */
+@Configuration
+@Slf4j
+public class ExternalIdConfig {
+
+    @Value("${synq.external-id.strategy:uuid-v7}")
+    private String strategy;
+
+    @PostConstruct
+    public void installStrategy() {
+        switch (strategy) {
+            case "uuid-v7" -> ExternalIds.use(ExternalIds.UUID_V7);
+            case "uuid-v4" -> ExternalIds.use(ExternalIds.UUID_V4);
+            default -> throw new IllegalStateException("Unknown external id strategy: " + strategy);
+        }
+        log.info("Using {} external id strategy", strategy);
+    }
+}
@@ -0,0 +1,24 @@
+package com.synq.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "synq.hot-messages")
+@Data
+public class HotMessageCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Number of newest messages kept per frequency. One more than the default page size, because
+     * the first keyset page reads an extra row to tell whether an older page exists
+     */
+    private int capacityPerFrequency = 51;
+
+    /**
+     * Number of frequencies kept before the least recently used one is evicted
+     */
+    private int maxFrequencies = 10_000;
+}
@@ -0,0 +1,39 @@
+package com.synq.backend.config;
+
+import com.synq.backend.core.PooledTableIdGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gives entity id generation its own small connection pool on the application database,
+ * handed to {@link PooledTableIdGenerator} through the Hibernate settings
+ */
+@Configuration
+public class IdBlockConfig implements DisposableBean {
+
+    private static final int POOL_SIZE = 2;
+
+    private HikariDataSource idBlockDataSource;
+
+    @Bean
+    public HibernatePropertiesCustomizer idBlockDataSourceCustomizer(DataSourceProperties dataSourceProperties) {
+        idBlockDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        idBlockDataSource.setPoolName("id-blocks");
+        idBlockDataSource.setMaximumPoolSize(POOL_SIZE);
+        idBlockDataSource.setAutoCommit(true);
+        return properties -> properties.put(PooledTableIdGenerator.DATA_SOURCE_SETTING, idBlockDataSource);
+    }
+
+    @Override
+    public void destroy() {
+        if (idBlockDataSource != null) {
+            idBlockDataSource.close();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.synq.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "synq.identity-cache")
+@Data
+public class IdentityCacheProperties {
+
+    private long maximumSize = 100_000;
+
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * How long a subject that cannot be resolved to an active user is remembered
+     */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,35 @@
+package com.synq.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "synq.last-login")
+@Data
+public class LastLoginProperties {
+
+    /**
+     * How often pending login timestamps are written to the users table
+     */
+    private Duration flushInterval = Duration.ofSeconds(10);
+
+    /**
+     * Logins within this window of the last written timestamp are not written again,
+     * so the persisted lastLoginAt may lag by up to this plus the flush interval
+     */
+    private Duration maxStaleness = Duration.ofMinutes(1);
+
+    /**
+     * Users whose last written timestamp is remembered, so an unchanged sign-in is not written again;
+     * beyond this the least recently seen are forgotten and may cost one redundant write
+     */
+    private long maxTrackedUsers = 100_000;
+
+    /**
+     * Maximum rows updated by a single bulk statement
+     */
+    private int batchSize = 500;
+}
@@ -0,0 +1,27 @@
+package com.synq.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "synq.membership-index")
+@Data
+public class MembershipIndexProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Approximate heap budget for cached member sets; least recently used frequencies are evicted beyond it
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    /**
+     * How long a member set is served before it is reloaded; bounds staleness from changes made
+     * on other nodes or outside the membership service, which this node gets no event for
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+}
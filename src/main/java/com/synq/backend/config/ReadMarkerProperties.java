@@ -0,0 +1,23 @@
+package com.synq.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "synq.read-markers")
+@Data
+public class ReadMarkerProperties {
+
+    /**
+     * How often coalesced read markers are written to the memberships table
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /**
+     * Maximum markers written by a single JDBC batch
+     */
+    private int batchSize = 500;
+}
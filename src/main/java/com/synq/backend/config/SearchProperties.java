@@ -0,0 +1,59 @@
+package com.synq.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "synq.search")
+@Data
+public class SearchProperties {
+
+    /**
+     * Local directory holding this node's message index
+     */
+    private String indexPath = "data/search-index";
+
+    /**
+     * How often the message change log is tailed into the index
+     */
+    private Duration tailInterval = Duration.ofSeconds(1);
+
+    /**
+     * How far each tail looks back before the last indexed change, to cover clock skew between
+     * nodes and changes that committed slightly after their timestamp
+     */
+    private Duration tailOverlap = Duration.ofSeconds(10);
+
+    /**
+     * Maximum change log rows read per tail round trip
+     */
+    private int tailBatchSize = 1000;
+
+    /**
+     * How often new index segments become visible to searches
+     */
+    private Duration refreshInterval = Duration.ofSeconds(1);
+
+    /**
+     * How often the index is durably committed together with its change log watermark
+     */
+    private Duration commitInterval = Duration.ofSeconds(30);
+
+    /**
+     * Threads used by a full rebuild from the messages table
+     */
+    private int rebuildThreads = 4;
+
+    /**
+     * Message id range scanned per rebuild task
+     */
+    private int rebuildChunkSize = 10000;
+
+    /**
+     * Deepest result reachable by paging, bounding the per-query top-N collection
+     */
+    private int maxResultWindow = 1000;
+}
@@ -40,7 +40,7 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        // Public endpoints
+                        // Public endpoints (the WebSocket handshake authenticates on STOMP CONNECT)
                         .requestMatchers(
                                 "/v1/api-docs/**",
                                 "/v1/swagger-ui/**",
@@ -48,6 +48,7 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/actuator/**",
+                                "/ws/**",
                                 "/error"
                         ).permitAll()
                         // All other endpoints require authentication
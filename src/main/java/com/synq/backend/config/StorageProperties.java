@@ -0,0 +1,65 @@
+package com.synq.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "synq.storage")
+@Data
+public class StorageProperties {
+
+    /**
+     * Directory of the local blob store; created on startup
+     */
+    private String rootPath = "data/blobs";
+
+    /**
+     * Largest attachment accepted in a single upload
+     */
+    private DataSize maxUploadSize = DataSize.ofMegabytes(256);
+
+    /**
+     * Bytes moved per FileChannel transfer call while streaming an upload to disk
+     */
+    private DataSize transferChunkSize = DataSize.ofMegabytes(8);
+
+    /**
+     * Downloads at least this large are handed to the connector's sendfile when it supports it
+     */
+    private DataSize sendfileThreshold = DataSize.ofKilobytes(48);
+
+    /**
+     * Size of every chunk of a resumable upload except the last
+     */
+    private DataSize uploadChunkSize = DataSize.ofMegabytes(8);
+
+    /**
+     * How long a resumable upload may go without receiving a chunk before it is swept
+     */
+    private Duration uploadSessionTtl = Duration.ofHours(24);
+
+    /**
+     * How long a chunk write or a finalize holds its claim on an upload session; a claim left
+     * behind by a node that died is ignored after this
+     */
+    private Duration uploadClaimTtl = Duration.ofMinutes(10);
+
+    /**
+     * How often abandoned upload sessions and their staging files are swept
+     */
+    private Duration uploadSweepInterval = Duration.ofMinutes(15);
+
+    /**
+     * Upload sessions removed per sweeper query
+     */
+    private int uploadSweepBatchSize = 500;
+
+    /**
+     * How often blobs whose last reference went away without being deleted are collected
+     */
+    private Duration blobCollectInterval = Duration.ofHours(1);
+}
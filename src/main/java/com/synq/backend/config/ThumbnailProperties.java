@@ -0,0 +1,51 @@
+package com.synq.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "synq.thumbnails")
+@Data
+public class ThumbnailProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Longest side in pixels of each generated thumbnail size
+     */
+    private List<Integer> sizes = List.of(160, 640);
+
+    /**
+     * Worker threads decoding and scaling images
+     */
+    private int threads = 2;
+
+    /**
+     * Images waiting for a worker before new ones are left to the backfill
+     */
+    private int queueCapacity = 500;
+
+    /**
+     * JPEG compression quality of generated thumbnails, between 0 and 1
+     */
+    private float jpegQuality = 0.8f;
+
+    /**
+     * Largest image, in pixels after subsampled decoding, a worker will hold in memory
+     */
+    private long maxDecodedPixels = 40_000_000L;
+
+    /**
+     * How often image attachments still without thumbnails are queued again
+     */
+    private Duration backfillInterval = Duration.ofMinutes(10);
+
+    /**
+     * Distinct contents queued per backfill run
+     */
+    private int backfillBatchSize = 200;
+}
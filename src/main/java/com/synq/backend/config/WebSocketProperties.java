@@ -0,0 +1,29 @@
+package com.synq.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "synq.websocket")
+@Data
+public class WebSocketProperties {
+
+    private List<String> allowedOrigins = List.of("http://localhost:8080");
+
+    /**
+     * Maximum bytes buffered per connection before the session is considered slow and closed
+     */
+    private int sendBufferSizeLimit = 512 * 1024;
+
+    /**
+     * Maximum time in milliseconds a single send may take before the session is closed
+     */
+    private int sendTimeLimit = 10_000;
+
+    private int messageSizeLimit = 64 * 1024;
+
+    private int outboundPoolSize = 8;
+}
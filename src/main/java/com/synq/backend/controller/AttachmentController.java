@@ -0,0 +1,172 @@
+package com.synq.backend.controller;
+
+import com.synq.backend.dto.request.AttachExistingContentDto;
+import com.synq.backend.dto.request.CreateUploadSessionDto;
+import com.synq.backend.dto.response.AttachmentDto;
+import com.synq.backend.dto.response.ResponseDTO;
+import com.synq.backend.dto.response.UploadSessionDto;
+import com.synq.backend.security.AuthenticatedUser;
+import com.synq.backend.security.CurrentUser;
+import com.synq.backend.service.AttachmentService;
+import com.synq.backend.storage.BlobDownload;
+import com.synq.backend.storage.BlobDownloadWriter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.PathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * REST Controller for message attachments
+ */
+@RestController
+@RequestMapping("/api/attachments")
+@RequiredArgsConstructor
+@Tag(name = "Attachments", description = "Attachment upload and download endpoints")
+public class AttachmentController {
+
+    private final AttachmentService attachmentService;
+    private final BlobDownloadWriter blobDownloadWriter;
+
+    @PostMapping(consumes = "!multipart/form-data")
+    @Operation(summary = "Upload an attachment to one of the current user's messages; the request body is the raw file content. " +
+            "With sha256 set and the content already in an attachment the user can read, the body is not read")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<AttachmentDto>> uploadAttachment(
+            @RequestParam Long messageId,
+            @RequestParam(required = false) String fileName,
+            @RequestParam(required = false) String sha256,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser,
+            HttpServletRequest request) throws IOException {
+        AttachmentDto attachment = attachmentService.uploadAttachment(messageId, currentUser.id(), fileName,
+                request.getContentType(), sha256, request.getContentLengthLong(), request.getInputStream());
+        return ResponseDTO.of(attachment, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/existing")
+    @Operation(summary = "Attach content the user can already read by SHA-256 and size; 404 means the content must be uploaded")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<AttachmentDto>> attachExistingContent(
+            @Valid @RequestBody AttachExistingContentDto dto,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        AttachmentDto attachment = attachmentService.attachExistingContent(dto, currentUser.id());
+        return ResponseDTO.of(attachment, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/uploads")
+    @Operation(summary = "Start a resumable upload to one of the current user's messages")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<UploadSessionDto>> createUploadSession(
+            @Valid @RequestBody CreateUploadSessionDto dto,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) throws IOException {
+        UploadSessionDto session = attachmentService.createUploadSession(dto, currentUser.id());
+        return ResponseDTO.of(session, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/uploads/{sessionId}")
+    @Operation(summary = "Get the state of a resumable upload, including the chunk offsets still missing")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<UploadSessionDto>> getUploadSession(
+            @PathVariable Long sessionId,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        UploadSessionDto session = attachmentService.getUploadSession(sessionId, currentUser.id());
+        return ResponseDTO.of(session, HttpStatus.OK);
+    }
+
+    @PutMapping("/uploads/{sessionId}")
+    @Operation(summary = "Send one chunk of a resumable upload at its offset; the request body is the raw chunk")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<UploadSessionDto>> writeUploadChunk(
+            @PathVariable Long sessionId,
+            @RequestParam long offset,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser,
+            HttpServletRequest request) throws IOException {
+        UploadSessionDto session = attachmentService.writeUploadChunk(sessionId, currentUser.id(), offset,
+                request.getContentLengthLong(), request.getInputStream());
+        return ResponseDTO.of(session, HttpStatus.OK);
+    }
+
+    @PostMapping("/uploads/{sessionId}/complete")
+    @Operation(summary = "Finalize a fully received resumable upload into an attachment")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<AttachmentDto>> completeUploadSession(
+            @PathVariable Long sessionId,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) throws IOException {
+        AttachmentDto attachment = attachmentService.completeUploadSession(sessionId, currentUser.id());
+        return ResponseDTO.of(attachment, HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/uploads/{sessionId}")
+    @Operation(summary = "Abandon a resumable upload")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<Void>> cancelUploadSession(
+            @PathVariable Long sessionId,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        attachmentService.cancelUploadSession(sessionId, currentUser.id());
+        return ResponseDTO.of(null, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get attachment metadata")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<AttachmentDto>> getAttachment(
+            @PathVariable Long id,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        AttachmentDto attachment = attachmentService.getAttachment(id, currentUser.id());
+        return ResponseDTO.of(attachment, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/content")
+    @Operation(summary = "Download attachment content; supports a single HTTP byte range")
+    @PreAuthorize("isAuthenticated()")
+    public void downloadAttachment(
+            @PathVariable Long id,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        // Resolved before anything is written, so access errors still render as JSON
+        BlobDownload download = attachmentService.getDownload(id, currentUser.id());
+        blobDownloadWriter.write(download, request, response);
+    }
+
+    @GetMapping("/{id}/thumbnail")
+    @Operation(summary = "Download a JPEG thumbnail of an image attachment; size picks the smallest thumbnail at least " +
+            "that many pixels on its longest side. 404 until the thumbnail has been generated")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Resource> downloadThumbnail(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer size,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        Path thumbnail = attachmentService.getThumbnail(id, currentUser.id(), size);
+        // Named after the content hash and size, so the file name doubles as a strong validator
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePrivate())
+                .eTag(thumbnail.getFileName().toString())
+                .body(new PathResource(thumbnail));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete an attachment uploaded by the current user")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<Void>> deleteAttachment(
+            @PathVariable Long id,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        attachmentService.deleteAttachment(id, currentUser.id());
+        return ResponseDTO.of(null, HttpStatus.OK);
+    }
+}
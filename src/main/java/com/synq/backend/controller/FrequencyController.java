@@ -3,28 +3,42 @@ package com.synq.backend.controller;
 import com.synq.backend.dto.request.CreateFrequencyDto;
 import com.synq.backend.dto.request.CreateMembershipDto;
 import com.synq.backend.dto.request.CreateMessageDto;
+import com.synq.backend.dto.request.MarkReadDto;
 import com.synq.backend.dto.request.UpdateFrequencyDto;
+import com.synq.backend.dto.response.CursorPageDto;
 import com.synq.backend.dto.response.FrequencyDto;
 import com.synq.backend.dto.response.MembershipDto;
+import com.synq.backend.dto.response.MessageChangesDto;
 import com.synq.backend.dto.response.MessageDto;
 import com.synq.backend.dto.response.ResponseDTO;
+import com.synq.backend.dto.response.UnreadCountDto;
+import com.synq.backend.enums.CursorDirection;
 import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.security.AuthenticatedUser;
+import com.synq.backend.security.CurrentUser;
+import com.synq.backend.service.ExportService;
 import com.synq.backend.service.FrequencyService;
 import com.synq.backend.service.MembershipService;
 import com.synq.backend.service.MessageService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller for Frequency operations
@@ -35,20 +49,20 @@ import java.util.List;
 @Tag(name = "Frequencies", description = "Frequency management endpoints")
 public class FrequencyController {
 
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final FrequencyService frequencyService;
     private final MembershipService membershipService;
     private final MessageService messageService;
+    private final ExportService exportService;
 
     @PostMapping
     @Operation(summary = "Create a new frequency")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ResponseDTO<FrequencyDto>> createFrequency(
             @Valid @RequestBody CreateFrequencyDto dto,
-            Authentication authentication) {
-        // TODO: Extract user ID from JWT/Authentication
-        Long ownerId = 1L; // Placeholder - should be extracted from authentication
-
-        FrequencyDto frequency = frequencyService.createFrequency(dto, ownerId);
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        FrequencyDto frequency = frequencyService.createFrequency(dto, currentUser.id());
         return ResponseDTO.of(frequency, HttpStatus.CREATED);
     }
 
@@ -60,6 +74,38 @@ public class FrequencyController {
         return ResponseDTO.of(frequencies, HttpStatus.OK);
     }
 
+    @GetMapping("/common")
+    @Operation(summary = "Get frequencies the current user shares with another user")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<List<FrequencyDto>>> getFrequenciesInCommon(
+            @RequestParam Long userId,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        List<FrequencyDto> frequencies = frequencyService.getFrequenciesInCommon(currentUser.id(), userId);
+        return ResponseDTO.of(frequencies, HttpStatus.OK);
+    }
+
+    @GetMapping("/unread")
+    @Operation(summary = "Get unread counts for all frequencies of the current user")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<List<UnreadCountDto>>> getUnreadCounts(
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        List<UnreadCountDto> unread = membershipService.getUnreadCounts(currentUser.id());
+        return ResponseDTO.of(unread, HttpStatus.OK);
+    }
+
+    @GetMapping("/messages/search")
+    @Operation(summary = "Search messages in the frequencies the current user can access")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<List<MessageDto>>> searchMessages(
+            @RequestParam String q,
+            @RequestParam(required = false) Long frequencyId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        Page<MessageDto> results = messageService.searchMessages(currentUser.id(), q, frequencyId, page, size);
+        return ResponseDTO.ofPage(results, HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get frequency by ID")
     @PreAuthorize("isAuthenticated()")
@@ -119,17 +165,25 @@ public class FrequencyController {
         return ResponseDTO.of(members, HttpStatus.OK);
     }
 
+    @PutMapping("/{id}/read-marker")
+    @Operation(summary = "Advance the current user's read marker in a frequency")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<Void>> markRead(
+            @PathVariable Long id,
+            @Valid @RequestBody MarkReadDto dto,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        membershipService.markRead(currentUser.id(), id, dto.messageId());
+        return ResponseDTO.of(null, HttpStatus.ACCEPTED);
+    }
+
     @PostMapping("/{id}/messages")
     @Operation(summary = "Post a message in a frequency")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ResponseDTO<MessageDto>> postMessage(
             @PathVariable Long id,
             @Valid @RequestBody CreateMessageDto dto,
-            Authentication authentication) {
-        // TODO: Extract user ID from JWT/Authentication
-        Long authorId = 1L; // Placeholder
-
-        MessageDto message = messageService.postMessage(dto, authorId);
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        MessageDto message = messageService.postMessage(dto, currentUser.id());
         return ResponseDTO.of(message, HttpStatus.CREATED);
     }
 
@@ -144,5 +198,84 @@ public class FrequencyController {
         List<MessageDto> messages = messageService.getMessagesByFrequency(id, pageable);
         return ResponseDTO.of(messages, HttpStatus.OK);
     }
-}
 
+    @GetMapping("/{id}/messages/history")
+    @Operation(summary = "Get messages from a frequency using an opaque keyset cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<List<MessageDto>>> getMessageHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "OLDER") CursorDirection direction,
+            @RequestParam(defaultValue = "50") int size,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        messageService.checkCanRead(id, currentUser.id());
+        CursorPageDto<MessageDto> page = messageService.getMessagesByFrequencyKeyset(id, cursor, direction, size);
+        return ResponseDTO.ofCursor(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/messages/{messageId}/replies")
+    @Operation(summary = "Get replies to a message, oldest first, using an opaque keyset cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<List<MessageDto>>> getReplies(
+            @PathVariable Long id,
+            @PathVariable Long messageId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "NEWER") CursorDirection direction,
+            @RequestParam(defaultValue = "50") int size,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        messageService.checkCanRead(id, currentUser.id());
+        CursorPageDto<MessageDto> page = messageService.getRepliesKeyset(id, messageId, cursor, direction, size);
+        return ResponseDTO.ofCursor(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/export")
+    @Operation(summary = "Stream every message of a frequency as NDJSON, optionally gzip-compressed")
+    @PreAuthorize("isAuthenticated()")
+    public void exportMessages(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser,
+            HttpServletResponse response) throws IOException {
+        // Fail before any header or byte is written, so errors still render as JSON
+        exportService.checkCanExport(id, currentUser.id());
+
+        String fileName = "frequency-" + id + (gzip ? ".ndjson.gz" : ".ndjson");
+        response.setContentType(gzip ? "application/gzip" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString());
+
+        if (gzip) {
+            try (GZIPOutputStream compressed = new GZIPOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE)) {
+                exportService.exportMessages(id, currentUser.id(), compressed);
+            }
+        } else {
+            exportService.exportMessages(id, currentUser.id(), response.getOutputStream());
+        }
+    }
+
+    @GetMapping("/{id}/messages/sync")
+    @Operation(summary = "Get messages with a sequence number above afterSeq, in sequence order; deleted ones as tombstones")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<List<MessageDto>>> getMessagesAfterSeq(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") long afterSeq,
+            @RequestParam(defaultValue = "50") int size,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        messageService.checkCanRead(id, currentUser.id());
+        CursorPageDto<MessageDto> page = messageService.getMessagesAfterSeq(id, afterSeq, size);
+        return ResponseDTO.ofCursor(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/changes")
+    @Operation(summary = "Get message inserts, edits and deletes since a delta sync token")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ResponseDTO<MessageChangesDto>> getChanges(
+            @PathVariable Long id,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int size,
+            @Parameter(hidden = true) @CurrentUser AuthenticatedUser currentUser) {
+        messageService.checkCanRead(id, currentUser.id());
+        MessageChangesDto changes = messageService.getChangesSince(id, since, size);
+        return ResponseDTO.of(changes, HttpStatus.OK);
+    }
+}
@@ -11,7 +11,6 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.UUID;
 
 @MappedSuperclass
 @EntityListeners(AuditingEntityListener.class)
@@ -21,8 +20,12 @@ import java.util.UUID;
 @NoArgsConstructor
 @SuperBuilder
 public abstract class BaseEntity {
+    /**
+     * Drawn from a pooled table sequence so inserts can be JDBC-batched;
+     * IDENTITY would force an immediate insert per entity.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId(table = "entity_id_seq", allocationSize = 50)
     private Long id;
 
     @CreatedDate
@@ -43,7 +46,7 @@ public abstract class BaseEntity {
 
     @PrePersist
     public void prePersist() {
-        this.setExternalId(UUID.randomUUID().toString());
+        this.setExternalId(ExternalIds.next());
         this.setActive(true);
         this.onPrePersist();
     }
@@ -0,0 +1,10 @@
+package com.synq.backend.core;
+
+/**
+ * Strategy producing the externalId assigned to every entity on persist
+ */
+@FunctionalInterface
+public interface ExternalIdGenerator {
+
+    String generate();
+}
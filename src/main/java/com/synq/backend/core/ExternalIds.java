@@ -0,0 +1,27 @@
+package com.synq.backend.core;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Holder for the externalId strategy used by {@link BaseEntity}.
+ * Entities are not Spring beans, so the active strategy is installed here at startup.
+ */
+public final class ExternalIds {
+
+    public static final ExternalIdGenerator UUID_V7 = new UuidV7Generator();
+    public static final ExternalIdGenerator UUID_V4 = () -> UUID.randomUUID().toString();
+
+    private static volatile ExternalIdGenerator generator = UUID_V7;
+
+    private ExternalIds() {
+    }
+
+    public static String next() {
+        return generator.generate();
+    }
+
+    public static void use(ExternalIdGenerator externalIdGenerator) {
+        generator = Objects.requireNonNull(externalIdGenerator);
+    }
+}
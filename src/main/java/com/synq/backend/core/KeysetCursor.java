@@ -0,0 +1,35 @@
+package com.synq.backend.core;
+
+import com.synq.backend.exceptions.EndpointException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque (createdAt, id) position used for keyset pagination.
+ * The id breaks ties between rows that share the same timestamp.
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new EndpointException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
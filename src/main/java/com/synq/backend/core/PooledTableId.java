@@ -0,0 +1,24 @@
+package com.synq.backend.core;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Draws an entity id from a table-backed sequence in blocks, see {@link PooledTableIdGenerator}
+ */
+@IdGeneratorType(PooledTableIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledTableId {
+
+    /**
+     * Single-row table whose next_val is the first id of the next free block
+     */
+    String table();
+
+    int allocationSize() default 50;
+}
@@ -0,0 +1,87 @@
+package com.synq.backend.core;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.IdentifierGenerationException;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Member;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumSet;
+
+/**
+ * Hands out ids from blocks reserved in a single-row sequence table (pooled-lo: next_val is the
+ * first id of the next free block). Ids are assigned before the insert, so inserts stay batchable.
+ * Blocks are reserved on a connection pool of their own: a writer that holds row locks and runs
+ * out of ids must never wait for an application connection held by writers queued on those locks.
+ */
+public class PooledTableIdGenerator implements BeforeExecutionGenerator, AnnotationBasedGenerator<PooledTableId> {
+
+    /**
+     * Hibernate setting carrying the {@link DataSource} blocks are reserved on
+     */
+    public static final String DATA_SOURCE_SETTING = "synq.id-blocks.data-source";
+
+    private String table;
+    private int allocationSize;
+    private transient DataSource dataSource;
+
+    /**
+     * Ids next..hi are reserved and not yet handed out
+     */
+    private long next = 1;
+    private long hi = 0;
+
+    @Override
+    public void initialize(PooledTableId config, Member member, GeneratorCreationContext context) {
+        this.table = config.table();
+        this.allocationSize = Math.max(1, config.allocationSize());
+        Object setting = context.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSettings().get(DATA_SOURCE_SETTING);
+        if (!(setting instanceof DataSource configured)) {
+            throw new IllegalStateException("No data source for id blocks configured under " + DATA_SOURCE_SETTING);
+        }
+        this.dataSource = configured;
+    }
+
+    @Override
+    public synchronized Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                                        EventType eventType) {
+        if (next > hi) {
+            reserveBlock();
+        }
+        return next++;
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    private void reserveBlock() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            // LAST_INSERT_ID(expr) makes the advanced value readable on this connection, atomically with the update
+            int updated = statement.executeUpdate(
+                    "UPDATE " + table + " SET next_val = LAST_INSERT_ID(next_val + " + allocationSize + ")");
+            if (updated != 1) {
+                throw new IdentifierGenerationException("Sequence table " + table + " must hold exactly one row");
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT LAST_INSERT_ID()")) {
+                rs.next();
+                hi = rs.getLong(1) - 1;
+                next = hi - allocationSize + 1;
+            }
+        } catch (SQLException e) {
+            throw new IdentifierGenerationException("Could not reserve ids from " + table, e);
+        }
+    }
+}
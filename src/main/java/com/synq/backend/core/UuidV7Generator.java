@@ -0,0 +1,38 @@
+package com.synq.backend.core;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUID version 7 (RFC 9562) generator.
+ * The 12-bit rand_a field carries a counter so ids stay strictly increasing within the JVM,
+ * even when many are generated in the same millisecond. Randomness comes from
+ * ThreadLocalRandom, which does not contend like SecureRandom.
+ */
+public class UuidV7Generator implements ExternalIdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+
+    /**
+     * Last issued (unix millis << 12 | counter)
+     */
+    private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    @Override
+    public String generate() {
+        return next().toString();
+    }
+
+    public UUID next() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long current = lastTimestampAndCounter.updateAndGet(last -> Math.max(now, last + 1));
+
+        long millis = current >>> COUNTER_BITS;
+        long counter = current & ((1L << COUNTER_BITS) - 1);
+
+        long mostSigBits = (millis << 16) | (0x7L << 12) | counter;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,24 @@
+package com.synq.backend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * DTO for attaching already stored content by hash instead of uploading it again
+ */
+public record AttachExistingContentDto(
+        @NotNull(message = "Message ID is required")
+        Long messageId,
+
+        @NotBlank(message = "SHA-256 is required")
+        String sha256,
+
+        @NotNull(message = "Size is required")
+        @PositiveOrZero(message = "Size cannot be negative")
+        Long sizeBytes,
+
+        String fileName,
+        String mimeType
+) {
+}
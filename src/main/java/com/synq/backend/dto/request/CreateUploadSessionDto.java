@@ -0,0 +1,20 @@
+package com.synq.backend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * DTO for starting a resumable upload
+ */
+public record CreateUploadSessionDto(
+        @NotNull(message = "Message ID is required")
+        Long messageId,
+
+        @NotNull(message = "Total size is required")
+        @PositiveOrZero(message = "Total size cannot be negative")
+        Long totalSize,
+
+        String fileName,
+        String mimeType
+) {
+}
@@ -0,0 +1,12 @@
+package com.synq.backend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO for advancing a read marker
+ */
+public record MarkReadDto(
+        @NotNull(message = "Message ID is required")
+        Long messageId
+) {
+}
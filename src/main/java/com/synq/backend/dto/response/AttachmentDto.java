@@ -0,0 +1,21 @@
+package com.synq.backend.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for attachment response
+ */
+public record AttachmentDto(
+        Long id,
+        String externalId,
+        Long messageId,
+        Long uploaderId,
+        String fileName,
+        String mimeType,
+        Long sizeBytes,
+        String checksumSha256,
+        String fileUrl,
+        String thumbnailUrl,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,13 @@
+package com.synq.backend.dto.response;
+
+import java.util.List;
+
+/**
+ * Keyset page of items, newest first, with opaque cursors to continue in either direction
+ */
+public record CursorPageDto<T>(
+        List<T> items,
+        String nextCursor,
+        String prevCursor
+) {
+}
@@ -0,0 +1,12 @@
+package com.synq.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CursorPaginationDTO {
+    String nextCursor;
+    String prevCursor;
+    int pageSize;
+}
@@ -0,0 +1,13 @@
+package com.synq.backend.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a deleted message, carrying only what clients need to remove it
+ */
+public record DeletedMessageDto(
+        Long id,
+        Long frequencyId,
+        LocalDateTime deletedAt
+) {
+}
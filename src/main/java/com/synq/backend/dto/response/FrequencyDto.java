@@ -17,6 +17,7 @@ public record FrequencyDto(
         Map<String, Object> settings,
         String coverImageUrl,
         int maxParticipants,
+        int memberCount,
         LocalDateTime createdAt,
         LocalDateTime updatedAt
 ) {
@@ -0,0 +1,14 @@
+package com.synq.backend.dto.response;
+
+import com.synq.backend.enums.MessageEventType;
+
+/**
+ * One entry of a delta sync: the current message for CREATED and UPDATED, only ids for a DELETED tombstone
+ */
+public record MessageChangeDto(
+        MessageEventType type,
+        Long messageId,
+        Long seq,
+        MessageDto message
+) {
+}
@@ -0,0 +1,13 @@
+package com.synq.backend.dto.response;
+
+import java.util.List;
+
+/**
+ * Delta sync page: changes since the requested token, and the token to ask with next time
+ */
+public record MessageChangesDto(
+        List<MessageChangeDto> changes,
+        String token,
+        boolean hasMore
+) {
+}
@@ -3,6 +3,7 @@ package com.synq.backend.dto.response;
 import com.synq.backend.enums.MessageType;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -12,15 +13,19 @@ public record MessageDto(
         Long id,
         String externalId,
         Long frequencyId,
+        Long seq,
         Long authorId,
         String authorUsername,
         String content,
         MessageType type,
         Long replyToId,
+        int replyCount,
+        LocalDateTime lastReplyAt,
         LocalDateTime createdAt,
         LocalDateTime editedAt,
         LocalDateTime deletedAt,
-        Map<String, Object> metadata
+        Map<String, Object> metadata,
+        List<AttachmentDto> attachments
 ) {
 }
 
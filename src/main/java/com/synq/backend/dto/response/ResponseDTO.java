@@ -9,6 +9,8 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -19,6 +21,7 @@ public class ResponseDTO<T> {
     private String status;
     private boolean error;
     private PaginationDTO pagination;
+    private CursorPaginationDTO cursor;
 
     public static <T> ResponseEntity<ResponseDTO<T>> of(T data, HttpStatus status, boolean error) {
         var response = ResponseDTO.<T>builder()
@@ -42,6 +45,30 @@ public class ResponseDTO<T> {
         return ResponseEntity.status(status).body(response);
     }
 
+    public static <E> ResponseEntity<ResponseDTO<List<E>>> ofPage(Page<E> page, HttpStatus status) {
+        var pagination = new PaginationDTO(page.getNumber(), page.getSize(), page.getTotalPages(), page.isLast());
+        var response = ResponseDTO.<List<E>>builder()
+                .data(page.getContent())
+                .message(status.getReasonPhrase())
+                .status(status.toString())
+                .error(false)
+                .pagination(pagination)
+                .build();
+        return ResponseEntity.status(status).body(response);
+    }
+
+    public static <E> ResponseEntity<ResponseDTO<List<E>>> ofCursor(CursorPageDto<E> page, HttpStatus status) {
+        var cursor = new CursorPaginationDTO(page.nextCursor(), page.prevCursor(), page.items().size());
+        var response = ResponseDTO.<List<E>>builder()
+                .data(page.items())
+                .message(status.getReasonPhrase())
+                .status(status.toString())
+                .error(false)
+                .cursor(cursor)
+                .build();
+        return ResponseEntity.status(status).body(response);
+    }
+
     public static <T> ResponseEntity<ResponseDTO<T>> of(T data, HttpStatus status) {
         var response = ResponseDTO.<T>builder()
                 .data(data)
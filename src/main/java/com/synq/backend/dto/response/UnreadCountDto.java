@@ -0,0 +1,11 @@
+package com.synq.backend.dto.response;
+
+/**
+ * DTO for the unread state of one frequency
+ */
+public record UnreadCountDto(
+        Long frequencyId,
+        Long lastReadMessageId,
+        long unreadCount
+) {
+}
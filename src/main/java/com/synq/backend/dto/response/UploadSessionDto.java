@@ -0,0 +1,20 @@
+package com.synq.backend.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for resumable upload state; missingOffsets are the chunk offsets still to be sent
+ */
+public record UploadSessionDto(
+        Long id,
+        Long messageId,
+        String fileName,
+        String mimeType,
+        long totalSize,
+        int chunkSize,
+        long receivedBytes,
+        List<Long> missingOffsets,
+        LocalDateTime expiresAt
+) {
+}
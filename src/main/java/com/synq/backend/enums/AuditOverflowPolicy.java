@@ -0,0 +1,10 @@
+package com.synq.backend.enums;
+
+/**
+ * What the audit pipeline does when its queue is full
+ */
+public enum AuditOverflowPolicy {
+    BLOCK,
+    DROP_OLDEST,
+    SPILL
+}
@@ -0,0 +1,9 @@
+package com.synq.backend.enums;
+
+/**
+ * Direction of a keyset page relative to its cursor
+ */
+public enum CursorDirection {
+    OLDER,
+    NEWER
+}
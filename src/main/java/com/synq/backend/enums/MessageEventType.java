@@ -0,0 +1,10 @@
+package com.synq.backend.enums;
+
+/**
+ * Message lifecycle event type
+ */
+public enum MessageEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
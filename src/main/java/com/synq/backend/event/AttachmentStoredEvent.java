@@ -0,0 +1,11 @@
+package com.synq.backend.event;
+
+/**
+ * Application event published when an attachment row is written, with the blob it references.
+ */
+public record AttachmentStoredEvent(
+        Long attachmentId,
+        String storageKey,
+        String mimeType
+) {
+}
@@ -0,0 +1,17 @@
+package com.synq.backend.event;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Audit record queued by services and persisted asynchronously as an AuditLog row
+ */
+public record AuditEvent(
+        String actorId,
+        String actionType,
+        String targetType,
+        String targetId,
+        Map<String, Object> data,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,10 @@
+package com.synq.backend.event;
+
+/**
+ * Application event published whenever the members of a frequency, their roles or
+ * their ban/mute state change, or the frequency's privacy changes.
+ */
+public record MembershipChangedEvent(
+        Long frequencyId
+) {
+}
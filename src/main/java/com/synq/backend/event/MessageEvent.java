@@ -0,0 +1,15 @@
+package com.synq.backend.event;
+
+import com.synq.backend.dto.response.MessageDto;
+import com.synq.backend.enums.MessageEventType;
+
+/**
+ * Application event published whenever a message is created, edited or soft-deleted.
+ * Listeners that push to clients must only react after the surrounding transaction commits.
+ */
+public record MessageEvent(
+        MessageEventType type,
+        Long frequencyId,
+        MessageDto message
+) {
+}
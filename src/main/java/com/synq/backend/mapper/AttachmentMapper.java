@@ -0,0 +1,20 @@
+package com.synq.backend.mapper;
+
+import com.synq.backend.dto.response.AttachmentDto;
+import com.synq.backend.model.Attachment;
+import com.synq.backend.repository.projection.AttachmentRow;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * MapStruct mapper for Attachment entity
+ */
+@Mapper(componentModel = "spring")
+public interface AttachmentMapper {
+
+    @Mapping(source = "message.id", target = "messageId")
+    @Mapping(source = "uploader.id", target = "uploaderId")
+    AttachmentDto toDto(Attachment attachment);
+
+    AttachmentDto toDto(AttachmentRow row);
+}
@@ -23,6 +23,9 @@ public interface FrequencyMapper {
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
     @Mapping(target = "active", ignore = true)
+    @Mapping(target = "memberCount", ignore = true)
+    @Mapping(target = "lastMessageSeq", ignore = true)
+    @Mapping(target = "lastChangeSeq", ignore = true)
     @Mapping(target = "memberships", ignore = true)
     @Mapping(target = "messages", ignore = true)
     Frequency toEntity(CreateFrequencyDto dto);
@@ -36,6 +39,9 @@ public interface FrequencyMapper {
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
     @Mapping(target = "active", ignore = true)
+    @Mapping(target = "memberCount", ignore = true)
+    @Mapping(target = "lastMessageSeq", ignore = true)
+    @Mapping(target = "lastChangeSeq", ignore = true)
     @Mapping(target = "memberships", ignore = true)
     @Mapping(target = "messages", ignore = true)
     @Mapping(source = "isPrivate", target = "private")
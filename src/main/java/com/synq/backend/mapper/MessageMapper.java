@@ -4,6 +4,7 @@ import com.synq.backend.dto.request.CreateMessageDto;
 import com.synq.backend.dto.request.UpdateMessageDto;
 import com.synq.backend.dto.response.MessageDto;
 import com.synq.backend.model.Message;
+import com.synq.backend.repository.projection.MessageRow;
 import org.mapstruct.*;
 
 /**
@@ -16,8 +17,12 @@ public interface MessageMapper {
     @Mapping(source = "author.id", target = "authorId")
     @Mapping(source = "author.username", target = "authorUsername")
     @Mapping(source = "replyTo.id", target = "replyToId")
+    @Mapping(target = "attachments", ignore = true)
     MessageDto toDto(Message message);
 
+    @Mapping(target = "attachments", ignore = true)
+    MessageDto toDto(MessageRow row);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "externalId", ignore = true)
     @Mapping(target = "frequency", ignore = true)
@@ -31,6 +36,9 @@ public interface MessageMapper {
     @Mapping(target = "deletedAt", ignore = true)
     @Mapping(target = "attachments", ignore = true)
     @Mapping(target = "replies", ignore = true)
+    @Mapping(target = "seq", ignore = true)
+    @Mapping(target = "replyCount", ignore = true)
+    @Mapping(target = "lastReplyAt", ignore = true)
     Message toEntity(CreateMessageDto dto);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
@@ -48,6 +56,9 @@ public interface MessageMapper {
     @Mapping(target = "deletedAt", ignore = true)
     @Mapping(target = "attachments", ignore = true)
     @Mapping(target = "replies", ignore = true)
+    @Mapping(target = "seq", ignore = true)
+    @Mapping(target = "replyCount", ignore = true)
+    @Mapping(target = "lastReplyAt", ignore = true)
     void updateEntity(UpdateMessageDto dto, @MappingTarget Message message);
 }
 
@@ -31,6 +31,9 @@ public class Attachment extends BaseEntity {
     @JsonIgnore
     private User uploader;
 
+    @Column(length = 255)
+    private String fileName;
+
     @Column(columnDefinition = "TEXT", nullable = false)
     private String fileUrl;
 
@@ -40,10 +43,16 @@ public class Attachment extends BaseEntity {
     @Column(nullable = false)
     private Long sizeBytes;
 
+    @Column(name = "checksum_sha256", length = 64)
+    private String checksumSha256;
+
     @Column(length = 500)
     private String storageKey;
 
-    @Column(columnDefinition = "TEXT")
+    /**
+     * Set by a bulk update once ThumbnailGenerator has made the thumbnails of the content
+     */
+    @Column(columnDefinition = "TEXT", updatable = false)
     private String thumbnailUrl;
 }
 
@@ -1,5 +1,6 @@
 package com.synq.backend.model;
 
+import com.synq.backend.core.PooledTableId;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -11,11 +12,13 @@ import java.util.Map;
 /**
  * AuditLog entity for tracking user actions and system events.
  * This entity does not extend BaseEntity as it has a simplified structure.
+ * The table is range-partitioned by month on createdAt, so queries should always bound createdAt.
  */
 @Entity
 @Table(name = "audit_logs", indexes = {
-        @Index(name = "idx_actor_id", columnList = "actorId"),
-        @Index(name = "idx_action_type", columnList = "actionType"),
+        @Index(name = "idx_actor_created", columnList = "actorId, createdAt"),
+        @Index(name = "idx_action_created", columnList = "actionType, createdAt"),
+        @Index(name = "idx_target_created", columnList = "targetType, targetId, createdAt"),
         @Index(name = "idx_created_at", columnList = "createdAt")
 })
 @Getter
@@ -26,7 +29,7 @@ import java.util.Map;
 public class AuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId(table = "audit_log_id_seq", allocationSize = 500)
     private Long id;
 
     @Column(length = 36, nullable = false)
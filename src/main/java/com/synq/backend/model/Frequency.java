@@ -57,6 +57,28 @@ public class Frequency extends BaseEntity {
     @Builder.Default
     private int maxParticipants = 1000;
 
+    /**
+     * Denormalized member count, changed only by the conditional bulk updates in FrequencyRepository
+     */
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private int memberCount = 0;
+
+    /**
+     * Highest message sequence number assigned in this frequency. The posting transaction advances it
+     * by one and holds the row lock until commit, so numbers are dense and commit in order
+     */
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private long lastMessageSeq = 0;
+
+    /**
+     * Highest change log sequence number of this frequency; MessageChangeLog advances it when appending
+     */
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private long lastChangeSeq = 0;
+
     @OneToMany(mappedBy = "frequency", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonIgnore
     @Builder.Default
@@ -57,5 +57,16 @@ public class Membership extends BaseEntity {
 
     @Column(length = 100)
     private String nickname;
+
+    /**
+     * Read marker, written behind in bulk by ReadMarkerWriteBehind and never through the entity.
+     * A member's own post moves it to that post, so unread counts never include the reader's messages
+     */
+    @Column(updatable = false)
+    private Long lastReadMessageId;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private long lastReadSeq = 0;
 }
 
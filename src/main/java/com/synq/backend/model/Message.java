@@ -21,8 +21,10 @@ import java.util.Map;
 @Entity
 @Table(name = "messages", indexes = {
         @Index(name = "idx_frequency_created", columnList = "frequency_id, createdAt"),
+        @Index(name = "idx_frequency_deleted_created_id", columnList = "frequency_id, deletedAt, createdAt, id"),
         @Index(name = "idx_author_id", columnList = "author_id"),
-        @Index(name = "idx_reply_to_id", columnList = "reply_to_id")
+        @Index(name = "idx_reply_to_deleted_created_id", columnList = "reply_to_id, deletedAt, createdAt, id"),
+        @Index(name = "uk_messages_frequency_seq", columnList = "frequency_id, seq", unique = true)
 })
 @Getter
 @Setter
@@ -41,6 +43,13 @@ public class Message extends BaseEntity {
     @JsonIgnore
     private User author;
 
+    /**
+     * Position of the message in its frequency, taken from frequencies.last_message_seq under the
+     * frequency row lock by the posting transaction
+     */
+    @Column(updatable = false)
+    private Long seq;
+
     @Column(columnDefinition = "TEXT", nullable = false)
     private String content;
 
@@ -57,6 +66,19 @@ public class Message extends BaseEntity {
     @JsonIgnore
     private Message replyTo;
 
+    /**
+     * Non-deleted replies to this message, maintained by bulk updates when replies are posted or deleted
+     */
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private int replyCount = 0;
+
+    /**
+     * Creation time of the newest non-deleted reply
+     */
+    @Column(updatable = false)
+    private LocalDateTime lastReplyAt;
+
     @Column
     private LocalDateTime editedAt;
 
@@ -0,0 +1,61 @@
+package com.synq.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.synq.backend.core.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumable upload of an attachment, sent in fixed-size chunks and finalized into an Attachment.
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = {
+        @Index(name = "idx_upload_sessions_message_id", columnList = "message_id"),
+        @Index(name = "idx_upload_sessions_uploader_id", columnList = "uploader_id"),
+        @Index(name = "idx_upload_sessions_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class UploadSession extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "message_id", nullable = false)
+    @JsonIgnore
+    private Message message;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "uploader_id", nullable = false)
+    @JsonIgnore
+    private User uploader;
+
+    @Column(length = 255)
+    private String fileName;
+
+    @Column(nullable = false, length = 100)
+    private String mimeType;
+
+    @Column(nullable = false)
+    private long totalSize;
+
+    @Column(nullable = false)
+    private int chunkSize;
+
+    /**
+     * Pushed forward by a bulk update on every chunk, never through the entity
+     */
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Number of chunks the upload is split into; the last one may be shorter
+     */
+    public int getChunkCount() {
+        return (int) ((totalSize + chunkSize - 1) / chunkSize);
+    }
+}
@@ -1,10 +1,17 @@
 package com.synq.backend.repository;
 
 import com.synq.backend.model.Attachment;
+import com.synq.backend.repository.projection.AttachmentRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for Attachment entity.
@@ -23,8 +30,78 @@ public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
     List<Attachment> findByUploaderId(Long uploaderId);
 
     /**
-     * Delete attachments by message
+     * Find the attachments of several messages in one query, oldest first
      */
-    void deleteByMessageId(Long messageId);
-}
+    @Query("SELECT new com.synq.backend.repository.projection.AttachmentRow(" +
+            "a.id, a.externalId, a.message.id, a.uploader.id, a.fileName, a.mimeType, a.sizeBytes, " +
+            "a.checksumSha256, a.fileUrl, a.thumbnailUrl, a.createdAt) " +
+            "FROM Attachment a WHERE a.message.id IN :messageIds ORDER BY a.id")
+    List<AttachmentRow> findRowsByMessageIdIn(@Param("messageIds") Collection<Long> messageIds);
+
+    /**
+     * Find an attachment together with its message, for access checks
+     */
+    @Query("SELECT a FROM Attachment a JOIN FETCH a.message WHERE a.id = :id")
+    Optional<Attachment> findWithMessageById(@Param("id") Long id);
+
+    /**
+     * Find the blob keys of a message's attachments, one per attachment
+     */
+    @Query("SELECT a.storageKey FROM Attachment a WHERE a.message.id = :messageId")
+    List<String> findStorageKeysByMessageId(@Param("messageId") Long messageId);
+
+    /**
+     * Find the blob keys of every attachment in a frequency, one per attachment
+     */
+    @Query("SELECT a.storageKey FROM Attachment a WHERE a.message.frequency.id = :frequencyId")
+    List<String> findStorageKeysByFrequencyId(@Param("frequencyId") Long frequencyId);
+
+    /**
+     * Find the blob keys of every attachment a user uploaded, one per attachment
+     */
+    @Query("SELECT a.storageKey FROM Attachment a WHERE a.uploader.id = :uploaderId")
+    List<String> findStorageKeysByUploaderId(@Param("uploaderId") Long uploaderId);
+
+    /**
+     * Find the frequencies holding a live message with an attachment of the given blob
+     */
+    @Query("SELECT DISTINCT m.frequency.id FROM Attachment a JOIN a.message m " +
+            "WHERE a.storageKey = :storageKey AND m.deletedAt IS NULL")
+    List<Long> findFrequencyIdsByStorageKey(@Param("storageKey") String storageKey);
 
+    /**
+     * Delete attachments by message; blob references are released by the caller
+     */
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.message.id = :messageId")
+    int deleteByMessageId(@Param("messageId") Long messageId);
+
+    /**
+     * Delete every attachment in a frequency; blob references are released by the caller
+     */
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.message.id IN (SELECT m.id FROM Message m WHERE m.frequency.id = :frequencyId)")
+    int deleteByFrequencyId(@Param("frequencyId") Long frequencyId);
+
+    /**
+     * Delete every attachment a user uploaded; blob references are released by the caller
+     */
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.uploader.id = :uploaderId")
+    int deleteByUploaderId(@Param("uploaderId") Long uploaderId);
+
+    /**
+     * Point every attachment of a blob that has no thumbnail yet at its thumbnail endpoint
+     */
+    @Modifying
+    @Query("UPDATE Attachment a SET a.thumbnailUrl = CONCAT('/api/attachments/', CAST(a.id AS String), '/thumbnail') " +
+            "WHERE a.storageKey = :storageKey AND a.thumbnailUrl IS NULL")
+    int setThumbnailUrls(@Param("storageKey") String storageKey);
+
+    /**
+     * Find blob keys of image attachments still without a thumbnail, in key order after the given one
+     */
+    @Query("SELECT DISTINCT a.storageKey FROM Attachment a WHERE a.thumbnailUrl IS NULL " +
+            "AND a.mimeType LIKE 'image/%' AND a.storageKey > :after ORDER BY a.storageKey")
+    List<String> findStorageKeysMissingThumbnails(@Param("after") String after, Limit limit);
+}
@@ -10,26 +10,40 @@ import java.util.List;
 
 /**
  * Repository for AuditLog entity.
+ * audit_logs is partitioned by month on created_at; every finder takes a time range
+ * so MySQL only touches the partitions that overlap it.
  */
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
     /**
-     * Find audit logs by actor
+     * Find audit logs by actor within date range
      */
-    List<AuditLog> findByActorIdOrderByCreatedAtDesc(String actorId, Pageable pageable);
+    List<AuditLog> findByActorIdAndCreatedAtBetweenOrderByCreatedAtDesc(
+            String actorId,
+            LocalDateTime start,
+            LocalDateTime end,
+            Pageable pageable
+    );
 
     /**
-     * Find audit logs by action type
+     * Find audit logs by action type within date range
      */
-    List<AuditLog> findByActionTypeOrderByCreatedAtDesc(String actionType, Pageable pageable);
+    List<AuditLog> findByActionTypeAndCreatedAtBetweenOrderByCreatedAtDesc(
+            String actionType,
+            LocalDateTime start,
+            LocalDateTime end,
+            Pageable pageable
+    );
 
     /**
-     * Find audit logs by target
+     * Find audit logs by target within date range
      */
-    List<AuditLog> findByTargetTypeAndTargetIdOrderByCreatedAtDesc(
+    List<AuditLog> findByTargetTypeAndTargetIdAndCreatedAtBetweenOrderByCreatedAtDesc(
             String targetType,
             String targetId,
+            LocalDateTime start,
+            LocalDateTime end,
             Pageable pageable
     );
 
@@ -42,4 +56,3 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
             Pageable pageable
     );
 }
-
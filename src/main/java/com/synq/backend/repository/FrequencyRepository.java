@@ -2,6 +2,9 @@ package com.synq.backend.repository;
 
 import com.synq.backend.model.Frequency;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -32,5 +35,60 @@ public interface FrequencyRepository extends JpaRepository<Frequency, Long> {
      * Check if slug exists
      */
     boolean existsBySlug(String slug);
+
+    /**
+     * Find the frequencies both users are members of, joining their memberships in one query
+     */
+    @Query("SELECT f FROM Membership a JOIN a.frequency f JOIN Membership b ON b.frequency = f " +
+            "WHERE a.user.id = :userId AND b.user.id = :otherUserId")
+    List<Frequency> findInCommon(@Param("userId") Long userId, @Param("otherUserId") Long otherUserId);
+
+    /**
+     * Advance the message sequence counter of a frequency by one, locking its row until commit
+     */
+    @Modifying
+    @Query("UPDATE Frequency f SET f.lastMessageSeq = f.lastMessageSeq + 1 WHERE f.id = :id")
+    int advanceMessageSeq(@Param("id") Long id);
+
+    /**
+     * Find the latest message sequence number of a frequency
+     */
+    @Query("SELECT f.lastMessageSeq FROM Frequency f WHERE f.id = :id")
+    Optional<Long> findLastMessageSeqById(@Param("id") Long id);
+
+    /**
+     * Find the latest change log sequence number of a frequency
+     */
+    @Query("SELECT f.lastChangeSeq FROM Frequency f WHERE f.id = :id")
+    Optional<Long> findLastChangeSeqById(@Param("id") Long id);
+
+    /**
+     * Find only the privacy flag of a frequency
+     */
+    @Query("SELECT f.isPrivate FROM Frequency f WHERE f.id = :id")
+    Optional<Boolean> findPrivateFlagById(@Param("id") Long id);
+
+    /**
+     * Take a member slot if the frequency is below capacity; returns 0 when full or missing
+     */
+    @Modifying
+    @Query("UPDATE Frequency f SET f.memberCount = f.memberCount + 1 " +
+            "WHERE f.id = :id AND f.memberCount < f.maxParticipants")
+    int reserveMemberSlot(@Param("id") Long id);
+
+    /**
+     * Give back a member slot
+     */
+    @Modifying
+    @Query("UPDATE Frequency f SET f.memberCount = f.memberCount - 1 WHERE f.id = :id AND f.memberCount > 0")
+    int releaseMemberSlot(@Param("id") Long id);
+
+    /**
+     * Give back the member slots a user holds, before the user's memberships are removed
+     */
+    @Modifying
+    @Query("UPDATE Frequency f SET f.memberCount = f.memberCount - 1 WHERE f.memberCount > 0 " +
+            "AND f.id IN (SELECT m.frequency.id FROM Membership m WHERE m.user.id = :userId)")
+    int releaseMemberSlotsOfUser(@Param("userId") Long userId);
 }
 
@@ -1,7 +1,11 @@
 package com.synq.backend.repository;
 
 import com.synq.backend.model.Invite;
+import com.synq.backend.repository.projection.InviteRedemption;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -19,6 +23,21 @@ public interface InviteRepository extends JpaRepository<Invite, Long> {
      */
     Optional<Invite> findByToken(String token);
 
+    /**
+     * Find the frequency and join role of an invite by token
+     */
+    @Query("SELECT new com.synq.backend.repository.projection.InviteRedemption(i.frequency.id, i.roleOnJoin) " +
+            "FROM Invite i WHERE i.token = :token")
+    Optional<InviteRedemption> findRedemptionByToken(@Param("token") String token);
+
+    /**
+     * Consume one use if the invite is neither expired nor maxed out; returns 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE Invite i SET i.usesCount = i.usesCount + 1 " +
+            "WHERE i.token = :token AND i.usesCount < i.maxUses AND i.expiresAt > :now")
+    int consumeUse(@Param("token") String token, @Param("now") LocalDateTime now);
+
     /**
      * Find invites by frequency
      */
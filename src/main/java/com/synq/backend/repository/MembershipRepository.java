@@ -2,7 +2,11 @@ package com.synq.backend.repository;
 
 import com.synq.backend.enums.MembershipRole;
 import com.synq.backend.model.Membership;
+import com.synq.backend.repository.projection.MemberRow;
+import com.synq.backend.repository.projection.UnreadRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -24,11 +28,33 @@ public interface MembershipRepository extends JpaRepository<Membership, Long> {
      */
     List<Membership> findByUserId(Long userId);
 
+    /**
+     * Find the ids of the frequencies a user belongs to and is not banned from
+     */
+    @Query("SELECT m.frequency.id FROM Membership m WHERE m.user.id = :userId AND m.isBanned = false")
+    List<Long> findUnbannedFrequencyIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Find the read markers of a user together with each frequency's highest assigned message sequence,
+     * one join of the user's memberships to their frequency rows
+     */
+    @Query("SELECT new com.synq.backend.repository.projection.UnreadRow(" +
+            "f.id, m.lastReadMessageId, m.lastReadSeq, f.lastMessageSeq) " +
+            "FROM Membership m JOIN m.frequency f WHERE m.user.id = :userId")
+    List<UnreadRow> findUnreadRowsByUserId(@Param("userId") Long userId);
+
     /**
      * Find all memberships for a frequency
      */
     List<Membership> findByFrequencyId(Long frequencyId);
 
+    /**
+     * Find the authorization-relevant state of every member of a frequency
+     */
+    @Query("SELECT new com.synq.backend.repository.projection.MemberRow(m.user.id, m.role, m.isBanned, m.mutedUntil) " +
+            "FROM Membership m WHERE m.frequency.id = :frequencyId")
+    List<MemberRow> findMemberRowsByFrequencyId(@Param("frequencyId") Long frequencyId);
+
     /**
      * Find memberships by frequency and role
      */
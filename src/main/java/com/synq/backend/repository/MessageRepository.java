@@ -1,14 +1,19 @@
 package com.synq.backend.repository;
 
 import com.synq.backend.model.Message;
+import com.synq.backend.repository.projection.MessageRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for Message entity.
@@ -35,9 +40,9 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     List<Message> findByAuthorIdOrderByCreatedAtDesc(Long authorId, Pageable pageable);
 
     /**
-     * Find replies to a message
+     * Check that a message belongs to a frequency
      */
-    List<Message> findByReplyToIdOrderByCreatedAtAsc(Long replyToId);
+    boolean existsByIdAndFrequencyId(Long id, Long frequencyId);
 
     /**
      * Count messages in a frequency
@@ -49,10 +54,147 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
      */
     List<Message> findByFrequencyIdAndAuthorId(Long frequencyId, Long authorId, Pageable pageable);
 
+    String MESSAGE_ROW_SELECT = "SELECT new com.synq.backend.repository.projection.MessageRow(" +
+            "m.id, m.externalId, m.frequency.id, m.seq, a.id, a.username, m.content, m.type, r.id, " +
+            "m.replyCount, m.lastReplyAt, m.createdAt, m.editedAt, m.deletedAt, m.metadata) " +
+            "FROM Message m JOIN m.author a LEFT JOIN m.replyTo r ";
+
     /**
      * Find non-deleted messages by frequency
      */
-    @Query("SELECT m FROM Message m WHERE m.frequency.id = :frequencyId AND m.deletedAt IS NULL ORDER BY m.createdAt DESC")
-    List<Message> findActiveMessagesByFrequencyId(@Param("frequencyId") Long frequencyId, Pageable pageable);
-}
+    @Query(MESSAGE_ROW_SELECT + "WHERE m.frequency.id = :frequencyId AND m.deletedAt IS NULL " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MessageRow> findActiveMessagesByFrequencyId(@Param("frequencyId") Long frequencyId, Pageable pageable);
+
+    /**
+     * Find the sequence number of a message within its frequency
+     */
+    @Query("SELECT m.seq FROM Message m WHERE m.id = :id AND m.frequency.id = :frequencyId")
+    Optional<Long> findSeqByIdAndFrequencyId(@Param("id") Long id, @Param("frequencyId") Long frequencyId);
+
+    /**
+     * Sync page: messages with a sequence number above afterSeq, in sequence order, including
+     * soft-deleted ones so every number is accounted for. Served by a range scan on (frequency_id, seq).
+     */
+    @Query(MESSAGE_ROW_SELECT + "WHERE m.frequency.id = :frequencyId AND m.seq > :afterSeq ORDER BY m.seq ASC")
+    List<MessageRow> findAfterSeq(
+            @Param("frequencyId") Long frequencyId,
+            @Param("afterSeq") long afterSeq,
+            Limit limit
+    );
+
+    /**
+     * Find messages of a frequency by id, including soft-deleted ones
+     */
+    @Query(MESSAGE_ROW_SELECT + "WHERE m.frequency.id = :frequencyId AND m.id IN :ids")
+    List<MessageRow> findRowsByFrequencyIdAndIdIn(
+            @Param("frequencyId") Long frequencyId,
+            @Param("ids") Collection<Long> ids
+    );
+
+    /**
+     * Find non-deleted messages by id
+     */
+    @Query(MESSAGE_ROW_SELECT + "WHERE m.id IN :ids AND m.deletedAt IS NULL")
+    List<MessageRow> findActiveRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Count a new reply on its parent and move the parent's last reply time forward
+     */
+    @Modifying
+    @Query("UPDATE Message m SET m.replyCount = m.replyCount + 1, " +
+            "m.lastReplyAt = CASE WHEN m.lastReplyAt IS NULL OR m.lastReplyAt < :repliedAt THEN :repliedAt " +
+            "ELSE m.lastReplyAt END " +
+            "WHERE m.id = :id")
+    int recordReply(@Param("id") Long id, @Param("repliedAt") LocalDateTime repliedAt);
+
+    /**
+     * Uncount a deleted reply; the last reply time only moves back if the deleted reply was the newest
+     */
+    @Modifying
+    @Query("UPDATE Message m SET m.replyCount = CASE WHEN m.replyCount > 0 THEN m.replyCount - 1 ELSE 0 END, " +
+            "m.lastReplyAt = CASE WHEN m.lastReplyAt <= :removedAt THEN :lastReplyAt ELSE m.lastReplyAt END " +
+            "WHERE m.id = :id")
+    int removeReply(
+            @Param("id") Long id,
+            @Param("removedAt") LocalDateTime removedAt,
+            @Param("lastReplyAt") LocalDateTime lastReplyAt
+    );
+
+    /**
+     * Find the creation time of the newest non-deleted reply to a message
+     */
+    @Query("SELECT MAX(m.createdAt) FROM Message m WHERE m.replyTo.id = :parentId AND m.deletedAt IS NULL")
+    Optional<LocalDateTime> findLastActiveReplyAt(@Param("parentId") Long parentId);
 
+    /**
+     * Find non-deleted replies to a message, oldest first
+     */
+    @Query(MESSAGE_ROW_SELECT + "WHERE r.id = :parentId AND m.deletedAt IS NULL ORDER BY m.createdAt ASC, m.id ASC")
+    List<MessageRow> findActiveReplies(@Param("parentId") Long parentId);
+
+    /**
+     * Keyset page: first non-deleted replies to a message, oldest first
+     */
+    @Query(MESSAGE_ROW_SELECT + "WHERE r.id = :parentId AND m.deletedAt IS NULL ORDER BY m.createdAt ASC, m.id ASC")
+    List<MessageRow> findActiveRepliesFirst(@Param("parentId") Long parentId, Limit limit);
+
+    /**
+     * Keyset page: non-deleted replies to a message strictly after (createdAt, id), oldest first
+     */
+    @Query(MESSAGE_ROW_SELECT + "WHERE r.id = :parentId AND m.deletedAt IS NULL " +
+            "AND (m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id)) " +
+            "ORDER BY m.createdAt ASC, m.id ASC")
+    List<MessageRow> findActiveRepliesAfter(
+            @Param("parentId") Long parentId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    /**
+     * Keyset page: non-deleted replies to a message strictly before (createdAt, id), newest first
+     */
+    @Query(MESSAGE_ROW_SELECT + "WHERE r.id = :parentId AND m.deletedAt IS NULL " +
+            "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MessageRow> findActiveRepliesBefore(
+            @Param("parentId") Long parentId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    /**
+     * Keyset page: newest non-deleted messages of a frequency
+     */
+    @Query(MESSAGE_ROW_SELECT + "WHERE m.frequency.id = :frequencyId AND m.deletedAt IS NULL " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MessageRow> findActiveLatest(@Param("frequencyId") Long frequencyId, Limit limit);
+
+    /**
+     * Keyset page: non-deleted messages strictly older than (createdAt, id), newest first
+     */
+    @Query(MESSAGE_ROW_SELECT + "WHERE m.frequency.id = :frequencyId AND m.deletedAt IS NULL " +
+            "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MessageRow> findActiveBefore(
+            @Param("frequencyId") Long frequencyId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    /**
+     * Keyset page: non-deleted messages strictly newer than (createdAt, id), oldest first
+     */
+    @Query(MESSAGE_ROW_SELECT + "WHERE m.frequency.id = :frequencyId AND m.deletedAt IS NULL " +
+            "AND (m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id)) " +
+            "ORDER BY m.createdAt ASC, m.id ASC")
+    List<MessageRow> findActiveAfter(
+            @Param("frequencyId") Long frequencyId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+}
@@ -0,0 +1,53 @@
+package com.synq.backend.repository;
+
+import com.synq.backend.model.UploadSession;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for UploadSession entity.
+ */
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+
+    /**
+     * Keep an active session from expiring
+     */
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.expiresAt = :expiresAt WHERE s.id = :id")
+    int extendExpiry(@Param("id") Long id, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Claim a session for finalization; returns 0 when it was already finalized or swept
+     */
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.id = :id")
+    int deleteSession(@Param("id") Long id);
+
+    /**
+     * Remove a session only if it is still expired; returns 0 when it was extended or removed meanwhile
+     */
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.id = :id AND s.expiresAt < :now")
+    int deleteIfExpired(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Find sessions past their expiry, oldest first
+     */
+    @Query("SELECT s.id FROM UploadSession s WHERE s.expiresAt < :now ORDER BY s.expiresAt")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Find which of the given sessions still exist
+     */
+    @Query("SELECT s.id FROM UploadSession s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,21 @@
+package com.synq.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat, proxy-free read model of an attachment, loaded in bulk for pages of messages
+ */
+public record AttachmentRow(
+        Long id,
+        String externalId,
+        Long messageId,
+        Long uploaderId,
+        String fileName,
+        String mimeType,
+        Long sizeBytes,
+        String checksumSha256,
+        String fileUrl,
+        String thumbnailUrl,
+        LocalDateTime createdAt
+) {
+}
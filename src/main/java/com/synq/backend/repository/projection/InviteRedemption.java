@@ -0,0 +1,12 @@
+package com.synq.backend.repository.projection;
+
+import com.synq.backend.enums.MembershipRole;
+
+/**
+ * What redeeming an invite needs to know, read without loading the invite entity
+ */
+public record InviteRedemption(
+        Long frequencyId,
+        MembershipRole roleOnJoin
+) {
+}
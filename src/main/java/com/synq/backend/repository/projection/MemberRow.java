@@ -0,0 +1,16 @@
+package com.synq.backend.repository.projection;
+
+import com.synq.backend.enums.MembershipRole;
+
+import java.time.LocalDateTime;
+
+/**
+ * Authorization-relevant state of one membership
+ */
+public record MemberRow(
+        Long userId,
+        MembershipRole role,
+        boolean banned,
+        LocalDateTime mutedUntil
+) {
+}
@@ -0,0 +1,13 @@
+package com.synq.backend.repository.projection;
+
+import com.synq.backend.enums.MessageEventType;
+
+/**
+ * One entry of a frequency's message change log
+ */
+public record MessageChangeRow(
+        long changeSeq,
+        Long messageId,
+        MessageEventType type
+) {
+}
@@ -0,0 +1,28 @@
+package com.synq.backend.repository.projection;
+
+import com.synq.backend.enums.MessageType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Flat, proxy-free read model of a message with its author username already joined
+ */
+public record MessageRow(
+        Long id,
+        String externalId,
+        Long frequencyId,
+        Long seq,
+        Long authorId,
+        String authorUsername,
+        String content,
+        MessageType type,
+        Long replyToId,
+        int replyCount,
+        LocalDateTime lastReplyAt,
+        LocalDateTime createdAt,
+        LocalDateTime editedAt,
+        LocalDateTime deletedAt,
+        Map<String, Object> metadata
+) {
+}
@@ -0,0 +1,12 @@
+package com.synq.backend.repository.projection;
+
+/**
+ * Persisted read marker of a membership next to the frequency's highest assigned message sequence
+ */
+public record UnreadRow(
+        Long frequencyId,
+        Long lastReadMessageId,
+        long lastReadSeq,
+        long lastMessageSeq
+) {
+}
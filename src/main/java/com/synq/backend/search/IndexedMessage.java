@@ -0,0 +1,14 @@
+package com.synq.backend.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a message that go into the search index
+ */
+public record IndexedMessage(
+        Long id,
+        Long frequencyId,
+        String content,
+        LocalDateTime createdAt
+) {
+}
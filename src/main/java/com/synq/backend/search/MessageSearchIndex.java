@@ -0,0 +1,221 @@
+package com.synq.backend.search;
+
+import com.synq.backend.config.SearchProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Node-local Lucene index over message content.
+ * Only non-deleted messages are indexed; a message is replaced by id on every change, so
+ * re-applying a change is harmless. Writes become visible to searches on the next refresh and
+ * durable on the next commit, which also records how far the change log has been applied.
+ */
+@Component
+@Slf4j
+public class MessageSearchIndex {
+
+    private static final String ID = "id";
+    private static final String FREQUENCY_ID = "frequencyId";
+    private static final String CONTENT = "content";
+    private static final String CREATED_AT = "createdAt";
+    private static final String WATERMARK = "changeLogWatermark";
+    private static final Sort RANKING = new Sort(SortField.FIELD_SCORE, new SortField(CREATED_AT, SortField.Type.LONG, true));
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private volatile boolean refreshPaused;
+
+    /**
+     * Ranked message ids of one result page, and how many messages matched in total
+     */
+    public record Hits(List<Long> messageIds, long totalHits) {
+    }
+
+    public MessageSearchIndex(SearchProperties properties) throws IOException {
+        this.directory = FSDirectory.open(Path.of(properties.getIndexPath()));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+        log.info("Opened message search index at {} with {} documents", properties.getIndexPath(), writer.getDocStats().numDocs);
+    }
+
+    /**
+     * Add or replace the indexed copy of a message
+     */
+    public void index(IndexedMessage message) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(message.id()), Field.Store.YES));
+        document.add(new LongPoint(FREQUENCY_ID, message.frequencyId()));
+        document.add(new TextField(CONTENT, message.content(), Field.Store.NO));
+        document.add(new NumericDocValuesField(CREATED_AT, message.createdAt().toInstant(ZoneOffset.UTC).toEpochMilli()));
+        try {
+            writer.updateDocument(idTerm(message.id()), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Remove a message from the index
+     */
+    public void delete(Long messageId) {
+        try {
+            writer.deleteDocuments(idTerm(messageId));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Search messages of the given frequencies, best match first and newest first among equal scores
+     */
+    public Hits search(String text, Collection<Long> frequencyIds, int offset, int limit) {
+        Query textQuery = parse(text);
+        if (textQuery == null || frequencyIds.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+
+        Query query = new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .add(LongPoint.newSetQuery(FREQUENCY_ID, frequencyIds), BooleanClause.Occur.FILTER)
+                .build();
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopFieldDocs top = searcher.search(query, offset + limit, RANKING);
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> messageIds = new ArrayList<>(limit);
+                for (int i = offset; i < top.scoreDocs.length; i++) {
+                    ScoreDoc hit = top.scoreDocs[i];
+                    messageIds.add(Long.valueOf(storedFields.document(hit.doc).get(ID)));
+                }
+                return new Hits(messageIds, top.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Drop every document; searches keep the previous view until refreshed
+     */
+    public void clear() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Durably commit pending writes together with the change log position they cover
+     */
+    public void commit(LocalDateTime watermark) {
+        writer.setLiveCommitData(Map.of(WATERMARK, watermark.toString()).entrySet());
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Change log position covered by the last commit, empty for an index that was never built
+     */
+    public Optional<LocalDateTime> committedWatermark() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData == null) {
+            return Optional.empty();
+        }
+        for (Map.Entry<String, String> entry : commitData) {
+            if (WATERMARK.equals(entry.getKey())) {
+                return Optional.of(LocalDateTime.parse(entry.getValue()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Keep searches on the current view, e.g. while the index is rebuilt from scratch
+     */
+    public void pauseRefresh() {
+        refreshPaused = true;
+    }
+
+    public void resumeRefresh() {
+        refreshPaused = false;
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${synq.search.refresh-interval:1s}")
+    public void refresh() {
+        if (refreshPaused) {
+            return;
+        }
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Failed to refresh message search index", e);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        analyzer.close();
+    }
+
+    private Query parse(String text) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, CONTENT);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        return parser.parse(text);
+    }
+
+    private static Term idTerm(Long messageId) {
+        return new Term(ID, String.valueOf(messageId));
+    }
+}
@@ -0,0 +1,285 @@
+package com.synq.backend.search;
+
+import com.synq.backend.config.ChangeLogProperties;
+import com.synq.backend.config.SearchProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the node-local search index in step with the messages table.
+ * Every node tails the shared message change log by timestamp, so writes made on other nodes
+ * or while this node was down are picked up too; each change re-reads the message's current
+ * state, which makes re-applying an overlapping window harmless. An index that was never
+ * built, or whose position fell out of the change log retention, is rebuilt from scratch by
+ * scanning message id ranges on several threads.
+ */
+@Component
+@Slf4j
+public class MessageSearchIndexer {
+
+    private static final String CHANGES_SQL = "SELECT frequency_id, change_seq, message_id, created_at FROM message_changes " +
+            "WHERE (created_at, frequency_id, change_seq) > (?, ?, ?) " +
+            "ORDER BY created_at, frequency_id, change_seq LIMIT ?";
+    private static final String MESSAGES_SQL = "SELECT id, frequency_id, content, created_at, deleted_at FROM messages " +
+            "WHERE id IN (%s)";
+    private static final String ID_RANGE_SQL = "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM messages";
+    private static final String CHUNK_SQL = "SELECT id, frequency_id, content, created_at FROM messages " +
+            "WHERE id BETWEEN ? AND ? AND deleted_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MessageSearchIndex index;
+    private final SearchProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Change log position applied to the index, null until the index is usable; guarded by lock
+     */
+    private LocalDateTime watermark;
+    private Instant lastCommit = Instant.now();
+
+    private record Change(Long frequencyId, long changeSeq, Long messageId, LocalDateTime createdAt) {
+    }
+
+    private record MessageState(IndexedMessage message, boolean deleted) {
+    }
+
+    public MessageSearchIndexer(JdbcTemplate jdbcTemplate, MessageSearchIndex index, SearchProperties properties,
+                                ChangeLogProperties changeLogProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.index = index;
+        this.properties = properties;
+
+        // Without a usable position the first scheduled tail requests a rebuild
+        LocalDateTime oldestUsable = LocalDateTime.now().minus(changeLogProperties.getRetention());
+        this.watermark = index.committedWatermark()
+                .filter(position -> position.isAfter(oldestUsable))
+                .orElse(null);
+        if (watermark != null) {
+            log.info("Resuming message search indexing from {}", watermark);
+        }
+    }
+
+    /**
+     * Rebuild the index in the background unless a rebuild is already queued
+     */
+    public void requestRebuild() {
+        if (rebuildRequested.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Message search index rebuild failed, retrying on next tail", e);
+                } finally {
+                    rebuildRequested.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Replace the index contents with every non-deleted message; searches keep the old view until done
+     */
+    public void rebuild() {
+        lock.lock();
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long started = System.nanoTime();
+            watermark = null;
+            index.pauseRefresh();
+            index.clear();
+
+            long indexed = indexAllMessages();
+
+            // Changes made while scanning are re-applied by the next tail, which starts before startedAt
+            watermark = startedAt;
+            commit();
+            index.resumeRefresh();
+            log.info("Rebuilt message search index with {} messages in {} ms",
+                    indexed, (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply every change logged since the last tail, waiting for a running rebuild to finish
+     */
+    public void tail() {
+        lock.lock();
+        try {
+            tailLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${synq.search.tail-interval:1s}")
+    void tailOnSchedule() {
+        // Never block the shared scheduler thread behind a rebuild
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            if (watermark == null) {
+                requestRebuild();
+                return;
+            }
+            tailLocked();
+        } catch (RuntimeException e) {
+            log.error("Failed to tail message changes into the search index", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+        lock.lock();
+        try {
+            if (watermark != null) {
+                commit();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void tailLocked() {
+        if (watermark == null) {
+            return;
+        }
+
+        LocalDateTime newest = watermark;
+        Change position = new Change(0L, 0L, null, watermark.minus(properties.getTailOverlap()));
+        int batchSize = Math.max(1, properties.getTailBatchSize());
+        while (true) {
+            List<Change> changes = jdbcTemplate.query(CHANGES_SQL, (rs, rowNum) -> new Change(
+                    rs.getLong("frequency_id"),
+                    rs.getLong("change_seq"),
+                    rs.getLong("message_id"),
+                    rs.getTimestamp("created_at").toLocalDateTime()
+            ), Timestamp.valueOf(position.createdAt()), position.frequencyId(), position.changeSeq(), batchSize);
+            if (changes.isEmpty()) {
+                break;
+            }
+
+            Set<Long> messageIds = new LinkedHashSet<>();
+            changes.forEach(change -> messageIds.add(change.messageId()));
+            apply(messageIds);
+
+            position = changes.get(changes.size() - 1);
+            if (position.createdAt().isAfter(newest)) {
+                newest = position.createdAt();
+            }
+            if (changes.size() < batchSize) {
+                break;
+            }
+        }
+        watermark = newest;
+
+        if (Instant.now().isAfter(lastCommit.plus(properties.getCommitInterval()))) {
+            commit();
+        }
+    }
+
+    /**
+     * Re-read the current state of changed messages; deleted or vanished ones leave the index
+     */
+    private void apply(Set<Long> messageIds) {
+        String placeholders = String.join(",", Collections.nCopies(messageIds.size(), "?"));
+        Map<Long, MessageState> states = jdbcTemplate.query(MESSAGES_SQL.formatted(placeholders),
+                        (rs, rowNum) -> new MessageState(toIndexed(rs), rs.getTimestamp("deleted_at") != null),
+                        messageIds.toArray())
+                .stream()
+                .collect(Collectors.toMap(state -> state.message().id(), Function.identity()));
+
+        for (Long messageId : messageIds) {
+            MessageState state = states.get(messageId);
+            if (state == null || state.deleted()) {
+                index.delete(messageId);
+            } else {
+                index.index(state.message());
+            }
+        }
+    }
+
+    private long indexAllMessages() {
+        Map<String, Object> range = jdbcTemplate.queryForMap(ID_RANGE_SQL);
+        if (range.get("min_id") == null) {
+            return 0;
+        }
+        long minId = ((Number) range.get("min_id")).longValue();
+        long maxId = ((Number) range.get("max_id")).longValue();
+        long chunkSize = Math.max(1, properties.getRebuildChunkSize());
+
+        AtomicLong indexed = new AtomicLong();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, properties.getRebuildThreads()));
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long from = minId; from <= maxId; from += chunkSize) {
+                long chunkFrom = from;
+                long chunkTo = Math.min(maxId, from + chunkSize - 1);
+                chunks.add(workers.submit(() -> jdbcTemplate.query(CHUNK_SQL, rs -> {
+                    index.index(toIndexed(rs));
+                    indexed.incrementAndGet();
+                }, chunkFrom, chunkTo)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding the message search index", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to rebuild the message search index", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        return indexed.get();
+    }
+
+    private void commit() {
+        index.commit(watermark);
+        lastCommit = Instant.now();
+    }
+
+    private static IndexedMessage toIndexed(ResultSet rs) throws SQLException {
+        return new IndexedMessage(
+                rs.getLong("id"),
+                rs.getLong("frequency_id"),
+                rs.getString("content"),
+                rs.getTimestamp("created_at").toLocalDateTime()
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.synq.backend.security;
+
+import com.synq.backend.enums.UserRole;
+
+import java.util.Set;
+
+/**
+ * Local identity of the caller, resolved from the Keycloak sub claim
+ */
+public record AuthenticatedUser(
+        Long id,
+        String keycloakExternalId,
+        Set<UserRole> roles
+) {
+}
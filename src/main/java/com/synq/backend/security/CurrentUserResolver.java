@@ -0,0 +1,79 @@
+package com.synq.backend.security;
+
+import com.synq.backend.enums.UserStatus;
+import com.synq.backend.exceptions.EndpointException;
+import com.synq.backend.model.Role;
+import com.synq.backend.model.User;
+import com.synq.backend.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the caller's Keycloak token to a local user, provisioning the user on first sight.
+ * Results are served from {@link UserIdentityCache} so the hot path does not touch the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CurrentUserResolver {
+
+    private final UserIdentityCache identityCache;
+    private final UserService userService;
+
+    public AuthenticatedUser resolve(Authentication authentication) {
+        if (authentication instanceof JwtAuthenticationToken token) {
+            return resolve(token.getToken());
+        }
+        throw new EndpointException("Not authenticated", HttpStatus.UNAUTHORIZED);
+    }
+
+    public AuthenticatedUser resolve(Jwt jwt) {
+        AuthenticatedUser user = identityCache.get(jwt.getSubject(), subject -> load(jwt))
+                .orElseThrow(() -> new EndpointException("User is not active", HttpStatus.FORBIDDEN));
+        // auth_time moves only when the user signs in again, not on every request or token refresh
+        Instant authTime = jwt.getClaimAsInstant("auth_time");
+        if (authTime != null) {
+            userService.updateLastLogin(user.id(), LocalDateTime.ofInstant(authTime, ZoneId.systemDefault()));
+        }
+        return user;
+    }
+
+    private Optional<AuthenticatedUser> load(Jwt jwt) {
+        String subject = jwt.getSubject();
+        String username = jwt.getClaimAsString("preferred_username");
+        String email = jwt.getClaimAsString("email");
+
+        Optional<User> user = username != null && email != null
+                ? Optional.of(userService.provisionUserFromKeycloak(subject, username, email))
+                : userService.getUserEntityByKeycloakExternalId(subject);
+
+        if (user.isEmpty()) {
+            log.warn("Cannot provision user for subject {}: token lacks username or email", subject);
+            return Optional.empty();
+        }
+
+        if (user.get().getStatus() != UserStatus.ACTIVE) {
+            log.debug("User {} is {}, denying access", user.get().getId(), user.get().getStatus());
+            return Optional.empty();
+        }
+
+        return Optional.of(new AuthenticatedUser(
+                user.get().getId(),
+                subject,
+                user.get().getRoles().stream()
+                        .map(Role::getName)
+                        .collect(Collectors.toUnmodifiableSet())
+        ));
+    }
+}
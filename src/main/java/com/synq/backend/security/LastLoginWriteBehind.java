@@ -0,0 +1,169 @@
+package com.synq.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.synq.backend.config.LastLoginProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records login timestamps in memory and writes them behind in bulk.
+ * Repeated logins of the same user are coalesced into one pending value, and each flush
+ * issues a single UPDATE ... CASE per batch, bypassing the entity lifecycle and its version check.
+ * After a write, newer logins of that user are held back until max-staleness has passed and
+ * then written as one. The last written timestamp of each user is remembered past that window,
+ * so the same sign-in seen on every later request is dropped instead of written again.
+ */
+@Component
+@Slf4j
+public class LastLoginWriteBehind {
+
+    private static final LocalDateTime NEVER = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LastLoginProperties properties;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> throttled = new ConcurrentHashMap<>();
+    private final Cache<Long, LocalDateTime> recentlyWritten;
+
+    /**
+     * Last timestamp written per user, bounded by size rather than age
+     */
+    private final Cache<Long, LocalDateTime> lastWritten;
+    private final Counter recorded;
+    private final Counter coalesced;
+    private final Counter written;
+
+    public LastLoginWriteBehind(JdbcTemplate jdbcTemplate, LastLoginProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.recentlyWritten = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getMaxStaleness())
+                .build();
+        this.lastWritten = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedUsers())
+                .build();
+        this.recorded = meterRegistry.counter("synq.last_login.updates", "outcome", "recorded");
+        this.coalesced = meterRegistry.counter("synq.last_login.updates", "outcome", "coalesced");
+        this.written = meterRegistry.counter("synq.last_login.updates", "outcome", "written");
+        meterRegistry.gaugeMapSize("synq.last_login.pending", List.of(), pending);
+        meterRegistry.gaugeMapSize("synq.last_login.throttled", List.of(), throttled);
+    }
+
+    /**
+     * Record a login; it reaches the database on the next flush, or on the first flush after
+     * the throttle window when one was written recently
+     */
+    public void record(Long userId, LocalDateTime loginAt) {
+        LocalDateTime last = lastWritten.getIfPresent(userId);
+        if (last != null && !loginAt.isAfter(last)) {
+            coalesced.increment();
+            return;
+        }
+
+        LocalDateTime written = recentlyWritten.getIfPresent(userId);
+        if (written != null) {
+            if (loginAt.isAfter(written)) {
+                throttled.merge(userId, loginAt, LastLoginWriteBehind::latest);
+            }
+            coalesced.increment();
+            return;
+        }
+
+        if (pending.putIfAbsent(userId, loginAt) == null) {
+            recorded.increment();
+            return;
+        }
+
+        pending.merge(userId, loginAt, LastLoginWriteBehind::latest);
+        coalesced.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${synq.last-login.flush-interval:10s}")
+    public synchronized void flush() {
+        throttled.forEach((userId, loginAt) -> {
+            // Due once the window of the last write has passed
+            if (recentlyWritten.getIfPresent(userId) == null && throttled.remove(userId, loginAt)) {
+                pending.merge(userId, loginAt, LastLoginWriteBehind::latest);
+            }
+        });
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, LocalDateTime>> drained = new ArrayList<>(pending.size());
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            // Only take the value we saw, so a login recorded meanwhile stays pending
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                drained.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        int batchSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < drained.size(); from += batchSize) {
+            List<Map.Entry<Long, LocalDateTime>> batch = drained.subList(from, Math.min(from + batchSize, drained.size()));
+            try {
+                update(batch);
+                batch.forEach(entry -> {
+                    recentlyWritten.put(entry.getKey(), entry.getValue());
+                    lastWritten.put(entry.getKey(), entry.getValue());
+                });
+                written.increment(batch.size());
+            } catch (DataAccessException e) {
+                log.error("Failed to write {} login timestamps, retrying on next flush", batch.size(), e);
+                batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), LastLoginWriteBehind::latest));
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        throttled.forEach((userId, loginAt) -> {
+            if (throttled.remove(userId, loginAt)) {
+                pending.merge(userId, loginAt, LastLoginWriteBehind::latest);
+            }
+        });
+        flush();
+    }
+
+    /**
+     * UPDATE users SET last_login_at = GREATEST(COALESCE(last_login_at, ?), CASE id WHEN ? THEN ? ... END)
+     * WHERE id IN (...). GREATEST keeps another node's newer timestamp from being overwritten.
+     */
+    private void update(List<Map.Entry<Long, LocalDateTime>> batch) {
+        StringBuilder sql = new StringBuilder(64 + batch.size() * 24)
+                .append("UPDATE users SET last_login_at = GREATEST(COALESCE(last_login_at, ?), CASE id");
+        List<Object> args = new ArrayList<>(batch.size() * 3 + 1);
+        args.add(NEVER);
+
+        for (Map.Entry<Long, LocalDateTime> entry : batch) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(entry.getKey());
+            args.add(entry.getValue());
+        }
+
+        sql.append(" END) WHERE id IN (")
+                .append(String.join(", ", Collections.nCopies(batch.size(), "?")))
+                .append(')');
+        batch.forEach(entry -> args.add(entry.getKey()));
+
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
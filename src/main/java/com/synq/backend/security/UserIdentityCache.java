@@ -0,0 +1,81 @@
+package com.synq.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.synq.backend.config.IdentityCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded cache mapping a Keycloak sub claim to the local user id and roles.
+ * Unresolvable subjects are cached as empty for a shorter time (negative caching).
+ */
+@Component
+@Slf4j
+public class UserIdentityCache {
+
+    private final Cache<String, Optional<AuthenticatedUser>> cache;
+
+    public UserIdentityCache(IdentityCacheProperties properties) {
+        long ttlNanos = properties.getTtl().toNanos();
+        long negativeTtlNanos = properties.getNegativeTtl().toNanos();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<String, Optional<AuthenticatedUser>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<AuthenticatedUser> value, long currentTime) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<AuthenticatedUser> value,
+                                                  long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<AuthenticatedUser> value,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Cached identity for the subject, computing it at most once per subject on a miss
+     */
+    public Optional<AuthenticatedUser> get(String keycloakExternalId,
+                                           Function<String, Optional<AuthenticatedUser>> loader) {
+        return cache.get(keycloakExternalId, loader);
+    }
+
+    /**
+     * Drop the cached identity now and, inside a transaction, again after commit so a
+     * concurrent request cannot re-cache the pre-commit state
+     */
+    public void invalidate(String keycloakExternalId) {
+        if (keycloakExternalId == null) {
+            return;
+        }
+
+        log.debug("Invalidating cached identity for {}", keycloakExternalId);
+        cache.invalidate(keycloakExternalId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(keycloakExternalId);
+                }
+            });
+        }
+    }
+}
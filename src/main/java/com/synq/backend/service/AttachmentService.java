@@ -0,0 +1,102 @@
+package com.synq.backend.service;
+
+import com.synq.backend.dto.request.AttachExistingContentDto;
+import com.synq.backend.dto.request.CreateUploadSessionDto;
+import com.synq.backend.dto.response.AttachmentDto;
+import com.synq.backend.dto.response.UploadSessionDto;
+import com.synq.backend.storage.BlobDownload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service interface for message attachments
+ */
+public interface AttachmentService {
+
+    /**
+     * Stream an uploaded body to the blob store and attach it to a message of the uploader.
+     * contentLength is the declared length, or -1 when unknown. When the client declares the
+     * body's SHA-256 and identical content is already stored in an attachment the uploader can
+     * read, the body is not read at all
+     */
+    AttachmentDto uploadAttachment(Long messageId, Long uploaderId, String fileName, String contentType,
+                                   String sha256, long contentLength, InputStream body) throws IOException;
+
+    /**
+     * Attach already stored content by its SHA-256 and size, without uploading it. 404 when the content
+     * is not stored or the uploader cannot read any attachment of it, so the hash reveals nothing
+     */
+    AttachmentDto attachExistingContent(AttachExistingContentDto dto, Long uploaderId);
+
+    /**
+     * Get attachment metadata, if the user can read the message's frequency
+     */
+    AttachmentDto getAttachment(Long attachmentId, Long userId);
+
+    /**
+     * Resolve the stored content of an attachment, if the user can read the message's frequency
+     */
+    BlobDownload getDownload(Long attachmentId, Long userId);
+
+    /**
+     * Attachments of several messages grouped by message id, loaded with one query; messages without
+     * attachments are absent. Callers are expected to have checked access to the messages
+     */
+    Map<Long, List<AttachmentDto>> getAttachmentsByMessageIds(Collection<Long> messageIds);
+
+    /**
+     * Resolve the thumbnail file of an image attachment closest to the requested size, once generated
+     */
+    Path getThumbnail(Long attachmentId, Long userId, Integer size);
+
+    /**
+     * Delete an attachment; its blob is removed after commit once nothing else references it
+     */
+    void deleteAttachment(Long attachmentId, Long userId);
+
+    /**
+     * Delete every attachment of a message, releasing their blobs
+     */
+    void deleteAttachmentsByMessage(Long messageId);
+
+    /**
+     * Delete every attachment in a frequency, releasing their blobs; call before the frequency is removed
+     */
+    void deleteAttachmentsByFrequency(Long frequencyId);
+
+    /**
+     * Delete every attachment a user uploaded, releasing their blobs; call before the user is removed
+     */
+    void deleteAttachmentsByUploader(Long uploaderId);
+
+    /**
+     * Start a resumable upload to a message of the uploader; the staging file is sized up front
+     */
+    UploadSessionDto createUploadSession(CreateUploadSessionDto dto, Long uploaderId) throws IOException;
+
+    /**
+     * Get the state of a resumable upload, including the chunks still missing
+     */
+    UploadSessionDto getUploadSession(Long sessionId, Long uploaderId);
+
+    /**
+     * Write one chunk at its offset; sending the same chunk again is harmless
+     */
+    UploadSessionDto writeUploadChunk(Long sessionId, Long uploaderId, long offset, long contentLength,
+                                      InputStream body) throws IOException;
+
+    /**
+     * Turn a fully received upload into an attachment, removing the session in the same transaction
+     */
+    AttachmentDto completeUploadSession(Long sessionId, Long uploaderId) throws IOException;
+
+    /**
+     * Abandon a resumable upload and drop what was received
+     */
+    void cancelUploadSession(Long sessionId, Long uploaderId);
+}
@@ -0,0 +1,20 @@
+package com.synq.backend.service;
+
+import java.util.Map;
+
+/**
+ * Service interface for recording audit events.
+ * Recording never performs a synchronous insert; events are persisted in batches in the background.
+ */
+public interface AuditService {
+
+    /**
+     * Actor id used for actions not attributable to a user
+     */
+    String SYSTEM_ACTOR = "system";
+
+    /**
+     * Queue an audit event
+     */
+    void record(String actorId, String actionType, String targetType, String targetId, Map<String, Object> data);
+}
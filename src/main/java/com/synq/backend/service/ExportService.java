@@ -0,0 +1,21 @@
+package com.synq.backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for compliance exports
+ */
+public interface ExportService {
+
+    /**
+     * Check that a user may export a frequency; throws before anything is written
+     */
+    void checkCanExport(Long frequencyId, Long userId);
+
+    /**
+     * Stream every message of a frequency, deleted ones included, as NDJSON in sequence order.
+     * Returns the number of messages written
+     */
+    long exportMessages(Long frequencyId, Long userId, OutputStream out) throws IOException;
+}
@@ -48,6 +48,11 @@ public interface FrequencyService {
      */
     List<FrequencyDto> getFrequenciesByOwner(Long ownerId);
 
+    /**
+     * Get frequencies both users are members of
+     */
+    List<FrequencyDto> getFrequenciesInCommon(Long userId, Long otherUserId);
+
     /**
      * Delete frequency by ID
      */
@@ -1,6 +1,7 @@
 package com.synq.backend.service;
 
 import com.synq.backend.dto.response.MembershipDto;
+import com.synq.backend.dto.response.UnreadCountDto;
 import com.synq.backend.enums.MembershipRole;
 import com.synq.backend.model.Membership;
 
@@ -61,5 +62,14 @@ public interface MembershipService {
      * Ban/unban member
      */
     MembershipDto toggleBan(Long userId, Long frequencyId, boolean banned);
-}
 
+    /**
+     * Advance the user's read marker in a frequency to the given message; never moves it backwards
+     */
+    void markRead(Long userId, Long frequencyId, Long messageId);
+
+    /**
+     * Get unread counts for all frequencies of a user
+     */
+    List<UnreadCountDto> getUnreadCounts(Long userId);
+}
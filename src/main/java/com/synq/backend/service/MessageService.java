@@ -2,8 +2,12 @@ package com.synq.backend.service;
 
 import com.synq.backend.dto.request.CreateMessageDto;
 import com.synq.backend.dto.request.UpdateMessageDto;
+import com.synq.backend.dto.response.CursorPageDto;
+import com.synq.backend.dto.response.MessageChangesDto;
 import com.synq.backend.dto.response.MessageDto;
+import com.synq.backend.enums.CursorDirection;
 import com.synq.backend.model.Message;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
@@ -40,11 +44,42 @@ public interface MessageService {
      */
     List<MessageDto> getMessagesByFrequencyCursor(Long frequencyId, LocalDateTime before);
 
+    /**
+     * Get messages by frequency with an opaque (createdAt, id) keyset cursor
+     */
+    CursorPageDto<MessageDto> getMessagesByFrequencyKeyset(Long frequencyId, String cursor,
+                                                           CursorDirection direction, int size);
+
+    /**
+     * Get messages of a frequency with a sequence number above afterSeq, in sequence order.
+     * Deleted messages come back as tombstones carrying only their ids, sequence number and deletedAt
+     */
+    CursorPageDto<MessageDto> getMessagesAfterSeq(Long frequencyId, long afterSeq, int size);
+
+    /**
+     * Get message inserts, edits and deletes of a frequency since a delta sync token; without a token
+     * only the current token is returned
+     */
+    MessageChangesDto getChangesSince(Long frequencyId, String since, int size);
+
+    /**
+     * Search messages by content, ranked by relevance, in one frequency or in every frequency
+     * the user belongs to
+     */
+    Page<MessageDto> searchMessages(Long userId, String query, Long frequencyId, int page, int size);
+
     /**
      * Get replies to a message
      */
     List<MessageDto> getReplies(Long messageId);
 
+    /**
+     * Get non-deleted replies to a message, oldest first, using an opaque keyset cursor.
+     * NEWER continues from nextCursor, OLDER goes back from prevCursor
+     */
+    CursorPageDto<MessageDto> getRepliesKeyset(Long frequencyId, Long messageId, String cursor,
+                                               CursorDirection direction, int size);
+
     /**
      * Soft delete a message
      */
@@ -54,5 +89,10 @@ public interface MessageService {
      * Check if user can access message
      */
     boolean canAccessMessage(Long userId, Long messageId);
+
+    /**
+     * Check that a user may read the messages of a frequency; throws FORBIDDEN otherwise
+     */
+    void checkCanRead(Long frequencyId, Long userId);
 }
 
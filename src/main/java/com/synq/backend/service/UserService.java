@@ -5,6 +5,7 @@ import com.synq.backend.dto.request.UpdateUserDto;
 import com.synq.backend.dto.response.UserDto;
 import com.synq.backend.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -64,8 +65,8 @@ public interface UserService {
     User provisionUserFromKeycloak(String keycloakExternalId, String username, String email);
 
     /**
-     * Update last login timestamp
+     * Update last login timestamp to the time the user signed in; the write is coalesced and flushed behind in bulk
      */
-    void updateLastLogin(Long userId);
+    void updateLastLogin(Long userId, LocalDateTime loginAt);
 }
 
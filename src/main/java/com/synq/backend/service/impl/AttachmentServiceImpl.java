@@ -0,0 +1,587 @@
+package com.synq.backend.service.impl;
+
+import com.synq.backend.cache.MembershipIndex;
+import com.synq.backend.config.StorageProperties;
+import com.synq.backend.core.ExternalIds;
+import com.synq.backend.dto.request.AttachExistingContentDto;
+import com.synq.backend.dto.request.CreateUploadSessionDto;
+import com.synq.backend.dto.response.AttachmentDto;
+import com.synq.backend.dto.response.UploadSessionDto;
+import com.synq.backend.event.AttachmentStoredEvent;
+import com.synq.backend.exceptions.EndpointException;
+import com.synq.backend.mapper.AttachmentMapper;
+import com.synq.backend.model.Attachment;
+import com.synq.backend.model.Message;
+import com.synq.backend.model.UploadSession;
+import com.synq.backend.repository.AttachmentRepository;
+import com.synq.backend.repository.MessageRepository;
+import com.synq.backend.repository.UploadSessionRepository;
+import com.synq.backend.repository.UserRepository;
+import com.synq.backend.repository.projection.AttachmentRow;
+import com.synq.backend.service.AttachmentService;
+import com.synq.backend.storage.BlobDownload;
+import com.synq.backend.storage.BlobRegistry;
+import com.synq.backend.storage.BlobStore;
+import com.synq.backend.storage.StagedBlob;
+import com.synq.backend.storage.ThumbnailStore;
+import com.synq.backend.storage.UploadStaging;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of AttachmentService.
+ * The upload body is streamed to the blob store outside any transaction, so a slow client never
+ * holds a database connection; the attachment row is only written once the blob is complete.
+ * Resumable uploads stage chunks in a file sized to the whole upload and record each received
+ * chunk index once, so retries are idempotent; finalizing stores the staged file and swaps the
+ * session row for the attachment row in one transaction. Chunk writers and finalizing claim the
+ * session under its row lock: a chunk is only streamed while the session is not completing, and
+ * completing waits for no chunk to be in flight, so the staged file never changes while it is
+ * hashed and stored. Claims expire after uploadClaimTtl, so one left behind by a node that died
+ * stops blocking the session and is dropped or taken over. Content is stored once per SHA-256 and shared by reference between attachments.
+ */
+@Service
+@Slf4j
+public class AttachmentServiceImpl implements AttachmentService {
+
+    private static final String CONTENT_URL = "/api/attachments/%d/content";
+    private static final int MAX_FILE_NAME_LENGTH = 255;
+    private static final int MAX_MIME_TYPE_LENGTH = 100;
+    private static final Pattern SHA256_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final String RECORD_CHUNK_SQL = "INSERT IGNORE INTO upload_session_chunks (session_id, chunk_index) VALUES (?, ?)";
+    private static final String RECEIVED_CHUNKS_SQL = "SELECT chunk_index FROM upload_session_chunks WHERE session_id = ?";
+    private static final String LOCK_SESSION_SQL = "SELECT completing_until FROM upload_sessions WHERE id = ? FOR UPDATE";
+    private static final String LIVE_WRITERS_SQL = "SELECT COUNT(*) FROM upload_session_writers WHERE session_id = ? AND expires_at > ?";
+    private static final String ADD_WRITER_SQL = "INSERT INTO upload_session_writers (lease_id, session_id, expires_at) VALUES (?, ?, ?)";
+    private static final String REMOVE_WRITER_SQL = "DELETE FROM upload_session_writers WHERE lease_id = ?";
+    private static final String REMOVE_EXPIRED_WRITERS_SQL = "DELETE FROM upload_session_writers WHERE session_id = ? AND expires_at <= ?";
+    private static final String SET_COMPLETING_SQL = "UPDATE upload_sessions SET completing_until = ? WHERE id = ?";
+    private static final String CLEAR_COMPLETING_SQL = "UPDATE upload_sessions SET completing_until = NULL WHERE id = ?";
+
+    private final AttachmentRepository attachmentRepository;
+    private final UploadSessionRepository uploadSessionRepository;
+    private final MessageRepository messageRepository;
+    private final UserRepository userRepository;
+    private final MembershipIndex membershipIndex;
+    private final AttachmentMapper attachmentMapper;
+    private final BlobStore blobStore;
+    private final BlobRegistry blobRegistry;
+    private final UploadStaging uploadStaging;
+    private final ThumbnailStore thumbnailStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final StorageProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AttachmentServiceImpl(AttachmentRepository attachmentRepository,
+                                 UploadSessionRepository uploadSessionRepository,
+                                 MessageRepository messageRepository,
+                                 UserRepository userRepository,
+                                 MembershipIndex membershipIndex,
+                                 AttachmentMapper attachmentMapper,
+                                 BlobStore blobStore,
+                                 BlobRegistry blobRegistry,
+                                 UploadStaging uploadStaging,
+                                 ThumbnailStore thumbnailStore,
+                                 ApplicationEventPublisher eventPublisher,
+                                 JdbcTemplate jdbcTemplate,
+                                 StorageProperties properties,
+                                 PlatformTransactionManager transactionManager) {
+        this.attachmentRepository = attachmentRepository;
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.messageRepository = messageRepository;
+        this.userRepository = userRepository;
+        this.membershipIndex = membershipIndex;
+        this.attachmentMapper = attachmentMapper;
+        this.blobStore = blobStore;
+        this.blobRegistry = blobRegistry;
+        this.uploadStaging = uploadStaging;
+        this.thumbnailStore = thumbnailStore;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public AttachmentDto uploadAttachment(Long messageId, Long uploaderId, String fileName, String contentType,
+                                          String sha256, long contentLength, InputStream body) throws IOException {
+        long maxBytes = properties.getMaxUploadSize().toBytes();
+        if (contentLength > maxBytes) {
+            throw new EndpointException("Attachment exceeds the maximum upload size", HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        String mimeType = normalizeMimeType(contentType);
+        String name = normalizeFileName(fileName);
+        String declaredSha256 = normalizeSha256(sha256);
+        readOnlyTransaction.executeWithoutResult(status -> checkCanAttach(messageId, uploaderId));
+
+        // Known content is attached without reading the body at all
+        if (declaredSha256 != null && contentLength >= 0) {
+            Optional<AttachmentDto> existing = attachExisting(messageId, uploaderId, name, mimeType, declaredSha256, contentLength);
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+        }
+
+        StagedBlob staged = blobStore.stage(Channels.newChannel(body), maxBytes);
+        if (declaredSha256 != null && !declaredSha256.equals(staged.sha256())) {
+            blobStore.discard(staged);
+            throw new EndpointException("Uploaded content does not match the declared SHA-256", HttpStatus.BAD_REQUEST);
+        }
+        return storeAttachment(messageId, uploaderId, name, mimeType, staged, null);
+    }
+
+    @Override
+    public AttachmentDto attachExistingContent(AttachExistingContentDto dto, Long uploaderId) {
+        String mimeType = normalizeMimeType(dto.mimeType());
+        String name = normalizeFileName(dto.fileName());
+        String sha256 = normalizeSha256(dto.sha256());
+        readOnlyTransaction.executeWithoutResult(status -> checkCanAttach(dto.messageId(), uploaderId));
+
+        return attachExisting(dto.messageId(), uploaderId, name, mimeType, sha256, dto.sizeBytes())
+                .orElseThrow(() -> new EndpointException("No stored content with this hash, upload it instead", HttpStatus.NOT_FOUND));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AttachmentDto getAttachment(Long attachmentId, Long userId) {
+        return attachmentMapper.toDto(findReadable(attachmentId, userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BlobDownload getDownload(Long attachmentId, Long userId) {
+        Attachment attachment = findReadable(attachmentId, userId);
+        return new BlobDownload(
+                attachment.getStorageKey(),
+                attachment.getSizeBytes(),
+                attachment.getMimeType() != null ? attachment.getMimeType() : MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                attachment.getFileName(),
+                attachment.getChecksumSha256()
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<AttachmentDto>> getAttachmentsByMessageIds(Collection<Long> messageIds) {
+        if (messageIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<AttachmentDto>> attachments = new HashMap<>();
+        for (AttachmentRow row : attachmentRepository.findRowsByMessageIdIn(messageIds)) {
+            attachments.computeIfAbsent(row.messageId(), messageId -> new ArrayList<>()).add(attachmentMapper.toDto(row));
+        }
+        return attachments;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Path getThumbnail(Long attachmentId, Long userId, Integer size) {
+        Attachment attachment = findReadable(attachmentId, userId);
+        return thumbnailStore.find(attachment.getStorageKey(), size)
+                .orElseThrow(() -> new EndpointException("Thumbnail not available", HttpStatus.NOT_FOUND));
+    }
+
+    @Override
+    @Transactional
+    public void deleteAttachment(Long attachmentId, Long userId) {
+        Attachment attachment = attachmentRepository.findById(attachmentId)
+                .orElseThrow(() -> new EndpointException("Attachment not found", HttpStatus.NOT_FOUND));
+        if (!attachment.getUploader().getId().equals(userId)) {
+            throw new EndpointException("Only the uploader can delete an attachment", HttpStatus.FORBIDDEN);
+        }
+
+        attachmentRepository.delete(attachment);
+        release(List.of(attachment.getStorageKey()));
+    }
+
+    @Override
+    @Transactional
+    public void deleteAttachmentsByMessage(Long messageId) {
+        List<String> storageKeys = attachmentRepository.findStorageKeysByMessageId(messageId);
+        if (!storageKeys.isEmpty()) {
+            attachmentRepository.deleteByMessageId(messageId);
+            release(storageKeys);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteAttachmentsByFrequency(Long frequencyId) {
+        List<String> storageKeys = attachmentRepository.findStorageKeysByFrequencyId(frequencyId);
+        if (!storageKeys.isEmpty()) {
+            attachmentRepository.deleteByFrequencyId(frequencyId);
+            release(storageKeys);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteAttachmentsByUploader(Long uploaderId) {
+        List<String> storageKeys = attachmentRepository.findStorageKeysByUploaderId(uploaderId);
+        if (!storageKeys.isEmpty()) {
+            attachmentRepository.deleteByUploaderId(uploaderId);
+            release(storageKeys);
+        }
+    }
+
+    @Override
+    public UploadSessionDto createUploadSession(CreateUploadSessionDto dto, Long uploaderId) throws IOException {
+        if (dto.totalSize() > properties.getMaxUploadSize().toBytes()) {
+            throw new EndpointException("Attachment exceeds the maximum upload size", HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        String mimeType = normalizeMimeType(dto.mimeType());
+        String name = normalizeFileName(dto.fileName());
+        int chunkSize = (int) Math.max(1, Math.min(properties.getUploadChunkSize().toBytes(), Integer.MAX_VALUE));
+
+        UploadSession session = transactionTemplate.execute(status -> {
+            checkCanAttach(dto.messageId(), uploaderId);
+            return uploadSessionRepository.save(UploadSession.builder()
+                    .message(messageRepository.getReferenceById(dto.messageId()))
+                    .uploader(userRepository.getReferenceById(uploaderId))
+                    .fileName(name)
+                    .mimeType(mimeType)
+                    .totalSize(dto.totalSize())
+                    .chunkSize(chunkSize)
+                    .expiresAt(LocalDateTime.now().plus(properties.getUploadSessionTtl()))
+                    .build());
+        });
+
+        try {
+            uploadStaging.create(session.getId(), session.getTotalSize());
+        } catch (IOException | RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> uploadSessionRepository.deleteSession(session.getId()));
+            uploadStaging.delete(session.getId());
+            throw e;
+        }
+        return toDto(session, dto.messageId(), new BitSet(), session.getExpiresAt());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UploadSessionDto getUploadSession(Long sessionId, Long uploaderId) {
+        UploadSession session = findOwnedSession(sessionId, uploaderId);
+        return toDto(session, session.getMessage().getId(), receivedChunks(sessionId), session.getExpiresAt());
+    }
+
+    @Override
+    public UploadSessionDto writeUploadChunk(Long sessionId, Long uploaderId, long offset, long contentLength,
+                                             InputStream body) throws IOException {
+        UploadSession session = readOnlyTransaction.execute(status -> findOwnedSession(sessionId, uploaderId));
+        Long messageId = session.getMessage().getId();
+        if (offset < 0 || offset >= session.getTotalSize() || offset % session.getChunkSize() != 0) {
+            throw new EndpointException("Offset must be a chunk boundary inside the upload", HttpStatus.BAD_REQUEST);
+        }
+        int index = (int) (offset / session.getChunkSize());
+        long expected = chunkLength(session, index);
+        if (contentLength < 0) {
+            throw new EndpointException("Chunks must be sent with a Content-Length", HttpStatus.LENGTH_REQUIRED);
+        }
+        if (contentLength != expected) {
+            throw new EndpointException("Chunk at offset " + offset + " must be " + expected + " bytes", HttpStatus.BAD_REQUEST);
+        }
+
+        String leaseId = ExternalIds.UUID_V7.generate();
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (lockSession(sessionId, now).completing()) {
+                throw new EndpointException("Upload is being completed", HttpStatus.CONFLICT);
+            }
+            // Leases of writers that never came back no longer count; drop them while the row is locked
+            jdbcTemplate.update(REMOVE_EXPIRED_WRITERS_SQL, sessionId, now);
+            jdbcTemplate.update(ADD_WRITER_SQL, leaseId, sessionId, now.plus(properties.getUploadClaimTtl()));
+        });
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(properties.getUploadSessionTtl());
+        BitSet received;
+        try {
+            // Streamed outside any transaction; a retried chunk overwrites the same region with the same bytes
+            long written = uploadStaging.write(sessionId, offset, Channels.newChannel(body), expected);
+            if (written != expected) {
+                throw new EndpointException("Chunk at offset " + offset + " ended early, send it again", HttpStatus.BAD_REQUEST);
+            }
+
+            received = transactionTemplate.execute(status -> {
+                lockSession(sessionId, LocalDateTime.now());
+                uploadSessionRepository.extendExpiry(sessionId, expiresAt);
+                jdbcTemplate.update(REMOVE_WRITER_SQL, leaseId);
+                jdbcTemplate.update(RECORD_CHUNK_SQL, sessionId, index);
+                return receivedChunks(sessionId);
+            });
+        } catch (IOException | RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(REMOVE_WRITER_SQL, leaseId));
+            throw e;
+        }
+        return toDto(session, messageId, received, expiresAt);
+    }
+
+    @Override
+    public AttachmentDto completeUploadSession(Long sessionId, Long uploaderId) throws IOException {
+        UploadSession session = readOnlyTransaction.execute(status -> findOwnedSession(sessionId, uploaderId));
+        Long messageId = session.getMessage().getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            SessionClaims claims = lockSession(sessionId, now);
+            if (claims.completing()) {
+                throw new EndpointException("Upload is already being completed", HttpStatus.CONFLICT);
+            }
+            if (claims.writers() > 0) {
+                throw new EndpointException("Chunks are still being written, complete the upload once they are acknowledged",
+                        HttpStatus.CONFLICT);
+            }
+            int missing = session.getChunkCount() - receivedChunks(sessionId).cardinality();
+            if (missing > 0) {
+                throw new EndpointException("Upload is missing " + missing + " chunks", HttpStatus.CONFLICT);
+            }
+            jdbcTemplate.update(SET_COMPLETING_SQL, now.plus(properties.getUploadClaimTtl()), sessionId);
+        });
+
+        try {
+            StagedBlob staged;
+            try {
+                staged = blobStore.stage(uploadStaging.path(sessionId));
+            } catch (NoSuchFileException e) {
+                throw new EndpointException("Upload session not found", HttpStatus.NOT_FOUND);
+            }
+            return storeAttachment(messageId, uploaderId, session.getFileName(), session.getMimeType(), staged, sessionId);
+        } catch (IOException | RuntimeException e) {
+            // The session outlives a failed finalize, so chunks and a later complete are accepted again
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(CLEAR_COMPLETING_SQL, sessionId));
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public void cancelUploadSession(Long sessionId, Long uploaderId) {
+        findOwnedSession(sessionId, uploaderId);
+        uploadSessionRepository.deleteSession(sessionId);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                uploadStaging.delete(sessionId);
+            }
+        });
+    }
+
+    /**
+     * Reference staged content and write the attachment row in one transaction; a given upload
+     * session is removed in the same transaction, and only one finalize can remove it
+     */
+    private AttachmentDto storeAttachment(Long messageId, Long uploaderId, String fileName, String mimeType,
+                                          StagedBlob staged, Long sessionId) {
+        try {
+            AttachmentDto attachment = transactionTemplate.execute(status -> {
+                if (sessionId != null && uploadSessionRepository.deleteSession(sessionId) == 0) {
+                    throw new EndpointException("Upload session not found", HttpStatus.NOT_FOUND);
+                }
+                checkCanAttach(messageId, uploaderId);
+                String storageKey = blobRegistry.acquire(staged);
+                return saveAttachment(messageId, uploaderId, fileName, mimeType, storageKey, staged.sizeBytes());
+            });
+            log.debug("Stored attachment {} of message {} ({} bytes)", attachment.id(), messageId, staged.sizeBytes());
+            return attachment;
+        } finally {
+            // Consumed when stored; a session's staging file is otherwise kept for a retry or the sweeper
+            if (sessionId == null) {
+                blobStore.discard(staged);
+            }
+        }
+    }
+
+    private Optional<AttachmentDto> attachExisting(Long messageId, Long uploaderId, String fileName, String mimeType,
+                                                   String sha256, long sizeBytes) {
+        return Optional.ofNullable(transactionTemplate.execute(status -> {
+            checkCanAttach(messageId, uploaderId);
+            // A hash and size alone must not unlock content the caller has never been able to see
+            if (!canReadContent(sha256, uploaderId) || !blobRegistry.acquireExisting(sha256, sizeBytes)) {
+                return null;
+            }
+            return saveAttachment(messageId, uploaderId, fileName, mimeType, sha256, sizeBytes);
+        }));
+    }
+
+    private AttachmentDto saveAttachment(Long messageId, Long uploaderId, String fileName, String mimeType,
+                                         String sha256, long sizeBytes) {
+        Attachment saved = attachmentRepository.save(Attachment.builder()
+                .message(messageRepository.getReferenceById(messageId))
+                .uploader(userRepository.getReferenceById(uploaderId))
+                .fileName(fileName)
+                .mimeType(mimeType)
+                .sizeBytes(sizeBytes)
+                .checksumSha256(sha256)
+                .storageKey(sha256)
+                .fileUrl("")
+                .build());
+        // The download URL is built from the id, which is only known once the row is persisted
+        saved.setFileUrl(CONTENT_URL.formatted(saved.getId()));
+        eventPublisher.publishEvent(new AttachmentStoredEvent(saved.getId(), sha256, mimeType));
+        return attachmentMapper.toDto(saved);
+    }
+
+    private void release(List<String> storageKeys) {
+        blobRegistry.releaseAll(storageKeys.stream().filter(Objects::nonNull).toList());
+    }
+
+    private UploadSession findOwnedSession(Long sessionId, Long uploaderId) {
+        UploadSession session = uploadSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new EndpointException("Upload session not found", HttpStatus.NOT_FOUND));
+        if (!session.getUploader().getId().equals(uploaderId)) {
+            throw new EndpointException("Only the uploader can use an upload session", HttpStatus.FORBIDDEN);
+        }
+        return session;
+    }
+
+    /**
+     * Lock a session row for the rest of the transaction and read the claims still live at now
+     */
+    private SessionClaims lockSession(Long sessionId, LocalDateTime now) {
+        List<LocalDateTime> completingUntil = jdbcTemplate.query(LOCK_SESSION_SQL,
+                (rs, rowNum) -> rs.getObject("completing_until", LocalDateTime.class), sessionId);
+        if (completingUntil.isEmpty()) {
+            throw new EndpointException("Upload session not found", HttpStatus.NOT_FOUND);
+        }
+        Integer writers = jdbcTemplate.queryForObject(LIVE_WRITERS_SQL, Integer.class, sessionId, now);
+        LocalDateTime until = completingUntil.get(0);
+        return new SessionClaims(writers != null ? writers : 0, until != null && until.isAfter(now));
+    }
+
+    private BitSet receivedChunks(Long sessionId) {
+        BitSet received = new BitSet();
+        jdbcTemplate.query(RECEIVED_CHUNKS_SQL, (RowCallbackHandler) rs -> received.set(rs.getInt("chunk_index")), sessionId);
+        return received;
+    }
+
+    private static long chunkLength(UploadSession session, int index) {
+        return Math.min(session.getChunkSize(), session.getTotalSize() - (long) index * session.getChunkSize());
+    }
+
+    private static UploadSessionDto toDto(UploadSession session, Long messageId, BitSet received, LocalDateTime expiresAt) {
+        long receivedBytes = 0;
+        List<Long> missingOffsets = new ArrayList<>();
+        for (int index = 0; index < session.getChunkCount(); index++) {
+            if (received.get(index)) {
+                receivedBytes += chunkLength(session, index);
+            } else {
+                missingOffsets.add((long) index * session.getChunkSize());
+            }
+        }
+        return new UploadSessionDto(
+                session.getId(),
+                messageId,
+                session.getFileName(),
+                session.getMimeType(),
+                session.getTotalSize(),
+                session.getChunkSize(),
+                receivedBytes,
+                missingOffsets,
+                expiresAt
+        );
+    }
+
+    private void checkCanAttach(Long messageId, Long uploaderId) {
+        Message message = messageRepository.findById(messageId)
+                .filter(found -> found.getDeletedAt() == null)
+                .orElseThrow(() -> new EndpointException("Message not found", HttpStatus.NOT_FOUND));
+        if (!message.getAuthor().getId().equals(uploaderId)) {
+            throw new EndpointException("Only the author can attach files to a message", HttpStatus.FORBIDDEN);
+        }
+        if (!membershipIndex.canAccess(message.getFrequency().getId(), uploaderId)) {
+            throw new EndpointException("Cannot access this frequency", HttpStatus.FORBIDDEN);
+        }
+    }
+
+    /**
+     * Whether the user can already read some attachment of the blob, under the same rules as findReadable
+     */
+    private boolean canReadContent(String storageKey, Long userId) {
+        return attachmentRepository.findFrequencyIdsByStorageKey(storageKey).stream()
+                .anyMatch(frequencyId -> membershipIndex.canAccess(frequencyId, userId));
+    }
+
+    private Attachment findReadable(Long attachmentId, Long userId) {
+        Attachment attachment = attachmentRepository.findWithMessageById(attachmentId)
+                .filter(found -> found.getMessage().getDeletedAt() == null)
+                .orElseThrow(() -> new EndpointException("Attachment not found", HttpStatus.NOT_FOUND));
+        if (!membershipIndex.canAccess(attachment.getMessage().getFrequency().getId(), userId)) {
+            throw new EndpointException("Cannot access this frequency", HttpStatus.FORBIDDEN);
+        }
+        return attachment;
+    }
+
+    private static String normalizeMimeType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+        try {
+            String mimeType = MediaType.parseMediaType(contentType).toString();
+            if (mimeType.length() > MAX_MIME_TYPE_LENGTH) {
+                throw new EndpointException("Content type is too long", HttpStatus.BAD_REQUEST);
+            }
+            return mimeType;
+        } catch (InvalidMediaTypeException e) {
+            throw new EndpointException("Invalid content type", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static String normalizeSha256(String sha256) {
+        if (sha256 == null || sha256.isBlank()) {
+            return null;
+        }
+        String normalized = sha256.strip().toLowerCase(Locale.ROOT);
+        if (!SHA256_PATTERN.matcher(normalized).matches()) {
+            throw new EndpointException("SHA-256 must be 64 hex digits", HttpStatus.BAD_REQUEST);
+        }
+        return normalized;
+    }
+
+    private static String normalizeFileName(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            return null;
+        }
+        // Clients may send a full path; only the last segment is meaningful
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1).strip();
+        if (name.isEmpty()) {
+            return null;
+        }
+        return name.length() > MAX_FILE_NAME_LENGTH ? name.substring(0, MAX_FILE_NAME_LENGTH) : name;
+    }
+
+    /**
+     * Unexpired chunk writes into a session's staging file, and whether an unexpired finalize holds it
+     */
+    private record SessionClaims(int writers, boolean completing) {
+    }
+}
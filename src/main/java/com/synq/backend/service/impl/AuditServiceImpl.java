@@ -0,0 +1,223 @@
+package com.synq.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synq.backend.audit.AuditSpillFile;
+import com.synq.backend.audit.BoundedEventQueue;
+import com.synq.backend.config.AuditProperties;
+import com.synq.backend.enums.AuditOverflowPolicy;
+import com.synq.backend.event.AuditEvent;
+import com.synq.backend.model.AuditLog;
+import com.synq.backend.repository.AuditLogRepository;
+import com.synq.backend.service.AuditService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Implementation of AuditService.
+ * Producers enqueue into a lock-free bounded queue; a single background writer drains it
+ * in batches when either the batch size is reached or the flush interval elapses.
+ */
+@Service
+@Slf4j
+public class AuditServiceImpl implements AuditService, SmartLifecycle {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AuditProperties properties;
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BoundedEventQueue<AuditEvent> queue;
+    private final AuditSpillFile spillFile;
+
+    private final Timer flushTimer;
+    private final Counter persisted;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+
+    public AuditServiceImpl(AuditProperties properties,
+                            AuditLogRepository auditLogRepository,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.auditLogRepository = auditLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new BoundedEventQueue<>(properties.getQueueCapacity());
+        this.spillFile = new AuditSpillFile(Path.of(properties.getSpillFile()), objectMapper);
+
+        this.flushTimer = meterRegistry.timer("synq.audit.flush");
+        this.persisted = meterRegistry.counter("synq.audit.events", "outcome", "persisted");
+        this.dropped = meterRegistry.counter("synq.audit.events", "outcome", "dropped");
+        this.spilled = meterRegistry.counter("synq.audit.events", "outcome", "spilled");
+        this.failed = meterRegistry.counter("synq.audit.events", "outcome", "failed");
+        meterRegistry.gauge("synq.audit.queue.depth", queue, BoundedEventQueue::size);
+    }
+
+    @Override
+    public void record(String actorId, String actionType, String targetType, String targetId, Map<String, Object> data) {
+        AuditEvent event = new AuditEvent(actorId, actionType, targetType, targetId, data, LocalDateTime.now());
+
+        // Only audit work that actually commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (!queue.offer(event)) {
+            handleOverflow(event);
+        }
+
+        if (queue.size() >= properties.getBatchSize()) {
+            Thread writer = writerThread;
+            if (writer != null) {
+                LockSupport.unpark(writer);
+            }
+        }
+    }
+
+    private void handleOverflow(AuditEvent event) {
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK -> {
+                long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+                while (!queue.offer(event)) {
+                    if (System.nanoTime() > deadline) {
+                        dropped.increment();
+                        log.warn("Audit queue full for {}, dropping {} event", properties.getBlockTimeout(), event.actionType());
+                        return;
+                    }
+                    LockSupport.unpark(writerThread);
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(event)) {
+                    if (queue.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+            }
+            case SPILL -> {
+                spillFile.append(List.of(event));
+                spilled.increment();
+            }
+        }
+    }
+
+    private void runWriter() {
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        while (running) {
+            if (queue.size() < properties.getBatchSize()) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            flush();
+        }
+        // Drain whatever is left on shutdown
+        flush();
+    }
+
+    private void flush() {
+        List<AuditEvent> batch = new ArrayList<>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            persist(batch);
+            batch = new ArrayList<>(properties.getBatchSize());
+        }
+
+        if (running && spillFile.hasPending()) {
+            try {
+                spillFile.replay(properties.getBatchSize(), this::insert);
+            } catch (Exception e) {
+                log.error("Failed to replay spilled audit events", e);
+            }
+        }
+    }
+
+    private void persist(List<AuditEvent> batch) {
+        try {
+            insert(batch);
+        } catch (Exception e) {
+            log.error("Failed to persist {} audit events", batch.size(), e);
+            if (properties.getOverflowPolicy() == AuditOverflowPolicy.SPILL) {
+                spillFile.append(batch);
+                spilled.increment(batch.size());
+            } else {
+                failed.increment(batch.size());
+            }
+        }
+    }
+
+    private void insert(List<AuditEvent> batch) {
+        List<AuditLog> logs = batch.stream()
+                .map(event -> AuditLog.builder()
+                        .actorId(event.actorId())
+                        .actionType(event.actionType())
+                        .targetType(event.targetType())
+                        .targetId(event.targetId())
+                        .data(event.data())
+                        .createdAt(event.createdAt())
+                        .build())
+                .toList();
+
+        flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> auditLogRepository.saveAll(logs)));
+        persisted.increment(logs.size());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::runWriter, "audit-writer");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+        log.info("Audit writer started with {} policy", properties.getOverflowPolicy());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(properties.getFlushInterval().multipliedBy(5).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writerThread = null;
+        spillFile.close();
+        log.info("Audit writer stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
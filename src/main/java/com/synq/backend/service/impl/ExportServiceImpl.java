@@ -0,0 +1,177 @@
+package com.synq.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synq.backend.cache.MemberState;
+import com.synq.backend.cache.MembershipIndex;
+import com.synq.backend.config.ExportProperties;
+import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.exceptions.EndpointException;
+import com.synq.backend.model.Frequency;
+import com.synq.backend.model.User;
+import com.synq.backend.repository.FrequencyRepository;
+import com.synq.backend.repository.UserRepository;
+import com.synq.backend.service.AuditService;
+import com.synq.backend.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Map;
+
+/**
+ * Implementation of ExportService.
+ * Messages are read through a forward-only JDBC cursor and written row by row with Jackson's
+ * streaming generator, so heap usage does not grow with the size of the frequency.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private static final String EXPORT_SQL = "SELECT m.id, m.external_id, m.seq, m.author_id, u.username, m.content, " +
+            "m.type, m.reply_to_id, m.reply_count, m.created_at, m.edited_at, m.deleted_at, m.metadata " +
+            "FROM messages m JOIN users u ON u.id = m.author_id " +
+            "WHERE m.frequency_id = ? ORDER BY m.seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final FrequencyRepository frequencyRepository;
+    private final UserRepository userRepository;
+    private final MembershipIndex membershipIndex;
+    private final AuditService auditService;
+    private final ExportProperties properties;
+
+    @Override
+    public void checkCanExport(Long frequencyId, Long userId) {
+        if (!frequencyRepository.existsById(frequencyId)) {
+            throw new EndpointException("Frequency not found", HttpStatus.NOT_FOUND);
+        }
+
+        boolean owner = membershipIndex.find(frequencyId, userId)
+                .map(MemberState::role)
+                .filter(role -> role == MembershipRole.OWNER)
+                .isPresent();
+        if (!owner) {
+            throw new EndpointException("Only the owner can export this frequency", HttpStatus.FORBIDDEN);
+        }
+    }
+
+    @Override
+    public long exportMessages(Long frequencyId, Long userId, OutputStream out) throws IOException {
+        checkCanExport(frequencyId, userId);
+        log.info("Exporting frequency {} for user {}", frequencyId, userId);
+
+        long started = System.nanoTime();
+        long exported;
+        try {
+            exported = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> stream(connection, frequencyId, out));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        log.info("Exported {} messages of frequency {} in {} ms",
+                exported, frequencyId, (System.nanoTime() - started) / 1_000_000);
+        auditService.record(
+                userRepository.findById(userId).map(User::getExternalId).orElse(AuditService.SYSTEM_ACTOR),
+                "FREQUENCY_EXPORTED", "FREQUENCY",
+                frequencyRepository.findById(frequencyId).map(Frequency::getExternalId).orElse(null),
+                Map.of("messages", exported));
+        return exported;
+    }
+
+    private long stream(Connection connection, Long frequencyId, OutputStream out) throws SQLException {
+        setNetWriteTimeout(connection, String.valueOf(properties.getNetWriteTimeout().toSeconds()));
+        try (PreparedStatement statement = connection.prepareStatement(
+                EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(properties.getFetchSize());
+            statement.setLong(1, frequencyId);
+
+            ResultSet rs = statement.executeQuery();
+            try {
+                return write(rs, out);
+            } catch (IOException e) {
+                // The client went away; cancel first so closing the streaming result does not read the remaining rows
+                statement.cancel();
+                throw new UncheckedIOException(e);
+            } finally {
+                rs.close();
+            }
+        } finally {
+            setNetWriteTimeout(connection, "DEFAULT");
+        }
+    }
+
+    private long write(ResultSet rs, OutputStream out) throws SQLException, IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+
+            while (rs.next()) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", rs.getLong("id"));
+                generator.writeStringField("externalId", rs.getString("external_id"));
+                writeLong(generator, "seq", rs.getObject("seq", Long.class));
+                generator.writeNumberField("authorId", rs.getLong("author_id"));
+                generator.writeStringField("authorUsername", rs.getString("username"));
+                generator.writeStringField("content", rs.getString("content"));
+                generator.writeStringField("type", rs.getString("type"));
+                writeLong(generator, "replyToId", rs.getObject("reply_to_id", Long.class));
+                generator.writeNumberField("replyCount", rs.getInt("reply_count"));
+                writeTimestamp(generator, "createdAt", rs.getTimestamp("created_at"));
+                writeTimestamp(generator, "editedAt", rs.getTimestamp("edited_at"));
+                writeTimestamp(generator, "deletedAt", rs.getTimestamp("deleted_at"));
+
+                // Stored as JSON already; copied through without parsing
+                String metadata = rs.getString("metadata");
+                generator.writeFieldName("metadata");
+                if (metadata == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeRawValue(metadata);
+                }
+
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                count++;
+            }
+            generator.flush();
+        }
+        return count;
+    }
+
+    private static void writeLong(JsonGenerator generator, String field, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    private static void writeTimestamp(JsonGenerator generator, String field, Timestamp value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeStringField(field, value.toLocalDateTime().toString());
+        }
+    }
+
+    private static void setNetWriteTimeout(Connection connection, String value) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION net_write_timeout = " + value);
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.synq.backend.service.impl;
 
+import com.synq.backend.cache.HotMessageCache;
+import com.synq.backend.cache.MembershipIndex;
 import com.synq.backend.dto.request.CreateFrequencyDto;
 import com.synq.backend.dto.request.UpdateFrequencyDto;
 import com.synq.backend.dto.response.FrequencyDto;
 import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.event.MembershipChangedEvent;
 import com.synq.backend.exceptions.EndpointException;
 import com.synq.backend.mapper.FrequencyMapper;
 import com.synq.backend.model.Frequency;
@@ -12,11 +15,14 @@ import com.synq.backend.model.User;
 import com.synq.backend.repository.FrequencyRepository;
 import com.synq.backend.repository.MembershipRepository;
 import com.synq.backend.repository.UserRepository;
+import com.synq.backend.service.AttachmentService;
 import com.synq.backend.service.FrequencyService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -36,6 +42,10 @@ public class FrequencyServiceImpl implements FrequencyService {
     private final UserRepository userRepository;
     private final MembershipRepository membershipRepository;
     private final FrequencyMapper frequencyMapper;
+    private final HotMessageCache hotMessageCache;
+    private final MembershipIndex membershipIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AttachmentService attachmentService;
 
     @Override
     public FrequencyDto createFrequency(CreateFrequencyDto dto, Long ownerId) {
@@ -54,6 +64,8 @@ public class FrequencyServiceImpl implements FrequencyService {
         if (frequency.getMaxParticipants() == 0) {
             frequency.setMaxParticipants(1000);
         }
+        // The owner membership below is the first member
+        frequency.setMemberCount(1);
 
         Frequency savedFrequency = frequencyRepository.save(frequency);
 
@@ -80,6 +92,7 @@ public class FrequencyServiceImpl implements FrequencyService {
 
         frequencyMapper.updateEntity(dto, frequency);
         Frequency updatedFrequency = frequencyRepository.save(frequency);
+        eventPublisher.publishEvent(new MembershipChangedEvent(id));
 
         log.info("Frequency updated successfully with ID: {}", id);
         return frequencyMapper.toDto(updatedFrequency);
@@ -125,6 +138,15 @@ public class FrequencyServiceImpl implements FrequencyService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<FrequencyDto> getFrequenciesInCommon(Long userId, Long otherUserId) {
+        log.debug("Fetching frequencies in common between users {} and {}", userId, otherUserId);
+        return frequencyRepository.findInCommon(userId, otherUserId).stream()
+                .map(frequencyMapper::toDto)
+                .toList();
+    }
+
     @Override
     public void deleteFrequency(Long id) {
         log.debug("Deleting frequency with ID: {}", id);
@@ -133,21 +155,17 @@ public class FrequencyServiceImpl implements FrequencyService {
             throw new EndpointException("Frequency not found", HttpStatus.NOT_FOUND);
         }
 
+        attachmentService.deleteAttachmentsByFrequency(id);
         frequencyRepository.deleteById(id);
+        hotMessageCache.evict(id);
+        eventPublisher.publishEvent(new MembershipChangedEvent(id));
         log.info("Frequency deleted successfully with ID: {}", id);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public boolean canAccessFrequency(Long userId, Long frequencyId) {
-        Frequency frequency = frequencyRepository.findById(frequencyId)
-                .orElseThrow(() -> new EndpointException("Frequency not found", HttpStatus.NOT_FOUND));
-
-        if (!frequency.isPrivate()) {
-            return true;
-        }
-
-        return membershipRepository.existsByUserIdAndFrequencyId(userId, frequencyId);
+        return membershipIndex.canAccess(frequencyId, userId);
     }
 }
 
@@ -12,6 +12,7 @@ import com.synq.backend.model.User;
 import com.synq.backend.repository.FrequencyRepository;
 import com.synq.backend.repository.InviteRepository;
 import com.synq.backend.repository.UserRepository;
+import com.synq.backend.repository.projection.InviteRedemption;
 import com.synq.backend.service.InviteService;
 import com.synq.backend.service.MembershipService;
 import lombok.RequiredArgsConstructor;
@@ -80,31 +81,25 @@ public class InviteServiceImpl implements InviteService {
     public MembershipDto redeemInvite(String token, Long userId) {
         log.debug("Redeeming invite {} by user {}", token, userId);
 
-        Invite invite = inviteRepository.findByToken(token)
-                .orElseThrow(() -> new EndpointException("Invite not found", HttpStatus.NOT_FOUND));
-
-        // Validate invite
-        if (!isInviteValid(token)) {
+        // Validate and consume in one conditional UPDATE; if the join below fails, the
+        // transaction rolls the use back
+        if (inviteRepository.consumeUse(token, LocalDateTime.now()) == 0) {
+            if (!inviteRepository.existsByToken(token)) {
+                throw new EndpointException("Invite not found", HttpStatus.NOT_FOUND);
+            }
             throw new EndpointException("Invite is expired or maxed out", HttpStatus.BAD_REQUEST);
         }
 
-        // Check if user is already a member
-        if (membershipService.isMember(userId, invite.getFrequency().getId())) {
-            throw new EndpointException("User is already a member", HttpStatus.CONFLICT);
-        }
+        InviteRedemption invite = inviteRepository.findRedemptionByToken(token)
+                .orElseThrow(() -> new EndpointException("Invite not found", HttpStatus.NOT_FOUND));
 
-        // Join frequency
         MembershipDto membership = membershipService.joinFrequency(
                 userId,
-                invite.getFrequency().getId(),
-                invite.getRoleOnJoin(),
+                invite.frequencyId(),
+                invite.roleOnJoin(),
                 null
         );
 
-        // Increment uses count
-        invite.setUsesCount(invite.getUsesCount() + 1);
-        inviteRepository.save(invite);
-
         log.info("Invite redeemed successfully by user {}", userId);
         return membership;
     }
@@ -1,7 +1,10 @@
 package com.synq.backend.service.impl;
 
+import com.synq.backend.cache.MembershipIndex;
 import com.synq.backend.dto.response.MembershipDto;
+import com.synq.backend.dto.response.UnreadCountDto;
 import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.event.MembershipChangedEvent;
 import com.synq.backend.exceptions.EndpointException;
 import com.synq.backend.mapper.MembershipMapper;
 import com.synq.backend.model.Frequency;
@@ -9,16 +12,23 @@ import com.synq.backend.model.Membership;
 import com.synq.backend.model.User;
 import com.synq.backend.repository.FrequencyRepository;
 import com.synq.backend.repository.MembershipRepository;
+import com.synq.backend.repository.MessageRepository;
 import com.synq.backend.repository.UserRepository;
+import com.synq.backend.service.AuditService;
 import com.synq.backend.service.MembershipService;
+import com.synq.backend.sync.ReadMarker;
+import com.synq.backend.sync.ReadMarkerWriteBehind;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -31,9 +41,14 @@ import java.util.Optional;
 public class MembershipServiceImpl implements MembershipService {
 
     private final MembershipRepository membershipRepository;
+    private final MessageRepository messageRepository;
     private final UserRepository userRepository;
     private final FrequencyRepository frequencyRepository;
     private final MembershipMapper membershipMapper;
+    private final AuditService auditService;
+    private final MembershipIndex membershipIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadMarkerWriteBehind readMarkerWriteBehind;
 
     @Override
     public MembershipDto joinFrequency(Long userId, Long frequencyId, MembershipRole role, String nickname) {
@@ -49,8 +64,9 @@ public class MembershipServiceImpl implements MembershipService {
             throw new EndpointException("User is already a member", HttpStatus.CONFLICT);
         }
 
-        long memberCount = membershipRepository.countByFrequencyId(frequencyId);
-        if (memberCount >= frequency.getMaxParticipants()) {
+        // Conditional increment: the row lock it takes serializes concurrent joins only for the
+        // capacity check, and a failed insert below rolls the slot back with the transaction
+        if (frequencyRepository.reserveMemberSlot(frequencyId) == 0) {
             throw new EndpointException("Frequency has reached maximum participants", HttpStatus.BAD_REQUEST);
         }
 
@@ -64,6 +80,7 @@ public class MembershipServiceImpl implements MembershipService {
                 .build();
 
         Membership savedMembership = membershipRepository.save(membership);
+        eventPublisher.publishEvent(new MembershipChangedEvent(frequencyId));
         log.info("User {} joined frequency {} successfully", userId, frequencyId);
 
         return membershipMapper.toDto(savedMembership);
@@ -84,6 +101,8 @@ public class MembershipServiceImpl implements MembershipService {
         }
 
         membershipRepository.deleteByUserIdAndFrequencyId(userId, frequencyId);
+        frequencyRepository.releaseMemberSlot(frequencyId);
+        eventPublisher.publishEvent(new MembershipChangedEvent(frequencyId));
         log.info("User {} left frequency {} successfully", userId, frequencyId);
     }
 
@@ -96,8 +115,13 @@ public class MembershipServiceImpl implements MembershipService {
 
         membership.setRole(newRole);
         Membership updatedMembership = membershipRepository.save(membership);
+        eventPublisher.publishEvent(new MembershipChangedEvent(frequencyId));
 
         log.info("Role updated successfully for user {} in frequency {}", userId, frequencyId);
+
+        auditService.record(AuditService.SYSTEM_ACTOR, "MEMBERSHIP_ROLE_UPDATED", "MEMBERSHIP",
+                updatedMembership.getExternalId(),
+                Map.of("userId", userId, "frequencyId", frequencyId, "role", newRole.name()));
         return membershipMapper.toDto(updatedMembership);
     }
 
@@ -133,16 +157,16 @@ public class MembershipServiceImpl implements MembershipService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public boolean isMember(Long userId, Long frequencyId) {
-        return membershipRepository.existsByUserIdAndFrequencyId(userId, frequencyId);
+        return membershipIndex.isMember(frequencyId, userId);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public boolean hasRole(Long userId, Long frequencyId, MembershipRole role) {
-        return membershipRepository.findByUserIdAndFrequencyId(userId, frequencyId)
-                .map(m -> m.getRole() == role)
+        return membershipIndex.find(frequencyId, userId)
+                .map(member -> member.role() == role)
                 .orElse(false);
     }
 
@@ -155,9 +179,43 @@ public class MembershipServiceImpl implements MembershipService {
 
         membership.setBanned(banned);
         Membership updatedMembership = membershipRepository.save(membership);
+        eventPublisher.publishEvent(new MembershipChangedEvent(frequencyId));
 
         log.info("Ban status updated for user {} in frequency {}", userId, frequencyId);
+
+        auditService.record(AuditService.SYSTEM_ACTOR, banned ? "MEMBER_BANNED" : "MEMBER_UNBANNED", "MEMBERSHIP",
+                updatedMembership.getExternalId(), Map.of("userId", userId, "frequencyId", frequencyId));
         return membershipMapper.toDto(updatedMembership);
     }
-}
 
+    @Override
+    @Transactional(readOnly = true)
+    public void markRead(Long userId, Long frequencyId, Long messageId) {
+        if (!membershipIndex.isMember(frequencyId, userId)) {
+            throw new EndpointException("Membership not found", HttpStatus.NOT_FOUND);
+        }
+
+        long seq = messageRepository.findSeqByIdAndFrequencyId(messageId, frequencyId)
+                .orElseThrow(() -> new EndpointException("Message not found", HttpStatus.NOT_FOUND));
+
+        readMarkerWriteBehind.advance(userId, frequencyId, new ReadMarker(messageId, seq));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UnreadCountDto> getUnreadCounts(Long userId) {
+        return membershipRepository.findUnreadRowsByUserId(userId).stream()
+                .map(row -> {
+                    ReadMarker persisted = new ReadMarker(row.lastReadMessageId(), row.lastReadSeq());
+                    ReadMarker marker = readMarkerWriteBehind.pending(userId, row.frequencyId())
+                            .map(pending -> ReadMarker.furthest(pending, persisted))
+                            .orElse(persisted);
+                    return new UnreadCountDto(
+                            row.frequencyId(),
+                            marker.messageId(),
+                            Math.max(0, row.lastMessageSeq() - marker.seq())
+                    );
+                })
+                .toList();
+    }
+}
@@ -1,9 +1,21 @@
 package com.synq.backend.service.impl;
 
+import com.synq.backend.cache.HotMessageCache;
+import com.synq.backend.cache.MemberState;
+import com.synq.backend.cache.MembershipIndex;
+import com.synq.backend.config.SearchProperties;
+import com.synq.backend.core.KeysetCursor;
 import com.synq.backend.dto.request.CreateMessageDto;
 import com.synq.backend.dto.request.UpdateMessageDto;
+import com.synq.backend.dto.response.AttachmentDto;
+import com.synq.backend.dto.response.CursorPageDto;
+import com.synq.backend.dto.response.MessageChangeDto;
+import com.synq.backend.dto.response.MessageChangesDto;
 import com.synq.backend.dto.response.MessageDto;
+import com.synq.backend.enums.CursorDirection;
+import com.synq.backend.enums.MessageEventType;
 import com.synq.backend.enums.MessageType;
+import com.synq.backend.event.MessageEvent;
 import com.synq.backend.exceptions.EndpointException;
 import com.synq.backend.mapper.MessageMapper;
 import com.synq.backend.model.Frequency;
@@ -13,16 +25,38 @@ import com.synq.backend.repository.FrequencyRepository;
 import com.synq.backend.repository.MembershipRepository;
 import com.synq.backend.repository.MessageRepository;
 import com.synq.backend.repository.UserRepository;
+import com.synq.backend.repository.projection.MessageChangeRow;
+import com.synq.backend.repository.projection.MessageRow;
+import com.synq.backend.search.MessageSearchIndex;
+import com.synq.backend.service.AttachmentService;
+import com.synq.backend.service.AuditService;
 import com.synq.backend.service.MessageService;
+import com.synq.backend.sync.ChangeToken;
+import com.synq.backend.sync.MessageChangeLog;
+import com.synq.backend.sync.MessageSequenceAllocator;
+import com.synq.backend.sync.ReadMarker;
+import com.synq.backend.sync.ReadMarkerWriteBehind;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -34,11 +68,24 @@ import java.util.Optional;
 @Transactional
 public class MessageServiceImpl implements MessageService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final MessageRepository messageRepository;
     private final UserRepository userRepository;
     private final FrequencyRepository frequencyRepository;
-    private final MembershipRepository membershipRepository;
+    private final MembershipIndex membershipIndex;
     private final MessageMapper messageMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotMessageCache hotMessageCache;
+    private final AuditService auditService;
+    private final AttachmentService attachmentService;
+    private final MessageSequenceAllocator messageSequenceAllocator;
+    private final ReadMarkerWriteBehind readMarkerWriteBehind;
+    private final MessageChangeLog messageChangeLog;
+    private final MessageSearchIndex messageSearchIndex;
+    private final MembershipRepository membershipRepository;
+    private final SearchProperties searchProperties;
 
     @Override
     public MessageDto postMessage(CreateMessageDto dto, Long authorId) {
@@ -50,9 +97,10 @@ public class MessageServiceImpl implements MessageService {
         Frequency frequency = frequencyRepository.findById(dto.frequencyId())
                 .orElseThrow(() -> new EndpointException("Frequency not found", HttpStatus.NOT_FOUND));
 
-        // Check if user is a member
-        if (!membershipRepository.existsByUserIdAndFrequencyId(authorId, dto.frequencyId())) {
-            throw new EndpointException("User is not a member of this frequency", HttpStatus.FORBIDDEN);
+        MemberState member = membershipIndex.find(dto.frequencyId(), authorId)
+                .orElseThrow(() -> new EndpointException("User is not a member of this frequency", HttpStatus.FORBIDDEN));
+        if (member.banned() || member.isMuted(LocalDateTime.now())) {
+            throw new EndpointException("User is banned or muted in this frequency", HttpStatus.FORBIDDEN);
         }
 
         Message message = messageMapper.toEntity(dto);
@@ -67,13 +115,30 @@ public class MessageServiceImpl implements MessageService {
         if (dto.replyToId() != null) {
             Message replyToMessage = messageRepository.findById(dto.replyToId())
                     .orElseThrow(() -> new EndpointException("Reply-to message not found", HttpStatus.NOT_FOUND));
+            if (!replyToMessage.getFrequency().getId().equals(frequency.getId())) {
+                throw new EndpointException("Reply-to message belongs to another frequency", HttpStatus.BAD_REQUEST);
+            }
             message.setReplyTo(replyToMessage);
+            // Parent row before frequency row, the order in which edits and deletes lock them
+            messageRepository.recordReply(replyToMessage.getId(), LocalDateTime.now());
         }
 
+        // Taken last: the frequency row stays locked until commit
+        message.setSeq(messageSequenceAllocator.next(frequency.getId()));
         Message savedMessage = messageRepository.save(message);
         log.info("Message posted successfully with ID: {}", savedMessage.getId());
 
-        return messageMapper.toDto(savedMessage);
+        // The author has read up to their own post, so it never counts as unread for them
+        readMarkerWriteBehind.writeThrough(authorId, frequency.getId(),
+                new ReadMarker(savedMessage.getId(), savedMessage.getSeq()));
+
+        MessageDto messageDto = withAttachments(messageMapper.toDto(savedMessage), List.of());
+        eventPublisher.publishEvent(new MessageEvent(MessageEventType.CREATED, frequency.getId(), messageDto));
+
+        if (savedMessage.getReplyTo() != null) {
+            publishThreadSummary(frequency.getId(), savedMessage.getReplyTo().getId());
+        }
+        return messageDto;
     }
 
     @Override
@@ -97,7 +162,9 @@ public class MessageServiceImpl implements MessageService {
         Message updatedMessage = messageRepository.save(message);
         log.info("Message updated successfully with ID: {}", id);
 
-        return messageMapper.toDto(updatedMessage);
+        MessageDto messageDto = withAttachments(messageMapper.toDto(updatedMessage));
+        eventPublisher.publishEvent(new MessageEvent(MessageEventType.UPDATED, messageDto.frequencyId(), messageDto));
+        return messageDto;
     }
 
     @Override
@@ -105,39 +172,300 @@ public class MessageServiceImpl implements MessageService {
     public Optional<MessageDto> getMessageById(Long id) {
         log.debug("Fetching message by ID: {}", id);
         return messageRepository.findById(id)
-                .map(messageMapper::toDto);
+                .map(messageMapper::toDto)
+                .map(this::withAttachments);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MessageDto> getMessagesByFrequency(Long frequencyId, Pageable pageable) {
         log.debug("Fetching messages for frequency {}", frequencyId);
-        return messageRepository.findActiveMessagesByFrequencyId(frequencyId, pageable).stream()
-                .map(messageMapper::toDto)
-                .toList();
+
+        if (pageable.getPageNumber() == 0 && pageable.getSort().isUnsorted()) {
+            Optional<List<MessageDto>> cached = hotMessageCache.getLatest(
+                    frequencyId, pageable.getPageSize(), () -> loadLatest(frequencyId));
+            if (cached.isPresent()) {
+                return withAttachments(cached.get());
+            }
+        }
+
+        return withAttachments(toDtos(messageRepository.findActiveMessagesByFrequencyId(frequencyId, pageable)));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MessageDto> getMessagesByFrequencyCursor(Long frequencyId, LocalDateTime before) {
         log.debug("Fetching messages for frequency {} before {}", frequencyId, before);
+
+        if (before == null) {
+            Optional<List<MessageDto>> cached = hotMessageCache.getLatest(
+                    frequencyId, DEFAULT_PAGE_SIZE, () -> loadLatest(frequencyId));
+            if (cached.isPresent()) {
+                return withAttachments(cached.get());
+            }
+        }
+
         LocalDateTime cursor = before != null ? before : LocalDateTime.now();
 
-        return messageRepository
-                .findTop50ByFrequencyIdAndCreatedAtBeforeOrderByCreatedAtDesc(frequencyId, cursor)
-                .stream()
-                .map(messageMapper::toDto)
+        // An id of 0 keeps the timestamp bound exclusive
+        return withAttachments(toDtos(messageRepository.findActiveBefore(frequencyId, cursor, 0L, Limit.of(DEFAULT_PAGE_SIZE))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<MessageDto> getMessagesByFrequencyKeyset(Long frequencyId, String cursor,
+                                                                  CursorDirection direction, int size) {
+        log.debug("Fetching {} messages for frequency {} from cursor {}", direction, frequencyId, cursor);
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new EndpointException("Page size must be between 1 and " + MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(size + 1);
+        KeysetCursor position = cursor != null ? KeysetCursor.decode(cursor) : null;
+
+        if (direction == CursorDirection.NEWER) {
+            if (position == null) {
+                throw new EndpointException("A cursor is required to read newer messages", HttpStatus.BAD_REQUEST);
+            }
+
+            List<MessageDto> ascending = toDtos(messageRepository.findActiveAfter(
+                    frequencyId, position.createdAt(), position.id(), limit));
+            boolean hasNewer = ascending.size() > size;
+            List<MessageDto> page = new ArrayList<>(ascending.subList(0, Math.min(size, ascending.size())));
+            Collections.reverse(page);
+
+            if (page.isEmpty()) {
+                return new CursorPageDto<>(List.of(), null, cursor);
+            }
+            return new CursorPageDto<>(
+                    withAttachments(page),
+                    cursorOf(page.get(page.size() - 1)),
+                    hasNewer ? cursorOf(page.get(0)) : null
+            );
+        }
+
+        List<MessageDto> descending = position == null
+                ? hotMessageCache.getLatest(frequencyId, size + 1, () -> loadLatest(frequencyId))
+                        .orElseGet(() -> toDtos(messageRepository.findActiveLatest(frequencyId, limit)))
+                : toDtos(messageRepository.findActiveBefore(frequencyId, position.createdAt(), position.id(), limit));
+        boolean hasOlder = descending.size() > size;
+        List<MessageDto> page = descending.subList(0, Math.min(size, descending.size()));
+
+        if (page.isEmpty()) {
+            return new CursorPageDto<>(List.of(), null, cursor);
+        }
+        return new CursorPageDto<>(
+                withAttachments(page),
+                hasOlder ? cursorOf(page.get(page.size() - 1)) : null,
+                position != null ? cursorOf(page.get(0)) : null
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<MessageDto> getMessagesAfterSeq(Long frequencyId, long afterSeq, int size) {
+        log.debug("Fetching messages for frequency {} after seq {}", frequencyId, afterSeq);
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new EndpointException("Page size must be between 1 and " + MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<MessageDto> rows = toDtos(messageRepository.findAfterSeq(frequencyId, afterSeq, Limit.of(size + 1)));
+        boolean hasMore = rows.size() > size;
+        List<MessageDto> page = rows.subList(0, Math.min(size, rows.size()));
+
+        // Deleted messages stay in the page as tombstones, so a missing number is a real gap
+        Map<Long, MessageDto> live = new HashMap<>();
+        for (MessageDto message : withAttachments(page.stream().filter(message -> message.deletedAt() == null).toList())) {
+            live.put(message.id(), message);
+        }
+        List<MessageDto> items = page.stream()
+                .map(message -> message.deletedAt() != null ? tombstone(message) : live.get(message.id()))
+                .toList();
+
+        return new CursorPageDto<>(
+                items,
+                hasMore ? String.valueOf(page.get(page.size() - 1).seq()) : null,
+                null
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MessageChangesDto getChangesSince(Long frequencyId, String since, int size) {
+        log.debug("Fetching changes for frequency {} since {}", frequencyId, since);
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new EndpointException("Page size must be between 1 and " + MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST);
+        }
+
+        long head = frequencyRepository.findLastChangeSeqById(frequencyId)
+                .orElseThrow(() -> new EndpointException("Frequency not found", HttpStatus.NOT_FOUND));
+        if (since == null) {
+            return new MessageChangesDto(List.of(), new ChangeToken(head).encode(), false);
+        }
+
+        long from = ChangeToken.decode(since).changeSeq();
+        if (from > head) {
+            throw new EndpointException("Invalid change token", HttpStatus.BAD_REQUEST);
+        }
+        if (from == head) {
+            return new MessageChangesDto(List.of(), since, false);
+        }
+        if (messageChangeLog.findOldestChangeSeq(frequencyId).filter(oldest -> oldest <= from + 1).isEmpty()) {
+            throw new EndpointException("Change token expired, resync required", HttpStatus.GONE);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<MessageChangeRow> rows = messageChangeLog.findSince(frequencyId, from, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<MessageChangeRow> page = rows.subList(0, Math.min(size, rows.size()));
+
+        // Several changes to one message collapse into its current state, placed at its latest change
+        Map<Long, MessageEventType> firstTypes = new LinkedHashMap<>();
+        Map<Long, Long> lastChangeSeqs = new HashMap<>();
+        for (MessageChangeRow row : page) {
+            firstTypes.putIfAbsent(row.messageId(), row.type());
+            lastChangeSeqs.put(row.messageId(), row.changeSeq());
+        }
+        // Deleted messages are sent without content, so only live ones need their attachments
+        Map<Long, MessageDto> messages = new HashMap<>();
+        List<MessageDto> live = new ArrayList<>();
+        for (MessageDto message : toDtos(messageRepository.findRowsByFrequencyIdAndIdIn(frequencyId, firstTypes.keySet()))) {
+            if (message.deletedAt() != null) {
+                messages.put(message.id(), message);
+            } else {
+                live.add(message);
+            }
+        }
+        for (MessageDto message : withAttachments(live)) {
+            messages.put(message.id(), message);
+        }
+
+        List<MessageChangeDto> changes = firstTypes.keySet().stream()
+                .sorted(Comparator.comparing(lastChangeSeqs::get))
+                .map(messageId -> toChange(messageId, firstTypes.get(messageId), messages.get(messageId)))
+                .toList();
+
+        return new MessageChangesDto(
+                changes,
+                new ChangeToken(page.get(page.size() - 1).changeSeq()).encode(),
+                hasMore
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<MessageDto> searchMessages(Long userId, String query, Long frequencyId, int page, int size) {
+        log.debug("Searching messages for user {} in frequency {}", userId, frequencyId);
+
+        if (query == null || query.isBlank()) {
+            throw new EndpointException("Search query is required", HttpStatus.BAD_REQUEST);
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE || page < 0) {
+            throw new EndpointException("Page size must be between 1 and " + MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST);
+        }
+        long offset = (long) page * size;
+        if (offset + size > searchProperties.getMaxResultWindow()) {
+            throw new EndpointException("Search results are limited to the first "
+                    + searchProperties.getMaxResultWindow(), HttpStatus.BAD_REQUEST);
+        }
+
+        List<Long> frequencyIds;
+        if (frequencyId != null) {
+            if (!membershipIndex.canAccess(frequencyId, userId)) {
+                throw new EndpointException("Cannot access this frequency", HttpStatus.FORBIDDEN);
+            }
+            frequencyIds = List.of(frequencyId);
+        } else {
+            frequencyIds = membershipRepository.findUnbannedFrequencyIdsByUserId(userId);
+        }
+
+        MessageSearchIndex.Hits hits = messageSearchIndex.search(query, frequencyIds, (int) offset, size);
+        if (hits.messageIds().isEmpty()) {
+            return new PageImpl<>(List.of(), PageRequest.of(page, size), hits.totalHits());
+        }
+
+        // The index may lag a delete by a refresh interval, so only rows still active are returned
+        Map<Long, MessageDto> messages = new HashMap<>();
+        for (MessageDto message : withAttachments(toDtos(messageRepository.findActiveRowsByIdIn(hits.messageIds())))) {
+            messages.put(message.id(), message);
+        }
+        List<MessageDto> ranked = hits.messageIds().stream()
+                .map(messages::get)
+                .filter(Objects::nonNull)
                 .toList();
+
+        long total = Math.min(hits.totalHits(), searchProperties.getMaxResultWindow());
+        return new PageImpl<>(ranked, PageRequest.of(page, size), total);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MessageDto> getReplies(Long messageId) {
         log.debug("Fetching replies for message {}", messageId);
-        return messageRepository.findByReplyToIdOrderByCreatedAtAsc(messageId).stream()
-                .filter(msg -> msg.getDeletedAt() == null)
-                .map(messageMapper::toDto)
-                .toList();
+        return withAttachments(toDtos(messageRepository.findActiveReplies(messageId)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<MessageDto> getRepliesKeyset(Long frequencyId, Long messageId, String cursor,
+                                                      CursorDirection direction, int size) {
+        log.debug("Fetching {} replies for message {} from cursor {}", direction, messageId, cursor);
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new EndpointException("Page size must be between 1 and " + MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST);
+        }
+        if (!messageRepository.existsByIdAndFrequencyId(messageId, frequencyId)) {
+            throw new EndpointException("Message not found", HttpStatus.NOT_FOUND);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(size + 1);
+
+        if (direction == CursorDirection.OLDER) {
+            if (cursor == null) {
+                throw new EndpointException("A cursor is required to read older replies", HttpStatus.BAD_REQUEST);
+            }
+
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            List<MessageDto> descending = toDtos(messageRepository.findActiveRepliesBefore(
+                    messageId, position.createdAt(), position.id(), limit));
+            boolean hasOlder = descending.size() > size;
+            List<MessageDto> page = new ArrayList<>(descending.subList(0, Math.min(size, descending.size())));
+            Collections.reverse(page);
+
+            if (page.isEmpty()) {
+                return new CursorPageDto<>(List.of(), cursor, null);
+            }
+            return new CursorPageDto<>(
+                    withAttachments(page),
+                    cursorOf(page.get(page.size() - 1)),
+                    hasOlder ? cursorOf(page.get(0)) : null
+            );
+        }
+
+        List<MessageDto> rows;
+        if (cursor == null) {
+            rows = toDtos(messageRepository.findActiveRepliesFirst(messageId, limit));
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = toDtos(messageRepository.findActiveRepliesAfter(messageId, position.createdAt(), position.id(), limit));
+        }
+        boolean hasMore = rows.size() > size;
+        List<MessageDto> page = rows.subList(0, Math.min(size, rows.size()));
+
+        if (page.isEmpty()) {
+            return new CursorPageDto<>(List.of(), null, cursor);
+        }
+        return new CursorPageDto<>(
+                withAttachments(page),
+                hasMore ? cursorOf(page.get(page.size() - 1)) : null,
+                cursor != null ? cursorOf(page.get(0)) : null
+        );
     }
 
     @Override
@@ -151,10 +479,26 @@ public class MessageServiceImpl implements MessageService {
             throw new EndpointException("Only the author can delete this message", HttpStatus.FORBIDDEN);
         }
 
+        boolean wasActive = message.getDeletedAt() == null;
         message.setDeletedAt(LocalDateTime.now());
-        messageRepository.save(message);
+        Message deletedMessage = messageRepository.save(message);
+        attachmentService.deleteAttachmentsByMessage(id);
 
         log.info("Message soft-deleted successfully with ID: {}", id);
+
+        if (wasActive && message.getReplyTo() != null) {
+            Long parentId = message.getReplyTo().getId();
+            // The query flushes the delete first, so the removed reply no longer counts
+            LocalDateTime lastReplyAt = messageRepository.findLastActiveReplyAt(parentId).orElse(null);
+            messageRepository.removeReply(parentId, message.getCreatedAt(), lastReplyAt);
+            publishThreadSummary(message.getFrequency().getId(), parentId);
+        }
+
+        auditService.record(message.getAuthor().getExternalId(), "MESSAGE_DELETED", "MESSAGE",
+                message.getExternalId(), Map.of("frequencyId", message.getFrequency().getId()));
+
+        MessageDto messageDto = withAttachments(messageMapper.toDto(deletedMessage), List.of());
+        eventPublisher.publishEvent(new MessageEvent(MessageEventType.DELETED, messageDto.frequencyId(), messageDto));
     }
 
     @Override
@@ -163,13 +507,88 @@ public class MessageServiceImpl implements MessageService {
         Message message = messageRepository.findById(messageId)
                 .orElseThrow(() -> new EndpointException("Message not found", HttpStatus.NOT_FOUND));
 
-        Frequency frequency = message.getFrequency();
+        return membershipIndex.canAccess(message.getFrequency().getId(), userId);
+    }
 
-        if (!frequency.isPrivate()) {
-            return true;
+    @Override
+    public void checkCanRead(Long frequencyId, Long userId) {
+        if (!membershipIndex.canAccess(frequencyId, userId)) {
+            throw new EndpointException("Cannot access this frequency", HttpStatus.FORBIDDEN);
         }
+    }
 
-        return membershipRepository.existsByUserIdAndFrequencyId(userId, frequency.getId());
+    private List<MessageDto> toDtos(List<MessageRow> rows) {
+        return rows.stream()
+                .map(messageMapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Fill in the attachments of every message with one query, so a page costs the same number of
+     * queries however many of its messages have attachments. Messages served from the hot cache are
+     * filled here as well, so an attachment added or removed after caching never shows stale
+     */
+    private List<MessageDto> withAttachments(List<MessageDto> messages) {
+        if (messages.isEmpty()) {
+            return messages;
+        }
+        Map<Long, List<AttachmentDto>> attachments = attachmentService.getAttachmentsByMessageIds(
+                messages.stream().map(MessageDto::id).toList());
+        return messages.stream()
+                .map(message -> withAttachments(message, attachments.getOrDefault(message.id(), List.of())))
+                .toList();
+    }
+
+    private MessageDto withAttachments(MessageDto message) {
+        return withAttachments(List.of(message)).get(0);
     }
-}
 
+    /**
+     * Copy of a message carrying the given attachments. Kept off the record so MapStruct does not
+     * take it for a target property
+     */
+    private static MessageDto withAttachments(MessageDto message, List<AttachmentDto> attachments) {
+        return new MessageDto(message.id(), message.externalId(), message.frequencyId(), message.seq(),
+                message.authorId(), message.authorUsername(), message.content(), message.type(),
+                message.replyToId(), message.replyCount(), message.lastReplyAt(), message.createdAt(),
+                message.editedAt(), message.deletedAt(), message.metadata(), attachments);
+    }
+
+    /**
+     * Deleted message reduced to what a syncing client needs to drop it and account for its number
+     */
+    private static MessageDto tombstone(MessageDto message) {
+        return new MessageDto(message.id(), message.externalId(), message.frequencyId(), message.seq(),
+                null, null, null, null, null, 0, null, null, null, message.deletedAt(), null, List.of());
+    }
+
+    private MessageChangeDto toChange(Long messageId, MessageEventType firstType, MessageDto message) {
+        if (message == null || message.deletedAt() != null) {
+            return new MessageChangeDto(MessageEventType.DELETED, messageId, message != null ? message.seq() : null, null);
+        }
+        MessageEventType type = firstType == MessageEventType.CREATED ? MessageEventType.CREATED : MessageEventType.UPDATED;
+        return new MessageChangeDto(type, messageId, message.seq(), message);
+    }
+
+    /**
+     * Push the parent's new reply count to caches, sync clients and subscribers
+     */
+    private void publishThreadSummary(Long frequencyId, Long parentId) {
+        messageRepository.findRowsByFrequencyIdAndIdIn(frequencyId, List.of(parentId)).stream()
+                .findFirst()
+                .filter(parent -> parent.deletedAt() == null)
+                .map(messageMapper::toDto)
+                .map(this::withAttachments)
+                .ifPresent(parent -> eventPublisher.publishEvent(
+                        new MessageEvent(MessageEventType.UPDATED, frequencyId, parent)));
+    }
+
+    private String cursorOf(MessageDto message) {
+        return new KeysetCursor(message.createdAt(), message.id()).encode();
+    }
+
+    private List<MessageDto> loadLatest(Long frequencyId) {
+        return toDtos(messageRepository.findActiveLatest(
+                frequencyId, Limit.of(hotMessageCache.capacityPerFrequency())));
+    }
+}
@@ -5,23 +5,32 @@ import com.synq.backend.dto.request.UpdateUserDto;
 import com.synq.backend.dto.response.UserDto;
 import com.synq.backend.enums.UserRole;
 import com.synq.backend.enums.UserStatus;
+import com.synq.backend.event.MembershipChangedEvent;
 import com.synq.backend.exceptions.EndpointException;
 import com.synq.backend.mapper.UserMapper;
 import com.synq.backend.model.Role;
 import com.synq.backend.model.User;
+import com.synq.backend.repository.FrequencyRepository;
 import com.synq.backend.repository.RoleRepository;
 import com.synq.backend.repository.UserRepository;
+import com.synq.backend.security.LastLoginWriteBehind;
+import com.synq.backend.security.UserIdentityCache;
+import com.synq.backend.service.AttachmentService;
+import com.synq.backend.service.AuditService;
 import com.synq.backend.service.KeycloakService;
 import com.synq.backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -36,8 +45,14 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final FrequencyRepository frequencyRepository;
     private final UserMapper userMapper;
     private final KeycloakService keycloakService;
+    private final AuditService auditService;
+    private final UserIdentityCache userIdentityCache;
+    private final LastLoginWriteBehind lastLoginWriteBehind;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AttachmentService attachmentService;
 
     @Override
     public UserDto createUser(CreateUserDto dto) {
@@ -114,6 +129,7 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        userIdentityCache.invalidate(user.getKeycloakExternalId());
 
         log.info("User updated successfully with ID: {}", id);
         return userMapper.toDto(updatedUser);
@@ -180,8 +196,16 @@ public class UserServiceImpl implements UserService {
             }
         }
 
+        frequencyRepository.releaseMemberSlotsOfUser(id);
+        attachmentService.deleteAttachmentsByUploader(id);
+        user.getMemberships().forEach(membership ->
+                eventPublisher.publishEvent(new MembershipChangedEvent(membership.getFrequency().getId())));
         userRepository.deleteById(id);
+        userIdentityCache.invalidate(user.getKeycloakExternalId());
         log.info("User deleted successfully with ID: {}", id);
+
+        auditService.record(AuditService.SYSTEM_ACTOR, "USER_DELETED", "USER", user.getExternalId(),
+                Map.of("username", user.getUsername()));
     }
 
     @Override
@@ -208,13 +232,9 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public void updateLastLogin(Long userId) {
-        log.debug("Updating last login for user ID: {}", userId);
-
-        userRepository.findById(userId).ifPresent(user -> {
-            user.setLastLoginAt(LocalDateTime.now());
-            userRepository.save(user);
-        });
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateLastLogin(Long userId, LocalDateTime loginAt) {
+        lastLoginWriteBehind.record(userId, loginAt);
     }
 
     /**
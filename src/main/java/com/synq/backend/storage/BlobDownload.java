@@ -0,0 +1,7 @@
+package com.synq.backend.storage;
+
+/**
+ * What is needed to serve a stored blob over HTTP
+ */
+public record BlobDownload(String storageKey, long sizeBytes, String contentType, String fileName, String sha256) {
+}
@@ -0,0 +1,123 @@
+package com.synq.backend.storage;
+
+import com.synq.backend.config.StorageProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves a stored blob, honouring single byte ranges.
+ * When the servlet container supports sendfile (Tomcat's NIO connector does) and the blob is on
+ * the local filesystem, the file region is handed to the connector and the kernel copies it to
+ * the socket; otherwise the region is moved with FileChannel.transferTo into the response.
+ */
+@Component
+@RequiredArgsConstructor
+public class BlobDownloadWriter {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final BlobStore blobStore;
+    private final StorageProperties properties;
+
+    /**
+     * Write status, headers and the requested part of the blob; must be called before the response is committed
+     */
+    public void write(BlobDownload download, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = download.sizeBytes();
+        String etag = "\"" + download.sha256() + "\"";
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, etag)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+                // Several ranges would need a multipart/byteranges body; sending the whole blob is also valid
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    if (end < start) {
+                        throw new IllegalArgumentException("Range not satisfiable by an empty blob");
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            if (ranges.size() == 1) {
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(download.contentType());
+        response.setContentLengthLong(count);
+        if (download.fileName() != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                    .filename(download.fileName(), StandardCharsets.UTF_8).build().toString());
+        }
+        if (count == 0 || HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        Optional<Path> path = blobStore.localPath(download.storageKey());
+        if (path.isPresent() && count >= properties.getSendfileThreshold().toBytes()
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // The connector streams the region after the handler returns; the end offset is exclusive
+            request.setAttribute(SENDFILE_FILENAME, path.get().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = blobStore.open(download.storageKey())) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    throw new IOException("Blob " + download.storageKey() + " is shorter than its recorded size");
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * A conditional range only applies while the client's copy is still current
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(etag);
+    }
+}
@@ -0,0 +1,167 @@
+package com.synq.backend.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reference counts of content-addressed blobs, kept in the blobs table.
+ * A blob file is only ever created or deleted while its row is locked: storing takes the lock by
+ * incrementing the count, collecting takes it by upserting a zero row. So a blob whose count is
+ * above zero in a committed transaction always exists on disk, and an upload that finds an
+ * identical blob can safely skip storing its own copy.
+ */
+@Component
+@Slf4j
+public class BlobRegistry {
+
+    private static final String ACQUIRE_SQL = "INSERT INTO blobs (storage_key, size_bytes, ref_count) VALUES (?, ?, 1) " +
+            "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1";
+    private static final String ACQUIRE_EXISTING_SQL = "UPDATE blobs SET ref_count = ref_count + 1 " +
+            "WHERE storage_key = ? AND size_bytes = ? AND ref_count > 0";
+    private static final String RELEASE_SQL = "UPDATE blobs SET ref_count = ref_count - 1 WHERE storage_key = ? AND ref_count > 0";
+    private static final String LOCK_SQL = "INSERT INTO blobs (storage_key, size_bytes, ref_count) VALUES (?, 0, 0) " +
+            "ON DUPLICATE KEY UPDATE ref_count = ref_count";
+    private static final String REF_COUNT_SQL = "SELECT ref_count FROM blobs WHERE storage_key = ?";
+    private static final String LOCK_REFERENCED_SQL = "SELECT ref_count FROM blobs WHERE storage_key = ? FOR UPDATE";
+    private static final String REMOVE_SQL = "DELETE FROM blobs WHERE storage_key = ? AND ref_count = 0";
+    private static final String UNREFERENCED_SQL = "SELECT storage_key FROM blobs WHERE ref_count = 0 LIMIT ?";
+    private static final int COLLECT_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlobStore blobStore;
+    private final ThumbnailStore thumbnailStore;
+    private final TransactionTemplate collectTransaction;
+
+    public BlobRegistry(JdbcTemplate jdbcTemplate, BlobStore blobStore, ThumbnailStore thumbnailStore,
+                        PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blobStore = blobStore;
+        this.thumbnailStore = thumbnailStore;
+        // Collection runs after the caller's transaction completed, so it needs one of its own
+        this.collectTransaction = new TransactionTemplate(transactionManager);
+        this.collectTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Take a reference to staged content in the caller's transaction, storing it unless an identical
+     * blob is already stored. Returns the storage key
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String acquire(StagedBlob staged) {
+        String key = staged.sha256();
+        jdbcTemplate.update(ACQUIRE_SQL, key, staged.sizeBytes());
+        try {
+            blobStore.store(staged);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // A file stored for a reference that never commits must not be left behind
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    collect(key);
+                }
+            }
+        });
+        return key;
+    }
+
+    /**
+     * Take a reference to already stored content by hash and size, without its bytes.
+     * Returns false when no such blob is stored
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean acquireExisting(String sha256, long sizeBytes) {
+        return jdbcTemplate.update(ACQUIRE_EXISTING_SQL, sha256, sizeBytes) > 0;
+    }
+
+    /**
+     * Lock a blob's row until the caller's transaction ends, so it cannot be collected meanwhile.
+     * Returns false when nothing references the blob, i.e. it is collected or about to be
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean lockReferenced(String key) {
+        List<Integer> refCount = jdbcTemplate.queryForList(LOCK_REFERENCED_SQL, Integer.class, key);
+        return !refCount.isEmpty() && refCount.get(0) > 0;
+    }
+
+    /**
+     * Drop a reference in the caller's transaction; the blob is deleted after commit if it was the last one
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(String key) {
+        jdbcTemplate.update(RELEASE_SQL, key);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                collect(key);
+            }
+        });
+    }
+
+    /**
+     * Drop one reference per key, e.g. for every attachment removed in bulk
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseAll(Collection<String> keys) {
+        keys.forEach(this::release);
+    }
+
+    /**
+     * Delete a blob, its thumbnails and its row if nothing references it
+     */
+    public void collect(String key) {
+        try {
+            collectTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.update(LOCK_SQL, key);
+                Integer refCount = jdbcTemplate.queryForObject(REF_COUNT_SQL, Integer.class, key);
+                if (refCount != null && refCount == 0) {
+                    try {
+                        blobStore.delete(key);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    thumbnailStore.deleteAll(key);
+                    jdbcTemplate.update(REMOVE_SQL, key);
+                }
+            });
+        } catch (UncheckedIOException | DataAccessException e) {
+            log.warn("Failed to collect blob {}, retrying on the next sweep", key, e);
+        }
+    }
+
+    /**
+     * Collect blobs whose last reference went away without being collected, e.g. on a crash
+     */
+    @Scheduled(fixedDelayString = "${synq.storage.blob-collect-interval:1h}")
+    public void collectUnreferenced() {
+        List<String> keys;
+        try {
+            keys = jdbcTemplate.queryForList(UNREFERENCED_SQL, String.class, COLLECT_BATCH_SIZE);
+        } catch (DataAccessException e) {
+            log.error("Failed to list unreferenced blobs", e);
+            return;
+        }
+        keys.forEach(this::collect);
+        if (!keys.isEmpty()) {
+            log.info("Collected up to {} unreferenced blobs", keys.size());
+        }
+    }
+}
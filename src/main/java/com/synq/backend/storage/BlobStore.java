@@ -0,0 +1,53 @@
+package com.synq.backend.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for attachment content: a blob's key is the hex SHA-256 of its bytes.
+ * Content is first staged and hashed, then stored under its hash unless an identical blob already
+ * exists. Reads are exposed as FileChannels so downloads can be transferred without copying
+ * through the heap. Reference counting lives in BlobRegistry; this interface only moves bytes.
+ */
+public interface BlobStore {
+
+    /**
+     * Stream a source to a staging file, computing its size and SHA-256 on the way.
+     * Fails with 413 once more than maxBytes were read; nothing is kept on failure
+     */
+    StagedBlob stage(ReadableByteChannel source, long maxBytes) throws IOException;
+
+    /**
+     * Hash a complete local file in place so it can be stored like a streamed upload
+     */
+    StagedBlob stage(Path file) throws IOException;
+
+    /**
+     * Store staged content under its SHA-256, keeping an identical blob that is already stored.
+     * The staging file is consumed either way
+     */
+    void store(StagedBlob staged) throws IOException;
+
+    /**
+     * Drop staged content that will not be stored; discarding consumed content is a no-op
+     */
+    void discard(StagedBlob staged);
+
+    /**
+     * Open a blob for reading; the caller closes the channel
+     */
+    FileChannel open(String key) throws IOException;
+
+    /**
+     * Path of a blob on the local filesystem, empty when the store does not keep blobs locally
+     */
+    Optional<Path> localPath(String key);
+
+    /**
+     * Remove a blob; removing a missing blob is not an error
+     */
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,184 @@
+package com.synq.backend.storage;
+
+import com.synq.backend.config.StorageProperties;
+import com.synq.backend.exceptions.EndpointException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Blob store on the local filesystem.
+ * Uploads are transferred into a staging file with FileChannel.transferFrom while being hashed,
+ * and stored by renaming the staging file to its hash, so a blob is either fully present or
+ * absent. Blobs are spread over two levels of directories by key prefix to keep directory sizes
+ * small. Staged files must live on the same filesystem as the root so storing stays a rename.
+ */
+@Component
+@Slf4j
+public class LocalFileBlobStore implements BlobStore {
+
+    /**
+     * SHA-256 keys; random 32-digit keys predate content addressing
+     */
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{32,64}");
+    private static final String TEMP_DIR = "tmp";
+    private static final int DIGEST_BUFFER_SIZE = 1024 * 1024;
+
+    private final Path root;
+    private final Path tempDir;
+    private final long transferChunkSize;
+
+    public LocalFileBlobStore(StorageProperties properties) throws IOException {
+        this.root = Path.of(properties.getRootPath()).toAbsolutePath();
+        this.tempDir = root.resolve(TEMP_DIR);
+        this.transferChunkSize = Math.max(1, properties.getTransferChunkSize().toBytes());
+        Files.createDirectories(tempDir);
+        log.info("Storing blobs under {}", root);
+    }
+
+    @Override
+    public StagedBlob stage(ReadableByteChannel source, long maxBytes) throws IOException {
+        Path temp = tempDir.resolve(UUID.randomUUID() + ".part");
+        MessageDigest digest = sha256();
+        DigestingChannel digesting = new DigestingChannel(source, digest);
+
+        long size = 0;
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (!digesting.isEndOfStream()) {
+                // Ask for one byte past the limit so an oversized upload is detected without reading it all
+                long count = Math.min(transferChunkSize, maxBytes + 1 - size);
+                size += out.transferFrom(digesting, size, count);
+                if (size > maxBytes) {
+                    throw new EndpointException("Attachment exceeds the maximum upload size", HttpStatus.PAYLOAD_TOO_LARGE);
+                }
+            }
+            out.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return new StagedBlob(temp, size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    @Override
+    public StagedBlob stage(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(DIGEST_BUFFER_SIZE);
+            while (in.read(buffer) >= 0) {
+                digest.update(buffer.flip());
+                buffer.clear();
+            }
+            return new StagedBlob(file, in.size(), HexFormat.of().formatHex(digest.digest()));
+        }
+    }
+
+    @Override
+    public void store(StagedBlob staged) throws IOException {
+        Path target = resolve(staged.sha256());
+        if (Files.exists(target)) {
+            // Identical content is already stored; the upload short-circuits to it
+            Files.deleteIfExists(staged.file());
+            return;
+        }
+
+        Files.createDirectories(target.getParent());
+        Files.move(staged.file(), target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void discard(StagedBlob staged) {
+        try {
+            Files.deleteIfExists(staged.file());
+        } catch (IOException e) {
+            log.warn("Failed to delete staged blob {}", staged.file(), e);
+        }
+    }
+
+    @Override
+    public FileChannel open(String key) throws IOException {
+        return FileChannel.open(resolve(key), StandardOpenOption.READ);
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Path resolve(String key) {
+        // Keys come from the database, but never let one escape the root
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    /**
+     * Feeds every byte read from the source into a SHA-256 digest and remembers end of stream
+     */
+    private static final class DigestingChannel implements ReadableByteChannel {
+
+        private final ReadableByteChannel source;
+        private final MessageDigest digest;
+        private boolean endOfStream;
+
+        private DigestingChannel(ReadableByteChannel source, MessageDigest digest) {
+            this.source = source;
+            this.digest = digest;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int start = dst.position();
+            int read = source.read(dst);
+            if (read < 0) {
+                endOfStream = true;
+            } else if (read > 0) {
+                digest.update(dst.duplicate().position(start).limit(start + read));
+            }
+            return read;
+        }
+
+        boolean isEndOfStream() {
+            return endOfStream;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return source.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            source.close();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.synq.backend.storage;
+
+import java.nio.file.Path;
+
+/**
+ * Content waiting in a local staging file to be stored: its size and the hex SHA-256 it will be keyed by
+ */
+public record StagedBlob(Path file, long sizeBytes, String sha256) {
+}
@@ -0,0 +1,269 @@
+package com.synq.backend.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.synq.backend.config.ThumbnailProperties;
+import com.synq.backend.event.AttachmentStoredEvent;
+import com.synq.backend.repository.AttachmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates thumbnails of image attachments in the background.
+ * Stored images are queued once their attachment commits, so uploads never wait for decoding.
+ * Work is keyed by blob: content already queued or running is not queued again, content whose
+ * thumbnails exist is only linked, and one run links every attachment sharing the content. The
+ * queue is bounded; images that do not fit, or were stored while the node was down, are picked
+ * up by a periodic backfill of image attachments that still have no thumbnail. Thumbnails are
+ * linked while the blob's row is locked, so a blob collected mid-generation leaves none behind.
+ */
+@Component
+@Slf4j
+public class ThumbnailGenerator {
+
+    private final BlobStore blobStore;
+    private final BlobRegistry blobRegistry;
+    private final ThumbnailStore thumbnailStore;
+    private final AttachmentRepository attachmentRepository;
+    private final ThumbnailProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Content that could not be decoded, skipped by the backfill until the entry expires
+     */
+    private final Cache<String, Boolean> failedKeys;
+
+    private final Timer generationTimer;
+    private final Counter generated;
+    private final Counter reused;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter failed;
+
+    /**
+     * Backfill position, only touched by the scheduler thread
+     */
+    private String backfillAfter = "";
+
+    public ThumbnailGenerator(BlobStore blobStore, BlobRegistry blobRegistry, ThumbnailStore thumbnailStore,
+                              AttachmentRepository attachmentRepository, ThumbnailProperties properties,
+                              TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.blobStore = blobStore;
+        this.blobRegistry = blobRegistry;
+        this.thumbnailStore = thumbnailStore;
+        this.attachmentRepository = attachmentRepository;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+
+        int threads = Math.max(1, properties.getThreads());
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.failedKeys = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofDays(1))
+                .maximumSize(10_000)
+                .build();
+
+        this.generationTimer = meterRegistry.timer("synq.thumbnails.generation");
+        this.generated = meterRegistry.counter("synq.thumbnails.jobs", "outcome", "generated");
+        this.reused = meterRegistry.counter("synq.thumbnails.jobs", "outcome", "reused");
+        this.coalesced = meterRegistry.counter("synq.thumbnails.jobs", "outcome", "coalesced");
+        this.rejected = meterRegistry.counter("synq.thumbnails.jobs", "outcome", "rejected");
+        this.failed = meterRegistry.counter("synq.thumbnails.jobs", "outcome", "failed");
+        meterRegistry.gauge("synq.thumbnails.queue.depth", executor, pool -> pool.getQueue().size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAttachmentStored(AttachmentStoredEvent event) {
+        if (properties.isEnabled() && isDecodableImage(event.mimeType())) {
+            submit(event.storageKey());
+        }
+    }
+
+    /**
+     * Queue thumbnail generation for a blob; returns false when the queue is full
+     */
+    public boolean submit(String storageKey) {
+        if (!pending.add(storageKey)) {
+            coalesced.increment();
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(storageKey);
+                } finally {
+                    pending.remove(storageKey);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.remove(storageKey);
+            rejected.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Make any missing thumbnail sizes of a blob and link them to its attachments.
+     * Runs on the worker pool; callable directly to generate synchronously
+     */
+    public void generate(String storageKey) {
+        try {
+            if (thumbnailStore.hasAll(storageKey)) {
+                reused.increment();
+            } else {
+                Timer.Sample sample = Timer.start();
+                render(storageKey);
+                sample.stop(generationTimer);
+                generated.increment();
+            }
+            Integer linked = transactionTemplate.execute(status -> link(storageKey));
+            log.debug("Linked thumbnails of blob {} to {} attachments", storageKey, linked);
+        } catch (IOException | RuntimeException e) {
+            failedKeys.put(storageKey, Boolean.TRUE);
+            failed.increment();
+            log.warn("Failed to generate thumbnails of blob {}", storageKey, e);
+        }
+    }
+
+    /**
+     * Queue image attachments that still have no thumbnail, walking the blob keys in order across runs
+     */
+    @Scheduled(fixedDelayString = "${synq.thumbnails.backfill-interval:10m}")
+    public void backfill() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int batchSize = Math.max(1, properties.getBackfillBatchSize());
+        List<String> keys;
+        try {
+            keys = attachmentRepository.findStorageKeysMissingThumbnails(backfillAfter, Limit.of(batchSize));
+        } catch (DataAccessException e) {
+            log.error("Failed to list attachments without thumbnails", e);
+            return;
+        }
+
+        // Start over after the last key; images that failed or did not fit are retried on a later pass
+        backfillAfter = keys.size() < batchSize ? "" : keys.get(keys.size() - 1);
+        int queued = 0;
+        for (String key : keys) {
+            if (failedKeys.getIfPresent(key) != null) {
+                continue;
+            }
+            if (!submit(key)) {
+                break;
+            }
+            queued++;
+        }
+        if (queued > 0) {
+            log.info("Queued thumbnails of {} stored images", queued);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Link the thumbnails under the blob's row lock. A blob collected while they were being made
+     * has already had its thumbnails deleted, so the ones written since are removed here instead
+     */
+    private int link(String storageKey) {
+        if (!blobRegistry.lockReferenced(storageKey)) {
+            thumbnailStore.deleteAll(storageKey);
+            return 0;
+        }
+        return attachmentRepository.setThumbnailUrls(storageKey);
+    }
+
+    private void render(String storageKey) throws IOException {
+        List<Integer> sizes = thumbnailStore.sizes();
+        if (sizes.isEmpty()) {
+            return;
+        }
+
+        BufferedImage image;
+        try (ImageInputStream input = openImage(storageKey)) {
+            image = ThumbnailRenderer.decode(input, sizes.get(sizes.size() - 1), properties.getMaxDecodedPixels());
+        }
+
+        // Largest first, each size scaled from the previous one
+        for (int i = sizes.size() - 1; i >= 0; i--) {
+            image = ThumbnailRenderer.scale(image, sizes.get(i));
+            thumbnailStore.write(storageKey, sizes.get(i), image);
+        }
+    }
+
+    private ImageInputStream openImage(String storageKey) throws IOException {
+        Optional<Path> path = blobStore.localPath(storageKey);
+        if (path.isPresent()) {
+            // Random access straight from the file, without ImageIO copying the stream to a cache
+            return new FileImageInputStream(path.get().toFile());
+        }
+        InputStream in = Channels.newInputStream(blobStore.open(storageKey));
+        return new MemoryCacheImageInputStream(in) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    in.close();
+                }
+            }
+        };
+    }
+
+    private static boolean isDecodableImage(String mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(mimeType);
+            return "image".equals(mediaType.getType())
+                    && ImageIO.getImageReadersByMIMEType(mediaType.getType() + "/" + mediaType.getSubtype()).hasNext();
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.synq.backend.storage;
+
+import com.synq.backend.config.StorageProperties;
+import com.synq.backend.config.ThumbnailProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.stream.FileImageOutputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Thumbnails of stored blobs on the local filesystem, one JPEG per configured size.
+ * Thumbnails are keyed by the blob they were made from, so attachments sharing content share
+ * their thumbnails as well, and they are removed when the blob is collected.
+ */
+@Component
+@Slf4j
+public class ThumbnailStore {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{32,64}");
+    private static final String THUMBNAILS_DIR = "thumbnails";
+    private static final String TEMP_DIR = "tmp";
+    private static final String SUFFIX = ".jpg";
+
+    private final Path dir;
+    private final Path tempDir;
+    private final List<Integer> sizes;
+    private final float jpegQuality;
+
+    public ThumbnailStore(StorageProperties storageProperties, ThumbnailProperties properties) throws IOException {
+        Path root = Path.of(storageProperties.getRootPath()).toAbsolutePath();
+        this.dir = root.resolve(THUMBNAILS_DIR);
+        // Shared with the blob store, so finished thumbnails are published with a rename
+        this.tempDir = root.resolve(TEMP_DIR);
+        this.sizes = properties.getSizes().stream()
+                .filter(size -> size != null && size > 0)
+                .distinct()
+                .sorted()
+                .toList();
+        this.jpegQuality = properties.getJpegQuality();
+        Files.createDirectories(dir);
+        Files.createDirectories(tempDir);
+    }
+
+    /**
+     * Configured sizes, smallest first
+     */
+    public List<Integer> sizes() {
+        return sizes;
+    }
+
+    /**
+     * Whether every configured size of a blob's thumbnails exists
+     */
+    public boolean hasAll(String key) {
+        return sizes.stream().allMatch(size -> Files.exists(path(key, size)));
+    }
+
+    /**
+     * Write one size of a blob's thumbnails, replacing any previous one atomically
+     */
+    public void write(String key, int size, BufferedImage image) throws IOException {
+        Path target = path(key, size);
+        Path temp = tempDir.resolve(UUID.randomUUID() + SUFFIX);
+        try {
+            try (ImageOutputStream output = new FileImageOutputStream(temp.toFile())) {
+                ThumbnailRenderer.writeJpeg(image, output, jpegQuality);
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The smallest thumbnail at least as large as requested, or the largest one; the smallest without a request.
+     * Empty for a key that cannot name a blob, such as the missing key of a legacy attachment
+     */
+    public Optional<Path> find(String key, Integer requestedSize) {
+        if (sizes.isEmpty() || !isValidKey(key)) {
+            return Optional.empty();
+        }
+        int size = sizes.stream()
+                .filter(candidate -> requestedSize == null || candidate >= requestedSize)
+                .findFirst()
+                .orElse(sizes.get(sizes.size() - 1));
+        Path path = path(key, size);
+        return Files.exists(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * Remove every size of a blob's thumbnails; missing ones are not an error
+     */
+    public void deleteAll(String key) {
+        for (Integer size : sizes) {
+            try {
+                Files.deleteIfExists(path(key, size));
+            } catch (IOException e) {
+                log.warn("Failed to delete {}px thumbnail of blob {}", size, key, e);
+            }
+        }
+    }
+
+    private Path path(String key, int size) {
+        // Same layout and key check as the blob store, under a separate directory
+        if (!isValidKey(key)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return dir.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key + "-" + size + SUFFIX);
+    }
+
+    private static boolean isValidKey(String key) {
+        return key != null && KEY_PATTERN.matcher(key).matches();
+    }
+}
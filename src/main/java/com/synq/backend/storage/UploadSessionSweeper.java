@@ -0,0 +1,83 @@
+package com.synq.backend.storage;
+
+import com.synq.backend.config.StorageProperties;
+import com.synq.backend.repository.UploadSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Garbage-collects abandoned resumable uploads.
+ * Expired sessions are removed together with their staging files; staging files left without a
+ * session, e.g. after the message was deleted and the session cascaded away, go once they are stale.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UploadSessionSweeper {
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UploadStaging uploadStaging;
+    private final StorageProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${synq.storage.upload-sweep-interval:15m}")
+    public void sweep() {
+        try {
+            int expired = sweepExpiredSessions();
+            int orphaned = sweepOrphanedFiles();
+            if (expired > 0 || orphaned > 0) {
+                log.info("Swept {} expired upload sessions and {} orphaned staging files", expired, orphaned);
+            }
+        } catch (IOException | DataAccessException e) {
+            log.error("Failed to sweep abandoned upload sessions", e);
+        }
+    }
+
+    private int sweepExpiredSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        int batchSize = Math.max(1, properties.getUploadSweepBatchSize());
+        int swept = 0;
+        List<Long> expired;
+        do {
+            expired = uploadSessionRepository.findExpiredIds(now, Limit.of(batchSize));
+            for (Long sessionId : expired) {
+                // A chunk may have extended the session since it was listed
+                Integer deleted = transactionTemplate.execute(status -> uploadSessionRepository.deleteIfExpired(sessionId, now));
+                if (deleted != null && deleted > 0) {
+                    uploadStaging.delete(sessionId);
+                    swept++;
+                }
+            }
+        } while (expired.size() == batchSize);
+        return swept;
+    }
+
+    private int sweepOrphanedFiles() throws IOException {
+        List<Long> stale = uploadStaging.findStaleSessionIds(Instant.now().minus(properties.getUploadSessionTtl()));
+        if (stale.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> existing = new HashSet<>(uploadSessionRepository.findExistingIds(stale));
+        int swept = 0;
+        for (Long sessionId : stale) {
+            if (!existing.contains(sessionId)) {
+                uploadStaging.delete(sessionId);
+                swept++;
+            }
+        }
+        return swept;
+    }
+}
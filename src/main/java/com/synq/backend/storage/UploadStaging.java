@@ -0,0 +1,117 @@
+package com.synq.backend.storage;
+
+import com.synq.backend.config.StorageProperties;
+import com.synq.backend.exceptions.EndpointException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Staging files of resumable uploads, one per upload session, kept under the blob store root so
+ * a finished file can be adopted into the store with a rename.
+ * Each file is sized to the full upload when the session starts, because FileChannel only
+ * transfers into positions inside the file; chunks can then arrive in any order and a retried
+ * chunk simply overwrites the same region.
+ */
+@Component
+@Slf4j
+public class UploadStaging {
+
+    private static final String UPLOADS_DIR = "uploads";
+    private static final String SUFFIX = ".upload";
+
+    private final Path dir;
+    private final long transferChunkSize;
+
+    public UploadStaging(StorageProperties properties) throws IOException {
+        this.dir = Path.of(properties.getRootPath()).toAbsolutePath().resolve(UPLOADS_DIR);
+        this.transferChunkSize = Math.max(1, properties.getTransferChunkSize().toBytes());
+        Files.createDirectories(dir);
+    }
+
+    /**
+     * Create the staging file of a session at its final length
+     */
+    public void create(Long sessionId, long size) throws IOException {
+        // Sparse on most filesystems, so check up front that the whole upload can land
+        if (Files.getFileStore(dir).getUsableSpace() < size) {
+            throw new EndpointException("Not enough storage for this upload", HttpStatus.INSUFFICIENT_STORAGE);
+        }
+        try (FileChannel channel = FileChannel.open(path(sessionId), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            if (size > 0) {
+                channel.write(ByteBuffer.allocate(1), size - 1);
+            }
+        }
+    }
+
+    /**
+     * Write up to count bytes from the source at a position of the staging file; returns the bytes written
+     */
+    public long write(Long sessionId, long position, ReadableByteChannel source, long count) throws IOException {
+        try (FileChannel out = FileChannel.open(path(sessionId), StandardOpenOption.WRITE)) {
+            long written = 0;
+            while (written < count) {
+                long transferred = out.transferFrom(source, position + written, Math.min(transferChunkSize, count - written));
+                if (transferred == 0) {
+                    break;
+                }
+                written += transferred;
+            }
+            out.force(false);
+            return written;
+        } catch (NoSuchFileException e) {
+            throw new EndpointException("Upload session not found", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Path of a session's staging file
+     */
+    public Path path(Long sessionId) {
+        return dir.resolve(sessionId + SUFFIX);
+    }
+
+    /**
+     * Remove a session's staging file; a missing file is not an error
+     */
+    public void delete(Long sessionId) {
+        try {
+            Files.deleteIfExists(path(sessionId));
+        } catch (IOException e) {
+            log.warn("Failed to delete staging file of upload session {}", sessionId, e);
+        }
+    }
+
+    /**
+     * Sessions whose staging file was last written before the cutoff
+     */
+    public List<Long> findStaleSessionIds(Instant cutoff) throws IOException {
+        List<Long> sessionIds = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                        sessionIds.add(Long.valueOf(name.substring(0, name.length() - SUFFIX.length())));
+                    }
+                } catch (NoSuchFileException | NumberFormatException e) {
+                    // Removed meanwhile, or not ours
+                }
+            }
+        }
+        return sessionIds;
+    }
+}
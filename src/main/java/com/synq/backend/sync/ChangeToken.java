@@ -0,0 +1,36 @@
+package com.synq.backend.sync;
+
+import com.synq.backend.exceptions.EndpointException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque delta sync position: the last change log sequence number a client has applied
+ */
+public record ChangeToken(long changeSeq) {
+
+    private static final String PREFIX = "c";
+
+    public String encode() {
+        String raw = PREFIX + changeSeq;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException(raw);
+            }
+            long changeSeq = Long.parseLong(raw.substring(PREFIX.length()));
+            if (changeSeq < 0) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new ChangeToken(changeSeq);
+        } catch (RuntimeException e) {
+            throw new EndpointException("Invalid change token", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.synq.backend.sync;
+
+import com.synq.backend.config.ChangeLogProperties;
+import com.synq.backend.enums.MessageEventType;
+import com.synq.backend.event.MessageEvent;
+import com.synq.backend.repository.projection.MessageChangeRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Append-only log of message inserts, edits and deletes per frequency, read by delta sync.
+ * Entries are appended right before the writing transaction commits: advancing
+ * frequencies.last_change_seq holds the frequency row lock only for the commit itself, and
+ * makes the changes of one frequency commit in change_seq order, so a reader that sees
+ * change N has also seen every change below it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MessageChangeLog {
+
+    private static final String ADVANCE_SQL = "UPDATE frequencies SET last_change_seq = last_change_seq + 1 WHERE id = ?";
+    private static final String APPEND_SQL = "INSERT INTO message_changes " +
+            "(frequency_id, change_seq, message_id, change_type, created_at) " +
+            "SELECT id, last_change_seq, ?, ?, ? FROM frequencies WHERE id = ?";
+    private static final String SINCE_SQL = "SELECT change_seq, message_id, change_type FROM message_changes " +
+            "WHERE frequency_id = ? AND change_seq > ? ORDER BY change_seq LIMIT ?";
+    private static final String OLDEST_SQL = "SELECT MIN(change_seq) FROM message_changes WHERE frequency_id = ?";
+    private static final String PRUNE_SQL = "DELETE FROM message_changes WHERE created_at < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeLogProperties properties;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onMessageEvent(MessageEvent event) {
+        jdbcTemplate.update(ADVANCE_SQL, event.frequencyId());
+        jdbcTemplate.update(APPEND_SQL, event.message().id(), event.type().name(), LocalDateTime.now(),
+                event.frequencyId());
+    }
+
+    /**
+     * Changes of a frequency after changeSeq, oldest first
+     */
+    public List<MessageChangeRow> findSince(Long frequencyId, long changeSeq, int limit) {
+        return jdbcTemplate.query(SINCE_SQL, (rs, rowNum) -> new MessageChangeRow(
+                rs.getLong("change_seq"),
+                rs.getLong("message_id"),
+                MessageEventType.valueOf(rs.getString("change_type"))
+        ), frequencyId, changeSeq, limit);
+    }
+
+    /**
+     * Oldest change of a frequency still retained, empty when everything was pruned
+     */
+    public Optional<Long> findOldestChangeSeq(Long frequencyId) {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(OLDEST_SQL, Long.class, frequencyId));
+    }
+
+    @Scheduled(fixedDelayString = "${synq.change-log.prune-interval:1h}")
+    public void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        int batchSize = Math.max(1, properties.getPruneBatchSize());
+        long pruned = 0;
+        try {
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(PRUNE_SQL, cutoff, batchSize);
+                pruned += deleted;
+            } while (deleted == batchSize);
+        } catch (DataAccessException e) {
+            log.error("Failed to prune message changes older than {}", cutoff, e);
+        }
+
+        if (pruned > 0) {
+            log.info("Pruned {} message changes older than {}", pruned, cutoff);
+        }
+    }
+}
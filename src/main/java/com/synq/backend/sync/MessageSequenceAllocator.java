@@ -0,0 +1,32 @@
+package com.synq.backend.sync;
+
+import com.synq.backend.exceptions.EndpointException;
+import com.synq.backend.repository.FrequencyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Assigns per-frequency message sequence numbers inside the posting transaction.
+ * Advancing frequencies.last_message_seq holds the frequency row lock until commit, like the
+ * change log does, so posts to one frequency commit in sequence order and a rolled back post
+ * gives its number back: numbers are dense, and a client that sees N has seen everything below.
+ * Callers take the number as late as possible to keep the lock short.
+ * The price is that posts to one frequency commit one at a time, so a single frequency's post rate
+ * is bounded by commit latency; MessageSequenceAllocatorIntegrationTest logs it against the same
+ * load spread over many frequencies.
+ */
+@Component
+@RequiredArgsConstructor
+public class MessageSequenceAllocator {
+
+    private final FrequencyRepository frequencyRepository;
+
+    public long next(Long frequencyId) {
+        if (frequencyRepository.advanceMessageSeq(frequencyId) == 0) {
+            throw new EndpointException("Frequency not found", HttpStatus.NOT_FOUND);
+        }
+        return frequencyRepository.findLastMessageSeqById(frequencyId)
+                .orElseThrow(() -> new EndpointException("Frequency not found", HttpStatus.NOT_FOUND));
+    }
+}
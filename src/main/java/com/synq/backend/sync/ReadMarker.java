@@ -0,0 +1,14 @@
+package com.synq.backend.sync;
+
+/**
+ * Position a member has read up to in a frequency
+ */
+public record ReadMarker(
+        Long messageId,
+        long seq
+) {
+
+    public static ReadMarker furthest(ReadMarker a, ReadMarker b) {
+        return a.seq() >= b.seq() ? a : b;
+    }
+}
@@ -0,0 +1,116 @@
+package com.synq.backend.sync;
+
+import com.synq.backend.config.ReadMarkerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces read marker advances in memory and writes them behind in JDBC batches.
+ * Rapid scrolling only moves the pending marker forward; each flush writes at most one
+ * row per membership, and a marker is never moved backwards.
+ */
+@Component
+@Slf4j
+public class ReadMarkerWriteBehind {
+
+    private static final String UPDATE_SQL = "UPDATE memberships SET last_read_message_id = ?, last_read_seq = ? " +
+            "WHERE user_id = ? AND frequency_id = ? AND last_read_seq < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadMarkerProperties properties;
+    private final Map<Key, ReadMarker> pending = new ConcurrentHashMap<>();
+    private final Counter recorded;
+    private final Counter coalesced;
+    private final Counter written;
+
+    private record Key(Long userId, Long frequencyId) {
+    }
+
+    public ReadMarkerWriteBehind(JdbcTemplate jdbcTemplate, ReadMarkerProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.recorded = meterRegistry.counter("synq.read_markers.updates", "outcome", "recorded");
+        this.coalesced = meterRegistry.counter("synq.read_markers.updates", "outcome", "coalesced");
+        this.written = meterRegistry.counter("synq.read_markers.updates", "outcome", "written");
+        meterRegistry.gaugeMapSize("synq.read_markers.pending", List.of(), pending);
+    }
+
+    /**
+     * Advance a member's read marker; it reaches the database on the next flush
+     */
+    public void advance(Long userId, Long frequencyId, ReadMarker marker) {
+        Key key = new Key(userId, frequencyId);
+        if (pending.putIfAbsent(key, marker) == null) {
+            recorded.increment();
+            return;
+        }
+
+        pending.merge(key, marker, ReadMarker::furthest);
+        coalesced.increment();
+    }
+
+    /**
+     * Write a member's read marker right away, in the caller's transaction, never moving it backwards.
+     * Used where the caller writes anyway and the marker must roll back with it, like a member's own post
+     */
+    public void writeThrough(Long userId, Long frequencyId, ReadMarker marker) {
+        jdbcTemplate.update(UPDATE_SQL, marker.messageId(), marker.seq(), userId, frequencyId, marker.seq());
+    }
+
+    /**
+     * Marker recorded but not yet written, so reads can overlay it on the persisted one
+     */
+    public Optional<ReadMarker> pending(Long userId, Long frequencyId) {
+        return Optional.ofNullable(pending.get(new Key(userId, frequencyId)));
+    }
+
+    @Scheduled(fixedDelayString = "${synq.read-markers.flush-interval:5s}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Key, ReadMarker>> drained = new ArrayList<>(pending.size());
+        for (Map.Entry<Key, ReadMarker> entry : pending.entrySet()) {
+            // Only take the value we saw, so an advance recorded meanwhile stays pending
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                drained.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        int batchSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < drained.size(); from += batchSize) {
+            List<Map.Entry<Key, ReadMarker>> batch = drained.subList(from, Math.min(from + batchSize, drained.size()));
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, entry) -> {
+                    ps.setLong(1, entry.getValue().messageId());
+                    ps.setLong(2, entry.getValue().seq());
+                    ps.setLong(3, entry.getKey().userId());
+                    ps.setLong(4, entry.getKey().frequencyId());
+                    ps.setLong(5, entry.getValue().seq());
+                });
+                written.increment(batch.size());
+            } catch (DataAccessException e) {
+                log.error("Failed to write {} read markers, retrying on next flush", batch.size(), e);
+                batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), ReadMarker::furthest));
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
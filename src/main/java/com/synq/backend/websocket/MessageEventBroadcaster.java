@@ -0,0 +1,42 @@
+package com.synq.backend.websocket;
+
+import com.synq.backend.dto.response.DeletedMessageDto;
+import com.synq.backend.dto.response.MessageDto;
+import com.synq.backend.enums.MessageEventType;
+import com.synq.backend.event.MessageEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes committed message events to every session subscribed to the frequency topic.
+ * Deletions carry only the message id, frequency and deletion time, never the removed content.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MessageEventBroadcaster {
+
+    public static final String FREQUENCY_TOPIC_PREFIX = "/topic/frequencies/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageEvent(MessageEvent event) {
+        log.debug("Broadcasting {} for message {} to frequency {}",
+                event.type(), event.message().id(), event.frequencyId());
+        messagingTemplate.convertAndSend(FREQUENCY_TOPIC_PREFIX + event.frequencyId(), frameOf(event));
+    }
+
+    private static MessageEventFrame<?> frameOf(MessageEvent event) {
+        MessageDto message = event.message();
+        if (event.type() == MessageEventType.DELETED) {
+            return new MessageEventFrame<>(event.type(), event.frequencyId(),
+                    new DeletedMessageDto(message.id(), message.frequencyId(), message.deletedAt()));
+        }
+        return new MessageEventFrame<>(event.type(), event.frequencyId(), message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.synq.backend.websocket;
+
+import com.synq.backend.enums.MessageEventType;
+
+/**
+ * Payload sent to frequency subscribers: the event type and the message, or for a deletion only its tombstone
+ */
+public record MessageEventFrame<T>(
+        MessageEventType type,
+        Long frequencyId,
+        T message
+) {
+}
@@ -0,0 +1,95 @@
+package com.synq.backend.websocket;
+
+import com.synq.backend.exceptions.EndpointException;
+import com.synq.backend.security.AuthenticatedUser;
+import com.synq.backend.security.CurrentUserResolver;
+import com.synq.backend.service.FrequencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+/**
+ * Authenticates STOMP CONNECT frames with the Keycloak bearer token and
+ * authorizes SUBSCRIBE frames against frequency access rules.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtDecoder jwtDecoder;
+    private final JwtAuthenticationConverter jwtAuthenticationConverter;
+    private final CurrentUserResolver currentUserResolver;
+    private final FrequencyService frequencyService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            accessor.setUser(authenticate(accessor.getFirstNativeHeader("Authorization")));
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            authorizeSubscription(accessor.getUser(), accessor.getDestination());
+        }
+
+        return message;
+    }
+
+    private Principal authenticate(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            throw new EndpointException("Missing bearer token", HttpStatus.UNAUTHORIZED);
+        }
+
+        try {
+            Jwt jwt = jwtDecoder.decode(authorization.substring(BEARER_PREFIX.length()));
+            AbstractAuthenticationToken authentication = jwtAuthenticationConverter.convert(jwt);
+            log.debug("STOMP session authenticated for subject {}", jwt.getSubject());
+            return authentication;
+        } catch (JwtException e) {
+            throw new EndpointException("Invalid bearer token", HttpStatus.UNAUTHORIZED);
+        }
+    }
+
+    private void authorizeSubscription(Principal principal, String destination) {
+        if (!(principal instanceof Authentication authentication)) {
+            throw new EndpointException("Not authenticated", HttpStatus.UNAUTHORIZED);
+        }
+
+        if (destination == null || !destination.startsWith(MessageEventBroadcaster.FREQUENCY_TOPIC_PREFIX)) {
+            throw new EndpointException("Unknown destination", HttpStatus.FORBIDDEN);
+        }
+
+        Long frequencyId;
+        try {
+            frequencyId = Long.valueOf(destination.substring(MessageEventBroadcaster.FREQUENCY_TOPIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new EndpointException("Unknown destination", HttpStatus.FORBIDDEN);
+        }
+
+        AuthenticatedUser user = currentUserResolver.resolve(authentication);
+
+        if (!frequencyService.canAccessFrequency(user.id(), frequencyId)) {
+            throw new EndpointException("Not allowed to subscribe to this frequency", HttpStatus.FORBIDDEN);
+        }
+    }
+}
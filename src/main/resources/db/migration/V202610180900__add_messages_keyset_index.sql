@@ -0,0 +1,3 @@
+-- Covering index for keyset pagination over active messages of a frequency
+CREATE INDEX idx_frequency_deleted_created_id
+    ON messages (frequency_id, deleted_at, created_at, id);
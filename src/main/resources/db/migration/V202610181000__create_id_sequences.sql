@@ -0,0 +1,25 @@
+-- Table-backed sequences replacing AUTO_INCREMENT so Hibernate can batch inserts.
+-- MySQL has no native sequences; Hibernate reads and advances next_val in its own transaction.
+-- With the pooled-lo optimizer next_val is the first id of the next block, so seed past existing rows.
+
+CREATE TABLE entity_id_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO entity_id_seq (next_val)
+SELECT GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM users),
+    (SELECT COALESCE(MAX(id), 0) FROM frequencies),
+    (SELECT COALESCE(MAX(id), 0) FROM memberships),
+    (SELECT COALESCE(MAX(id), 0) FROM messages),
+    (SELECT COALESCE(MAX(id), 0) FROM attachments),
+    (SELECT COALESCE(MAX(id), 0) FROM invites),
+    (SELECT COALESCE(MAX(id), 0) FROM roles)
+) + 1;
+
+CREATE TABLE audit_log_id_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO audit_log_id_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM audit_logs;
@@ -0,0 +1,36 @@
+-- Monthly range partitions on audit_logs.created_at.
+-- MySQL requires the partitioning column in every unique key, so the primary key becomes (id, created_at).
+-- Ids come from audit_log_id_seq, so AUTO_INCREMENT is dropped.
+-- AuditPartitionManager splits p_max to create upcoming months and drops months past retention.
+
+ALTER TABLE audit_logs
+    MODIFY id BIGINT NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+-- Time-bounded lookups: equality column first, then the range column
+ALTER TABLE audit_logs
+    DROP INDEX idx_actor_id,
+    DROP INDEX idx_action_type,
+    ADD INDEX idx_actor_created (actor_id, created_at),
+    ADD INDEX idx_action_created (action_type, created_at),
+    ADD INDEX idx_target_created (target_type, target_id, created_at);
+
+ALTER TABLE audit_logs
+        PARTITION BY RANGE COLUMNS (created_at) (
+        PARTITION p_history VALUES LESS THAN ('2025-12-01'),
+        PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+        PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+        PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+        PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+        PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+        PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+        PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+        PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+        PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+        PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+        PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+        PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+        PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+        PARTITION p_max VALUES LESS THAN (MAXVALUE)
+    );
@@ -0,0 +1,6 @@
+-- Denormalized member count so joins can enforce max_participants with one conditional UPDATE
+ALTER TABLE frequencies
+    ADD COLUMN member_count INT NOT NULL DEFAULT 0 AFTER max_participants;
+
+UPDATE frequencies f
+SET f.member_count = (SELECT COUNT(*) FROM memberships m WHERE m.frequency_id = f.id);
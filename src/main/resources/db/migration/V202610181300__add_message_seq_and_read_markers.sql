@@ -0,0 +1,21 @@
+-- Per-frequency message sequence numbers, backfilled in (created_at, id) order
+ALTER TABLE messages
+    ADD COLUMN seq BIGINT NULL AFTER frequency_id;
+
+UPDATE messages m
+    JOIN (SELECT id, ROW_NUMBER() OVER (PARTITION BY frequency_id ORDER BY created_at, id) AS rn
+          FROM messages) numbered ON numbered.id = m.id
+SET m.seq = numbered.rn;
+
+CREATE UNIQUE INDEX uk_messages_frequency_seq ON messages (frequency_id, seq);
+
+ALTER TABLE frequencies
+    ADD COLUMN last_message_seq BIGINT NOT NULL DEFAULT 0 AFTER member_count;
+
+UPDATE frequencies f
+SET f.last_message_seq = COALESCE((SELECT MAX(m.seq) FROM messages m WHERE m.frequency_id = f.id), 0);
+
+-- Read markers: unread count = frequencies.last_message_seq - memberships.last_read_seq
+ALTER TABLE memberships
+    ADD COLUMN last_read_message_id BIGINT NULL AFTER nickname,
+    ADD COLUMN last_read_seq BIGINT NOT NULL DEFAULT 0 AFTER last_read_message_id;
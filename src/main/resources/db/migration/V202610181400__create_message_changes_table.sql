@@ -0,0 +1,19 @@
+-- Append-only per-frequency log of message inserts, edits and deletes for delta sync.
+-- The primary key clusters each frequency's changes in change_seq order, so "changes since N" is a range scan.
+ALTER TABLE frequencies
+    ADD COLUMN last_change_seq BIGINT NOT NULL DEFAULT 0 AFTER last_message_seq;
+
+CREATE TABLE message_changes (
+    frequency_id BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL,
+    message_id BIGINT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+
+    PRIMARY KEY (frequency_id, change_seq),
+    INDEX idx_created_at (created_at),
+
+    CONSTRAINT fk_message_changes_frequency
+        FOREIGN KEY (frequency_id) REFERENCES frequencies(id)
+        ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
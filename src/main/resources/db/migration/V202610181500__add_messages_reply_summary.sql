@@ -0,0 +1,16 @@
+-- Denormalized thread summary on the parent message, maintained when replies are posted or deleted
+ALTER TABLE messages
+    ADD COLUMN reply_count INT NOT NULL DEFAULT 0 AFTER reply_to_id,
+    ADD COLUMN last_reply_at DATETIME(6) NULL AFTER reply_count;
+
+UPDATE messages p
+    JOIN (SELECT reply_to_id, COUNT(*) AS replies, MAX(created_at) AS last_reply
+          FROM messages
+          WHERE reply_to_id IS NOT NULL AND deleted_at IS NULL
+          GROUP BY reply_to_id) r ON r.reply_to_id = p.id
+SET p.reply_count = r.replies,
+    p.last_reply_at = r.last_reply;
+
+-- Keyset pages of a thread skip deleted replies in the index; it also serves the reply_to_id foreign key
+CREATE INDEX idx_reply_to_deleted_created_id ON messages (reply_to_id, deleted_at, created_at, id);
+DROP INDEX idx_reply_to_id ON messages;
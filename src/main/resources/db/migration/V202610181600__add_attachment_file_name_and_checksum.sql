@@ -0,0 +1,4 @@
+-- Original file name and SHA-256 of the stored bytes, recorded when an upload is streamed to the blob store
+ALTER TABLE attachments
+    ADD COLUMN file_name VARCHAR(255) NULL AFTER uploader_id,
+    ADD COLUMN checksum_sha256 CHAR(64) NULL AFTER size_bytes;
@@ -0,0 +1,40 @@
+-- Resumable chunked uploads: one session per upload and one row per chunk received.
+-- Recording a chunk is an INSERT IGNORE on the primary key, so a retried chunk is counted once.
+CREATE TABLE upload_sessions (
+    id BIGINT PRIMARY KEY,
+    external_id CHAR(36) NOT NULL UNIQUE,
+    message_id BIGINT NOT NULL,
+    uploader_id BIGINT NOT NULL,
+    file_name VARCHAR(255),
+    mime_type VARCHAR(100) NOT NULL,
+    total_size BIGINT NOT NULL,
+    chunk_size INT NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at DATETIME(6),
+    version BIGINT NOT NULL DEFAULT 0,
+    active TINYINT(1) NOT NULL DEFAULT 1,
+
+    INDEX idx_upload_sessions_message_id (message_id),
+    INDEX idx_upload_sessions_uploader_id (uploader_id),
+    INDEX idx_upload_sessions_expires_at (expires_at),
+
+    CONSTRAINT fk_upload_sessions_message
+        FOREIGN KEY (message_id) REFERENCES messages(id)
+        ON DELETE CASCADE,
+
+    CONSTRAINT fk_upload_sessions_uploader
+        FOREIGN KEY (uploader_id) REFERENCES users(id)
+        ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE upload_session_chunks (
+    session_id BIGINT NOT NULL,
+    chunk_index INT NOT NULL,
+
+    PRIMARY KEY (session_id, chunk_index),
+
+    CONSTRAINT fk_upload_session_chunks_session
+        FOREIGN KEY (session_id) REFERENCES upload_sessions(id)
+        ON DELETE CASCADE
+) ENGINE=InnoDB;
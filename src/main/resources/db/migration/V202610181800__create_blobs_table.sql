@@ -0,0 +1,17 @@
+-- Reference counts of stored blobs. New blobs are keyed by the SHA-256 of their content, so identical
+-- attachments share one blob, which is deleted once no attachment references it any more.
+CREATE TABLE blobs (
+    storage_key VARCHAR(64) NOT NULL PRIMARY KEY,
+    size_bytes BIGINT NOT NULL,
+    ref_count INT NOT NULL,
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+
+    INDEX idx_ref_count (ref_count)
+) ENGINE=InnoDB;
+
+-- Attachments stored before content addressing keep their random keys, one reference each
+INSERT INTO blobs (storage_key, size_bytes, ref_count)
+SELECT storage_key, MAX(size_bytes), COUNT(*)
+FROM attachments
+WHERE storage_key IS NOT NULL
+GROUP BY storage_key;
@@ -0,0 +1,5 @@
+-- Coordinates chunk writes with finalizing a resumable upload.
+-- writers counts chunks being streamed into the staging file; completing blocks new chunks while it is stored.
+ALTER TABLE upload_sessions
+    ADD COLUMN writers INT NOT NULL DEFAULT 0,
+    ADD COLUMN completing TINYINT(1) NOT NULL DEFAULT 0;
@@ -0,0 +1,19 @@
+-- Replaces the write claim counters with claims that expire, so a node that dies mid-write or mid-finalize
+-- cannot block its upload session forever. Each chunk being streamed holds one lease row until it is recorded;
+-- completing_until marks a finalize in progress. Either is ignored once its time has passed.
+ALTER TABLE upload_sessions
+    DROP COLUMN writers,
+    DROP COLUMN completing,
+    ADD COLUMN completing_until DATETIME(6);
+
+CREATE TABLE upload_session_writers (
+    lease_id CHAR(36) PRIMARY KEY,
+    session_id BIGINT NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+
+    INDEX idx_upload_session_writers_session_expires (session_id, expires_at),
+
+    CONSTRAINT fk_upload_session_writers_session
+        FOREIGN KEY (session_id) REFERENCES upload_sessions(id)
+        ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
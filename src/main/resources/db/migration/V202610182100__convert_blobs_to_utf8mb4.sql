@@ -0,0 +1,3 @@
+-- blobs was created without a character set and took the server default. storage_key is compared with
+-- attachments.storage_key, so give it the same utf8mb4_unicode_ci collation as every other table.
+ALTER TABLE blobs CONVERT TO CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
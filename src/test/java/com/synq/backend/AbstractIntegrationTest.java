@@ -3,6 +3,7 @@ package com.synq.backend;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.MySQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -29,7 +30,12 @@ public abstract class AbstractIntegrationTest {
         System.setProperty("SYNC_DB_PASSWORD", mysqlContainer.getPassword());
     }
 
+    /**
+     * Rolled back explicitly: a subclass's class-level @Transactional does not cover this
+     * inherited method, and its @BeforeEach data would otherwise be committed
+     */
     @Test
+    @Transactional
     void contextLoads() {
         // Verify Spring context loads successfully
     }
@@ -0,0 +1,105 @@
+package com.synq.backend.audit;
+
+import com.synq.backend.AbstractIntegrationTest;
+import com.synq.backend.model.AuditLog;
+import com.synq.backend.repository.AuditLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for the monthly audit_logs partitions and AuditPartitionManager.
+ * Not transactional: partition DDL commits implicitly.
+ */
+class AuditPartitionManagerIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String ACTOR_ID = "partition-test";
+
+    @Autowired
+    private AuditPartitionManager auditPartitionManager;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE actor_id = ?", ACTOR_ID);
+    }
+
+    @Test
+    @DisplayName("Should store audit rows in the partition of their month")
+    void testRowsLandInMonthlyPartition() {
+        // When
+        Long march = save(LocalDateTime.of(2026, 3, 15, 12, 0));
+        Long lastMomentOfMarch = save(LocalDateTime.of(2026, 3, 31, 23, 59, 59));
+        Long april = save(LocalDateTime.of(2026, 4, 1, 0, 0));
+
+        // Then
+        assertThat(idsIn("p202603")).contains(march, lastMomentOfMarch).doesNotContain(april);
+        assertThat(idsIn("p202604")).contains(april);
+    }
+
+    @Test
+    @DisplayName("Should create upcoming months and drop months past retention, together with their rows")
+    void testMaintenance() {
+        // Given - one row in a month that expires when maintenance runs in January 2027, one that is kept
+        Long expired = save(LocalDateTime.of(2025, 12, 10, 8, 0));
+        Long kept = save(LocalDateTime.of(2026, 6, 10, 8, 0));
+        assertThat(partitionNames()).contains("p202512");
+
+        // When - twelve months of retention and three premade months
+        auditPartitionManager.maintainPartitions(YearMonth.of(2027, 1));
+
+        // Then
+        assertThat(partitionNames())
+                .contains("p202601", "p202606", "p202701", "p202702", "p202703", "p202704")
+                .doesNotContain("p_history", "p202512")
+                .endsWith("p_max");
+        assertThat(auditLogRepository.existsById(expired)).isFalse();
+        assertThat(idsIn("p202606")).contains(kept);
+
+        // And a row of a premade month lands in it rather than the catch-all
+        Long upcoming = save(LocalDateTime.of(2027, 3, 2, 9, 0));
+        assertThat(idsIn("p202703")).contains(upcoming);
+        assertThat(idsIn("p_max")).doesNotContain(upcoming);
+    }
+
+    private Long save(LocalDateTime createdAt) {
+        return transactionTemplate.execute(status -> auditLogRepository.save(AuditLog.builder()
+                .actorId(ACTOR_ID)
+                .actionType("PARTITION_TEST")
+                .targetType("TEST")
+                .data(Map.of())
+                .createdAt(createdAt)
+                .build()).getId());
+    }
+
+    private List<Long> idsIn(String partition) {
+        // Partition names are fixed identifiers here, never user input
+        return jdbcTemplate.queryForList("SELECT id FROM audit_logs PARTITION (" + partition + ") WHERE actor_id = ?",
+                Long.class, ACTOR_ID);
+    }
+
+    private List<String> partitionNames() {
+        return jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS WHERE TABLE_SCHEMA = DATABASE() " +
+                        "AND TABLE_NAME = 'audit_logs' ORDER BY PARTITION_ORDINAL_POSITION",
+                String.class);
+    }
+}
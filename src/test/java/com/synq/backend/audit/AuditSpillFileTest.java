@@ -0,0 +1,127 @@
+package com.synq.backend.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.synq.backend.event.AuditEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for AuditSpillFile - append, resumable replay and appends during a replay
+ */
+class AuditSpillFileTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should replay appended events in batches and remove the file")
+    void testReplay() throws IOException {
+        // Given
+        AuditSpillFile spillFile = new AuditSpillFile(directory.resolve("spill.ndjson"), objectMapper);
+        spillFile.append(events(0, 3));
+        spillFile.append(events(3, 5));
+        List<List<String>> batches = new ArrayList<>();
+
+        // When
+        spillFile.replay(2, batch -> batches.add(actions(batch)));
+
+        // Then
+        assertThat(batches).containsExactly(List.of("A0", "A1"), List.of("A2", "A3"), List.of("A4"));
+        assertThat(spillFile.hasPending()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should resume a failed replay at the failed batch without repeating committed ones")
+    void testResumeAfterFailure() throws IOException {
+        // Given
+        AuditSpillFile spillFile = new AuditSpillFile(directory.resolve("spill.ndjson"), objectMapper);
+        spillFile.append(events(0, 6));
+        List<String> committed = new ArrayList<>();
+
+        // When - the second batch fails
+        assertThatThrownBy(() -> spillFile.replay(2, batch -> {
+            if (batch.get(0).actionType().equals("A2")) {
+                throw new IllegalStateException("database down");
+            }
+            committed.addAll(actions(batch));
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(spillFile.hasPending()).isTrue();
+
+        // And a fresh instance, as after a restart, replays the rest
+        new AuditSpillFile(directory.resolve("spill.ndjson"), objectMapper)
+                .replay(2, batch -> committed.addAll(actions(batch)));
+
+        // Then
+        assertThat(committed).containsExactly("A0", "A1", "A2", "A3", "A4", "A5");
+    }
+
+    @Test
+    @DisplayName("Should keep events appended during a replay for the next one")
+    void testAppendDuringReplay() throws IOException {
+        // Given
+        AuditSpillFile spillFile = new AuditSpillFile(directory.resolve("spill.ndjson"), objectMapper);
+        spillFile.append(events(0, 2));
+        List<String> replayed = new ArrayList<>();
+
+        // When
+        spillFile.replay(10, batch -> {
+            replayed.addAll(actions(batch));
+            spillFile.append(events(2, 3));
+        });
+
+        // Then
+        assertThat(replayed).containsExactly("A0", "A1");
+        assertThat(spillFile.hasPending()).isTrue();
+        spillFile.replay(10, batch -> replayed.addAll(actions(batch)));
+        assertThat(replayed).containsExactly("A0", "A1", "A2");
+        assertThat(spillFile.hasPending()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should skip a line cut short by a crash")
+    void testTruncatedLine() throws IOException {
+        // Given
+        Path path = directory.resolve("spill.ndjson");
+        AuditSpillFile spillFile = new AuditSpillFile(path, objectMapper);
+        spillFile.append(events(0, 1));
+        spillFile.close();
+        Files.writeString(path, "{\"actorId\":\"user\",\"actio\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        spillFile.append(events(1, 2));
+        List<String> replayed = new ArrayList<>();
+
+        // When
+        spillFile.replay(10, batch -> replayed.addAll(actions(batch)));
+
+        // Then
+        assertThat(replayed).containsExactly("A0", "A1");
+    }
+
+    private static List<AuditEvent> events(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> new AuditEvent("user", "A" + i, "MESSAGE", "m" + i, Map.of("n", i),
+                        LocalDateTime.of(2026, 1, 1, 0, 0).plusSeconds(i)))
+                .toList();
+    }
+
+    private static List<String> actions(List<AuditEvent> batch) {
+        return batch.stream().map(AuditEvent::actionType).toList();
+    }
+}
@@ -0,0 +1,97 @@
+package com.synq.backend.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for BoundedEventQueue - capacity, ordering and concurrent producers
+ */
+class BoundedEventQueueTest {
+
+    @Test
+    @DisplayName("Should refuse items beyond capacity and accept again once drained")
+    void testCapacity() {
+        // Given
+        BoundedEventQueue<Integer> queue = new BoundedEventQueue<>(3);
+
+        // When / Then
+        assertThat(queue.offer(1)).isTrue();
+        assertThat(queue.offer(2)).isTrue();
+        assertThat(queue.offer(3)).isTrue();
+        assertThat(queue.offer(4)).isFalse();
+        assertThat(queue.size()).isEqualTo(3);
+
+        assertThat(queue.poll()).isEqualTo(1);
+        assertThat(queue.offer(4)).isTrue();
+        assertThat(queue.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should drain in FIFO order, at most max items at a time")
+    void testDrainTo() {
+        // Given
+        BoundedEventQueue<Integer> queue = new BoundedEventQueue<>(10);
+        for (int i = 1; i <= 5; i++) {
+            queue.offer(i);
+        }
+        List<Integer> sink = new ArrayList<>();
+
+        // When / Then
+        assertThat(queue.drainTo(sink, 3)).isEqualTo(3);
+        assertThat(sink).containsExactly(1, 2, 3);
+        assertThat(queue.drainTo(sink, 3)).isEqualTo(2);
+        assertThat(sink).containsExactly(1, 2, 3, 4, 5);
+        assertThat(queue.drainTo(sink, 3)).isZero();
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should accept exactly capacity items from racing producers")
+    void testConcurrentOffers() throws InterruptedException {
+        // Given
+        int capacity = 1_000;
+        int producers = 8;
+        int offersPerProducer = 500;
+        BoundedEventQueue<Integer> queue = new BoundedEventQueue<>(capacity);
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        // When
+        for (int p = 0; p < producers; p++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < offersPerProducer; i++) {
+                    if (queue.offer(i)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        List<Integer> sink = new ArrayList<>();
+        assertThat(accepted).hasValue(capacity);
+        assertThat(queue.size()).isEqualTo(capacity);
+        assertThat(queue.drainTo(sink, Integer.MAX_VALUE)).isEqualTo(capacity);
+    }
+}
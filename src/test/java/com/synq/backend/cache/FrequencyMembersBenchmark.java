@@ -0,0 +1,98 @@
+package com.synq.backend.cache;
+
+import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.repository.projection.MemberRow;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Memory and lookup micro-benchmark of the bitmap-backed member set against a HashSet of boxed ids.
+ * Not a test, so the build never depends on timings; run its main method from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.synq.backend.cache.FrequencyMembersBenchmark}
+ */
+@Slf4j
+final class FrequencyMembersBenchmark {
+
+    private static final int MEMBERS = 100_000;
+    private static final int LOOKUPS = 2_000_000;
+    private static final long ID_SPACE = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    private FrequencyMembersBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<MemberRow> rows = randomMembers(random, MEMBERS, ID_SPACE);
+        Set<Long> hashSet = userIds(rows);
+        FrequencyMembers members = FrequencyMembers.of(false, rows);
+
+        long[] probes = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            probes[i] = random.nextLong(ID_SPACE);
+        }
+
+        // Later rounds run on compiled code
+        for (int round = 1; round <= ROUNDS; round++) {
+            long bitmapHits = 0;
+            long bitmapStart = System.nanoTime();
+            for (long probe : probes) {
+                if (members.contains(probe)) {
+                    bitmapHits++;
+                }
+            }
+            long bitmapNanos = System.nanoTime() - bitmapStart;
+
+            long hashSetHits = 0;
+            long hashSetStart = System.nanoTime();
+            for (long probe : probes) {
+                if (hashSet.contains(probe)) {
+                    hashSetHits++;
+                }
+            }
+            long hashSetNanos = System.nanoTime() - hashSetStart;
+
+            log.info("Round {}: bitmap {} ns/lookup ({} hits); HashSet<Long> {} ns/lookup ({} hits)",
+                    round, bitmapNanos / LOOKUPS, bitmapHits, hashSetNanos / LOOKUPS, hashSetHits);
+        }
+        log.info("{} members: bitmap ~{} KiB; HashSet<Long> ~{} KiB",
+                MEMBERS, members.estimatedBytes() / 1024, hashSetBytes(MEMBERS) / 1024);
+    }
+
+    /**
+     * Distinct random members; every thousandth is a moderator, so the special-member arrays are exercised
+     */
+    static List<MemberRow> randomMembers(SplittableRandom random, int count, long idSpace) {
+        Set<Long> seen = new HashSet<>();
+        List<MemberRow> rows = new ArrayList<>(count);
+        while (rows.size() < count) {
+            long userId = random.nextLong(idSpace);
+            if (seen.add(userId)) {
+                MembershipRole role = seen.size() % 1000 == 0 ? MembershipRole.MODERATOR : MembershipRole.MEMBER;
+                rows.add(new MemberRow(userId, role, false, null));
+            }
+        }
+        return rows;
+    }
+
+    static Set<Long> userIds(List<MemberRow> rows) {
+        Set<Long> ids = new HashSet<>();
+        for (MemberRow row : rows) {
+            ids.add(row.userId());
+        }
+        return ids;
+    }
+
+    /**
+     * HashMap.Node (32) + boxed Long (16) + table slot (4, compressed oops, load factor 0.75 rounded to 2^n)
+     */
+    static long hashSetBytes(int size) {
+        int table = Integer.highestOneBit((int) (size / 0.75f) - 1) << 1;
+        return 48L * size + 4L * table + 64;
+    }
+}
@@ -0,0 +1,74 @@
+package com.synq.backend.cache;
+
+import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.repository.projection.MemberRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for FrequencyMembers - lookups of plain and special members and the footprint of the bitmap.
+ * Lookup timings are measured by {@link FrequencyMembersBenchmark}, outside the test run
+ */
+class FrequencyMembersTest {
+
+    private static final int MEMBERS = 100_000;
+    private static final long ID_SPACE = 1_000_000;
+
+    @Test
+    @DisplayName("Should answer membership exactly as a set of the same ids")
+    void testContains() {
+        // Given
+        SplittableRandom random = new SplittableRandom(42);
+        List<MemberRow> rows = FrequencyMembersBenchmark.randomMembers(random, MEMBERS, ID_SPACE);
+        Set<Long> expected = FrequencyMembersBenchmark.userIds(rows);
+        FrequencyMembers members = FrequencyMembers.of(false, rows);
+
+        // When / Then
+        assertThat(members.size()).isEqualTo(MEMBERS);
+        for (int i = 0; i < 200_000; i++) {
+            long probe = random.nextLong(ID_SPACE);
+            assertThat(members.contains(probe)).as("user %d", probe).isEqualTo(expected.contains(probe));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep role, ban and mute state of special members and a plain state for the rest")
+    void testFind() {
+        // Given
+        LocalDateTime mutedUntil = LocalDateTime.of(2030, 1, 1, 0, 0);
+        FrequencyMembers members = FrequencyMembers.of(true, List.of(
+                new MemberRow(5L, MembershipRole.MEMBER, false, null),
+                new MemberRow(9L, MembershipRole.OWNER, false, null),
+                new MemberRow(12L, MembershipRole.MEMBER, true, null),
+                new MemberRow(40L, MembershipRole.MODERATOR, false, mutedUntil)));
+
+        // When / Then
+        assertThat(members.isPrivateFrequency()).isTrue();
+        assertThat(members.find(5L)).contains(new MemberState(MembershipRole.MEMBER, false, null));
+        assertThat(members.find(9L)).map(MemberState::role).contains(MembershipRole.OWNER);
+        assertThat(members.find(12L)).map(MemberState::banned).contains(true);
+        assertThat(members.find(40L)).contains(new MemberState(MembershipRole.MODERATOR, false, mutedUntil));
+        assertThat(members.find(7L)).isEmpty();
+        assertThat(members.contains(12L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should hold 100k members in under a fifth of a HashSet<Long>")
+    void testFootprint() {
+        // Given
+        List<MemberRow> rows = FrequencyMembersBenchmark.randomMembers(new SplittableRandom(42), MEMBERS, ID_SPACE);
+
+        // When
+        FrequencyMembers members = FrequencyMembers.of(false, rows);
+
+        // Then
+        assertThat((long) members.estimatedBytes()).isLessThan(FrequencyMembersBenchmark.hashSetBytes(MEMBERS) / 5);
+    }
+}
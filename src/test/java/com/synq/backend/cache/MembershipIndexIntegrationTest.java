@@ -0,0 +1,151 @@
+package com.synq.backend.cache;
+
+import com.synq.backend.AbstractIntegrationTest;
+import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.model.Frequency;
+import com.synq.backend.model.User;
+import com.synq.backend.repository.FrequencyRepository;
+import com.synq.backend.repository.UserRepository;
+import com.synq.backend.service.MembershipService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for MembershipIndex - memory lookups and invalidation on membership changes.
+ * Not transactional: invalidation happens when the service transaction completes.
+ */
+@TestPropertySource(properties = "synq.membership-index.ttl=" + MembershipIndexIntegrationTest.TTL_MILLIS + "ms")
+class MembershipIndexIntegrationTest extends AbstractIntegrationTest {
+
+    static final long TTL_MILLIS = 1_000;
+
+    private static final String USER_PREFIX = "index-test-";
+
+    @Autowired
+    private MembershipIndex membershipIndex;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private FrequencyRepository frequencyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long ownerId;
+    private Long userId;
+    private Long frequencyId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User owner = userRepository.save(User.builder()
+                    .username(USER_PREFIX + "owner")
+                    .email(USER_PREFIX + "owner@test.com")
+                    .build());
+            User user = userRepository.save(User.builder()
+                    .username(USER_PREFIX + "user")
+                    .email(USER_PREFIX + "user@test.com")
+                    .build());
+            Frequency frequency = frequencyRepository.save(Frequency.builder()
+                    .name("Index Test")
+                    .slug("index-test")
+                    .isPrivate(true)
+                    .owner(owner)
+                    .build());
+            ownerId = owner.getId();
+            userId = user.getId();
+            frequencyId = frequency.getId();
+        });
+        membershipService.joinFrequency(ownerId, frequencyId, MembershipRole.OWNER, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM memberships WHERE frequency_id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM frequencies WHERE id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", USER_PREFIX + "%");
+        membershipIndex.evict(frequencyId);
+    }
+
+    @Test
+    @DisplayName("Should answer repeated checks from memory after the first load")
+    void testLookupsHitMemory() {
+        // Given
+        assertThat(membershipIndex.isMember(frequencyId, ownerId)).isTrue();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            membershipIndex.canAccess(frequencyId, ownerId);
+            membershipIndex.find(frequencyId, userId);
+        }
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reflect join, role change, ban and leave once they commit")
+    void testInvalidation() {
+        // Given
+        assertThat(membershipIndex.canAccess(frequencyId, userId)).isFalse();
+
+        // When / Then - join
+        membershipService.joinFrequency(userId, frequencyId, MembershipRole.MEMBER, null);
+        assertThat(membershipIndex.canAccess(frequencyId, userId)).isTrue();
+
+        // When / Then - role change
+        membershipService.updateMembershipRole(userId, frequencyId, MembershipRole.MODERATOR);
+        assertThat(membershipService.hasRole(userId, frequencyId, MembershipRole.MODERATOR)).isTrue();
+
+        // When / Then - ban
+        membershipService.toggleBan(userId, frequencyId, true);
+        assertThat(membershipIndex.find(frequencyId, userId)).map(MemberState::banned).contains(true);
+        assertThat(membershipIndex.canAccess(frequencyId, userId)).isFalse();
+
+        // When / Then - leave
+        membershipService.leaveFrequency(userId, frequencyId);
+        assertThat(membershipIndex.isMember(frequencyId, userId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should see a ban made without a membership event once the cached set expires")
+    void testBanSeenAfterExpiry() throws InterruptedException {
+        // Given
+        membershipService.joinFrequency(userId, frequencyId, MembershipRole.MEMBER, null);
+        assertThat(membershipIndex.canAccess(frequencyId, userId)).isTrue();
+
+        // When - banned behind the index's back, as another node would
+        jdbcTemplate.update("UPDATE memberships SET is_banned = 1 WHERE frequency_id = ? AND user_id = ?",
+                frequencyId, userId);
+
+        // Then - still served from memory, then reloaded after the TTL
+        assertThat(membershipIndex.canAccess(frequencyId, userId)).isTrue();
+        Thread.sleep(TTL_MILLIS + 500);
+        assertThat(membershipIndex.find(frequencyId, userId)).map(MemberState::banned).contains(true);
+        assertThat(membershipIndex.canAccess(frequencyId, userId)).isFalse();
+    }
+}
@@ -0,0 +1,116 @@
+package com.synq.backend.cache;
+
+import com.synq.backend.config.HotMessageCacheProperties;
+import com.synq.backend.dto.response.MessageDto;
+import com.synq.backend.enums.MessageType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for MessageRingBuffer - ordering across wrap-around, duplicate inserts and capacity misses
+ */
+class MessageRingBufferTest {
+
+    private static final int CAPACITY = 4;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Test
+    @DisplayName("Should keep the newest messages in order as inserts wrap around the slots")
+    void testWrapAround() {
+        // Given
+        MessageRingBuffer buffer = new MessageRingBuffer(CAPACITY, newestFirst(2, 1));
+
+        // When - enough inserts to step the head around the array more than once
+        for (long id = 3; id <= 10; id++) {
+            buffer.insert(message(id));
+        }
+
+        // Then
+        assertThat(ids(buffer.newest(CAPACITY))).containsExactly(10L, 9L, 8L, 7L);
+    }
+
+    @Test
+    @DisplayName("Should place a late message by time and drop one older than a full buffer")
+    void testOutOfOrderInsert() {
+        // Given
+        MessageRingBuffer buffer = new MessageRingBuffer(CAPACITY, newestFirst(10, 8, 6, 4));
+
+        // When
+        buffer.insert(message(7));
+        buffer.insert(message(1));
+
+        // Then
+        assertThat(ids(buffer.newest(CAPACITY))).containsExactly(10L, 8L, 7L, 6L);
+    }
+
+    @Test
+    @DisplayName("Should replace a message inserted twice instead of listing it twice")
+    void testDuplicateInsert() {
+        // Given - loaded from the database after the message committed, then its event arrives
+        MessageRingBuffer buffer = new MessageRingBuffer(CAPACITY, newestFirst(3, 2, 1));
+        MessageDto edited = new MessageDto(3L, null, 1L, 3L, 1L, "author", "edited", MessageType.TEXT,
+                null, 0, null, BASE_TIME.plusSeconds(3), BASE_TIME, null, null, List.of());
+
+        // When
+        buffer.insert(message(3));
+        buffer.insert(edited);
+
+        // Then
+        assertThat(ids(buffer.newest(CAPACITY))).containsExactly(3L, 2L, 1L);
+        assertThat(buffer.newest(1)).hasValueSatisfying(page -> assertThat(page.get(0).content()).isEqualTo("edited"));
+    }
+
+    @Test
+    @DisplayName("Should miss for more messages than held unless the buffer holds the whole frequency")
+    void testCapacityMiss() {
+        // Given
+        MessageRingBuffer full = new MessageRingBuffer(CAPACITY, newestFirst(6, 5, 4, 3, 2, 1));
+        MessageRingBuffer whole = new MessageRingBuffer(CAPACITY, newestFirst(2, 1));
+
+        // When / Then
+        assertThat(full.newest(CAPACITY)).isPresent();
+        assertThat(full.newest(CAPACITY + 1)).isEmpty();
+        assertThat(ids(whole.newest(CAPACITY + 1))).containsExactly(2L, 1L);
+
+        // And a removal leaves a full buffer short of its capacity
+        full.remove(5L);
+        assertThat(full.newest(CAPACITY)).isEmpty();
+        assertThat(ids(full.newest(CAPACITY - 1))).containsExactly(6L, 4L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should serve the first keyset page, which reads one extra row, from a buffer of default capacity")
+    void testDefaultCapacityCoversFirstKeysetPage() {
+        // Given
+        int pageSize = 50;
+        HotMessageCacheProperties properties = new HotMessageCacheProperties();
+        long[] stored = LongStream.rangeClosed(1, 200).map(id -> 201 - id).toArray();
+        MessageRingBuffer buffer = new MessageRingBuffer(properties.getCapacityPerFrequency(), newestFirst(stored));
+
+        // When / Then
+        assertThat(buffer.newest(pageSize + 1)).hasValueSatisfying(page -> assertThat(page).hasSize(pageSize + 1));
+    }
+
+    private static List<MessageDto> newestFirst(long... ids) {
+        return LongStream.of(ids).mapToObj(MessageRingBufferTest::message).toList();
+    }
+
+    /**
+     * Message whose creation time follows its id
+     */
+    private static MessageDto message(long id) {
+        return new MessageDto(id, null, 1L, id, 1L, "author", "message " + id, MessageType.TEXT,
+                null, 0, null, BASE_TIME.plusSeconds(id), null, null, null, List.of());
+    }
+
+    private static List<Long> ids(Optional<List<MessageDto>> page) {
+        return page.orElseThrow().stream().map(MessageDto::id).toList();
+    }
+}
@@ -0,0 +1,160 @@
+package com.synq.backend.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Generation and insert benchmark of UUIDv7 external ids against random (v4) UUIDs.
+ * Generation is timed on one thread and on several contending threads. When SYNC_DB_URL,
+ * SYNC_DB_USER and SYNC_DB_PASSWORD point at a scratch MySQL database, the ids are also
+ * inserted into a table shaped like an entity table with a CHAR(36) unique index, and the
+ * insert time, index leaf pages and InnoDB page splits of both orders are compared.
+ * Not a test, so the build never depends on timings; run its main method from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.synq.backend.core.ExternalIdBenchmark}
+ */
+@Slf4j
+final class ExternalIdBenchmark {
+
+    private static final int GENERATIONS = 2_000_000;
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 5;
+    private static final int ROWS = 200_000;
+    private static final int INSERT_BATCH_SIZE = 1_000;
+
+    private static final String PAGE_SPLITS_SQL =
+            "SELECT COUNT FROM information_schema.INNODB_METRICS WHERE NAME = 'index_page_splits' AND STATUS = 'enabled'";
+    private static final String LEAF_PAGES_SQL = "SELECT stat_value FROM mysql.innodb_index_stats " +
+            "WHERE database_name = DATABASE() AND table_name = ? AND index_name = 'external_id' AND stat_name = 'n_leaf_pages'";
+
+    private ExternalIdBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        UuidV7Generator v7 = new UuidV7Generator();
+
+        // Later rounds run on compiled code
+        for (int round = 1; round <= ROUNDS; round++) {
+            log.info("Round {}: UUIDv7 {} ns/id, {} threads {} ns/id; UUID.randomUUID {} ns/id, {} threads {} ns/id",
+                    round,
+                    generationNanos(v7::generate, 1), THREADS, generationNanos(v7::generate, THREADS),
+                    generationNanos(() -> UUID.randomUUID().toString(), 1),
+                    THREADS, generationNanos(() -> UUID.randomUUID().toString(), THREADS));
+        }
+
+        String url = System.getenv("SYNC_DB_URL");
+        if (url == null) {
+            log.info("SYNC_DB_URL not set, skipping the insert benchmark");
+            return;
+        }
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getenv("SYNC_DB_USER"), System.getenv("SYNC_DB_PASSWORD"))) {
+            insert(connection, "external_id_benchmark_v4", () -> UUID.randomUUID().toString());
+            insert(connection, "external_id_benchmark_v7", v7::generate);
+        }
+    }
+
+    /**
+     * Wall-clock time per id while the given number of threads generate GENERATIONS ids between them
+     */
+    static long generationNanos(Supplier<String> generator, int threads) throws Exception {
+        int perThread = GENERATIONS / threads;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<Integer>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    // Consume the ids so the generation is not optimized away
+                    int sink = 0;
+                    for (int i = 0; i < perThread; i++) {
+                        sink += generator.get().charAt(35);
+                    }
+                    return sink;
+                }));
+            }
+            for (Future<Integer> future : futures) {
+                future.get();
+            }
+            return (System.nanoTime() - start) / ((long) perThread * threads);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Insert ROWS ids in batches into a fresh table and log the time, index size and page splits
+     */
+    private static void insert(Connection connection, String table, Supplier<String> generator) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (" +
+                    "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "external_id CHAR(36) NOT NULL UNIQUE" +
+                    ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci");
+            try {
+                // Needs SYSTEM_VARIABLES_ADMIN; without it page splits are not reported
+                statement.execute("SET GLOBAL innodb_monitor_enable = 'index_page_splits'");
+            } catch (SQLException e) {
+                log.debug("Cannot enable the index_page_splits metric: {}", e.getMessage());
+            }
+
+            Long splitsBefore = pageSplits(statement);
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO " + table + " (external_id) VALUES (?)")) {
+                for (int i = 1; i <= ROWS; i++) {
+                    insert.setString(1, generator.get());
+                    insert.addBatch();
+                    if (i % INSERT_BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            Long splitsAfter = pageSplits(statement);
+
+            statement.execute("ANALYZE TABLE " + table);
+            log.info("{}: {} rows in {} ms ({} rows/s), external_id index {} leaf pages, {} page splits",
+                    table, ROWS, elapsedMillis, ROWS * 1000L / elapsedMillis, leafPages(connection, table),
+                    splitsBefore != null && splitsAfter != null ? splitsAfter - splitsBefore : "unknown");
+            statement.execute("DROP TABLE " + table);
+        }
+    }
+
+    /**
+     * Server-wide index page splits so far, null when the metric is off or not exposed this way
+     */
+    private static Long pageSplits(Statement statement) {
+        try (ResultSet rs = statement.executeQuery(PAGE_SPLITS_SQL)) {
+            return rs.next() ? rs.getLong(1) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static Long leafPages(Connection connection, String table) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(LEAF_PAGES_SQL)) {
+            query.setString(1, table);
+            try (ResultSet rs = query.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+}
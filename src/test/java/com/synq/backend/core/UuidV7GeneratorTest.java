@@ -0,0 +1,70 @@
+package com.synq.backend.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit test for UuidV7Generator - ordering, layout and uniqueness
+ */
+class UuidV7GeneratorTest {
+
+    private final UuidV7Generator generator = new UuidV7Generator();
+
+    @Test
+    @DisplayName("Should generate version 7, RFC variant UUIDs")
+    void testLayout() {
+        UUID uuid = generator.next();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isCloseTo(System.currentTimeMillis(), within(1_000L));
+    }
+
+    @Test
+    @DisplayName("Should generate strictly increasing ids within the same millisecond")
+    void testMonotonic() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(generator.generate());
+        }
+
+        assertThat(ids).isSorted();
+        assertThat(Set.copyOf(ids)).hasSize(ids.size());
+    }
+
+    @Test
+    @DisplayName("Should generate unique ids across threads")
+    void testConcurrentUniqueness() throws Exception {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 25_000; i++) {
+                        ids.add(generator.generate());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(ids).hasSize(200_000);
+    }
+}
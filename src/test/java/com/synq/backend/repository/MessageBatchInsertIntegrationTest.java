@@ -0,0 +1,152 @@
+package com.synq.backend.repository;
+
+import com.synq.backend.AbstractIntegrationTest;
+import com.synq.backend.enums.MessageType;
+import com.synq.backend.model.Frequency;
+import com.synq.backend.model.Message;
+import com.synq.backend.model.User;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput benchmark for messages; guards that inserts stay JDBC-batched.
+ * Logs an IDENTITY baseline next to the pooled run: the same messages persisted through an
+ * IDENTITY mapping of a temporary copy of the table, the way every entity was inserted before.
+ */
+@Slf4j
+@Transactional
+class MessageBatchInsertIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int MESSAGES = 10_000;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FrequencyRepository frequencyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should insert 10k messages in JDBC batches")
+    void testBatchInsertThroughput() {
+        // Given
+        User author = userRepository.save(User.builder()
+                .username("batch-author")
+                .email("batch-author@test.com")
+                .build());
+        Frequency frequency = frequencyRepository.save(Frequency.builder()
+                .name("Batch Frequency")
+                .slug("batch-frequency")
+                .owner(author)
+                .build());
+        entityManager.flush();
+
+        List<Message> messages = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            messages.add(Message.builder()
+                    .frequency(frequency)
+                    .author(author)
+                    .content("Batch message " + i)
+                    .type(MessageType.TEXT)
+                    .build());
+        }
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        // When
+        long baselineMillis = insertWithIdentity(frequency.getId(), author.getId());
+        long baselineStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        long start = System.nanoTime();
+        messageRepository.saveAll(messages);
+        entityManager.flush();
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        // Then
+        log.info("Inserted {} messages with IDENTITY in {} ms ({} messages/s, {} statements prepared)",
+                MESSAGES, baselineMillis, MESSAGES * 1000L / baselineMillis, baselineStatements);
+        log.info("Inserted {} messages with pooled ids in {} ms ({} messages/s, {} statements prepared)",
+                MESSAGES, elapsedMillis, MESSAGES * 1000L / elapsedMillis, statistics.getPrepareStatementCount());
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(MESSAGES);
+        // One statement per batch of 50 plus sequence block reads, instead of one per row
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(MESSAGES / 10);
+    }
+
+    /**
+     * Baseline: persist the messages through the IDENTITY mapping, one immediate insert per row
+     */
+    private long insertWithIdentity(Long frequencyId, Long authorId) {
+        // Temporary tables neither commit the test transaction nor keep the foreign keys
+        entityManager.createNativeQuery("CREATE TEMPORARY TABLE identity_messages LIKE messages").executeUpdate();
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < MESSAGES; i++) {
+                entityManager.persist(new IdentityMessage(frequencyId, authorId, "Identity message " + i));
+            }
+            entityManager.flush();
+            long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            entityManager.clear();
+            return elapsedMillis;
+        } finally {
+            entityManager.createNativeQuery("DROP TEMPORARY TABLE identity_messages").executeUpdate();
+        }
+    }
+
+    /**
+     * Message row mapped with the IDENTITY id it had before pooled ids
+     */
+    @Entity
+    @Table(name = "identity_messages")
+    @NoArgsConstructor
+    static class IdentityMessage {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        private String externalId;
+        private Long frequencyId;
+        private Long authorId;
+        private String content;
+
+        @Enumerated(EnumType.STRING)
+        private MessageType type;
+
+        IdentityMessage(Long frequencyId, Long authorId, String content) {
+            this.externalId = UUID.randomUUID().toString();
+            this.frequencyId = frequencyId;
+            this.authorId = authorId;
+            this.content = content;
+            this.type = MessageType.TEXT;
+        }
+    }
+}
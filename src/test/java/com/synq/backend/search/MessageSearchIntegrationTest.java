@@ -0,0 +1,186 @@
+package com.synq.backend.search;
+
+import com.synq.backend.AbstractIntegrationTest;
+import com.synq.backend.cache.MembershipIndex;
+import com.synq.backend.dto.request.CreateMessageDto;
+import com.synq.backend.dto.request.UpdateMessageDto;
+import com.synq.backend.dto.response.MessageDto;
+import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.enums.MessageType;
+import com.synq.backend.exceptions.EndpointException;
+import com.synq.backend.model.Frequency;
+import com.synq.backend.model.User;
+import com.synq.backend.repository.FrequencyRepository;
+import com.synq.backend.repository.UserRepository;
+import com.synq.backend.service.MembershipService;
+import com.synq.backend.service.MessageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration test for message search - scoping, ranking, incremental updates and rebuild.
+ * Not transactional: the index is fed from the change log written when posts commit.
+ */
+class MessageSearchIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String USER_PREFIX = "search-test-";
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MembershipIndex membershipIndex;
+
+    @Autowired
+    private MessageSearchIndex messageSearchIndex;
+
+    @Autowired
+    private MessageSearchIndexer messageSearchIndexer;
+
+    @Autowired
+    private FrequencyRepository frequencyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long strangerId;
+    private Long frequencyId;
+    private Long otherFrequencyId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.save(User.builder()
+                    .username(USER_PREFIX + "user")
+                    .email(USER_PREFIX + "user@test.com")
+                    .build());
+            User stranger = userRepository.save(User.builder()
+                    .username(USER_PREFIX + "stranger")
+                    .email(USER_PREFIX + "stranger@test.com")
+                    .build());
+            Frequency frequency = frequencyRepository.save(Frequency.builder()
+                    .name("Search Test")
+                    .slug("search-test")
+                    .owner(user)
+                    .build());
+            Frequency otherFrequency = frequencyRepository.save(Frequency.builder()
+                    .name("Search Test Private")
+                    .slug("search-test-private")
+                    .isPrivate(true)
+                    .owner(stranger)
+                    .build());
+            userId = user.getId();
+            strangerId = stranger.getId();
+            frequencyId = frequency.getId();
+            otherFrequencyId = otherFrequency.getId();
+        });
+        membershipService.joinFrequency(userId, frequencyId, MembershipRole.OWNER, null);
+        membershipService.joinFrequency(strangerId, otherFrequencyId, MembershipRole.OWNER, null);
+        messageSearchIndexer.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM messages WHERE frequency_id IN (?, ?)", frequencyId, otherFrequencyId);
+        jdbcTemplate.update("DELETE FROM memberships WHERE frequency_id IN (?, ?)", frequencyId, otherFrequencyId);
+        jdbcTemplate.update("DELETE FROM frequencies WHERE id IN (?, ?)", frequencyId, otherFrequencyId);
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", USER_PREFIX + "%");
+        membershipIndex.evict(frequencyId);
+        membershipIndex.evict(otherFrequencyId);
+    }
+
+    @Test
+    @DisplayName("Should rank matches and only search frequencies the user can access")
+    void testScopedRankedSearch() {
+        // Given
+        MessageDto best = post(frequencyId, userId, "release release release");
+        MessageDto weaker = post(frequencyId, userId, "the release party starts tonight right after the standup");
+        post(frequencyId, userId, "nothing to see here");
+        post(otherFrequencyId, strangerId, "secret release plans");
+        catchUp();
+
+        // When
+        Page<MessageDto> results = messageService.searchMessages(userId, "release", null, 0, 20);
+
+        // Then
+        assertThat(results.getContent()).extracting(MessageDto::id).containsExactly(best.id(), weaker.id());
+        assertThat(results.getTotalElements()).isEqualTo(2);
+        assertThatThrownBy(() -> messageService.searchMessages(userId, "release", otherFrequencyId, 0, 20))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    @DisplayName("Should follow edits and deletes incrementally")
+    void testIncrementalUpdates() {
+        // Given
+        MessageDto edited = post(frequencyId, userId, "meeting moved to monday");
+        MessageDto deleted = post(frequencyId, userId, "meeting cancelled");
+        catchUp();
+        assertThat(search("meeting")).hasSize(2);
+
+        // When
+        messageService.updateMessage(edited.id(), new UpdateMessageDto("call moved to monday", null), userId);
+        messageService.deleteMessage(deleted.id(), userId);
+        catchUp();
+
+        // Then
+        assertThat(search("meeting")).isEmpty();
+        assertThat(search("call")).extracting(MessageDto::id).containsExactly(edited.id());
+    }
+
+    @Test
+    @DisplayName("Should find the same messages after a parallel rebuild from the messages table")
+    void testRebuild() {
+        // Given
+        for (int i = 0; i < 50; i++) {
+            post(frequencyId, userId, "bulk message " + i);
+        }
+        catchUp();
+
+        // When
+        messageSearchIndexer.rebuild();
+
+        // Then
+        assertThat(messageService.searchMessages(userId, "bulk", frequencyId, 0, 100).getTotalElements())
+                .isEqualTo(50);
+    }
+
+    private MessageDto post(Long frequency, Long author, String content) {
+        return messageService.postMessage(
+                new CreateMessageDto(frequency, content, MessageType.TEXT, null, Map.of()), author);
+    }
+
+    private void catchUp() {
+        messageSearchIndexer.tail();
+        messageSearchIndex.refresh();
+    }
+
+    private List<MessageDto> search(String query) {
+        return messageService.searchMessages(userId, query, null, 0, 20).getContent();
+    }
+}
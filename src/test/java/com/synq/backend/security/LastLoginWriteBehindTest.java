@@ -0,0 +1,122 @@
+package com.synq.backend.security;
+
+import com.synq.backend.config.LastLoginProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for LastLoginWriteBehind - coalescing and the throttle window
+ */
+class LastLoginWriteBehindTest {
+
+    private static final Long USER_ID = 42L;
+    private static final Duration MAX_STALENESS = Duration.ofMillis(200);
+    private static final LocalDateTime FIRST_LOGIN = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    /**
+     * Login timestamps bound for USER_ID, one entry per UPDATE
+     */
+    private final List<LocalDateTime> writes = new ArrayList<>();
+
+    private final LastLoginWriteBehind writeBehind = new LastLoginWriteBehind(new JdbcTemplate() {
+        @Override
+        public int update(String sql, Object... args) {
+            // args: COALESCE default, then (id, timestamp) pairs, then the IN list
+            for (int i = 1; i + 1 < args.length; i += 2) {
+                if (USER_ID.equals(args[i])) {
+                    writes.add((LocalDateTime) args[i + 1]);
+                }
+            }
+            return 1;
+        }
+    }, properties(), new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("Should write logins of one flush interval once, with the latest timestamp")
+    void testCoalesce() {
+        // Given
+        writeBehind.record(USER_ID, FIRST_LOGIN.plusMinutes(1));
+        writeBehind.record(USER_ID, FIRST_LOGIN);
+
+        // When
+        writeBehind.flush();
+
+        // Then
+        assertThat(writes).containsExactly(FIRST_LOGIN.plusMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should keep a login made during the throttle window and write it when the window ends")
+    void testThrottledLoginIsWrittenAfterWindow() throws InterruptedException {
+        // Given - a written login opens the window
+        writeBehind.record(USER_ID, FIRST_LOGIN);
+        writeBehind.flush();
+
+        // When - two more logins arrive inside it
+        writeBehind.record(USER_ID, FIRST_LOGIN.plusSeconds(10));
+        writeBehind.record(USER_ID, FIRST_LOGIN.plusSeconds(20));
+        writeBehind.flush();
+
+        // Then - held back while the window is open
+        assertThat(writes).containsExactly(FIRST_LOGIN);
+
+        // And written as the latest of them once it has passed
+        Thread.sleep(MAX_STALENESS.multipliedBy(2).toMillis());
+        writeBehind.flush();
+        assertThat(writes).containsExactly(FIRST_LOGIN, FIRST_LOGIN.plusSeconds(20));
+    }
+
+    @Test
+    @DisplayName("Should drop a login that is not newer than the one already written")
+    void testRepeatedLoginIsNotRewritten() throws InterruptedException {
+        // Given
+        writeBehind.record(USER_ID, FIRST_LOGIN);
+        writeBehind.flush();
+
+        // When - the same sign-in is seen again on later requests
+        writeBehind.record(USER_ID, FIRST_LOGIN);
+        Thread.sleep(MAX_STALENESS.multipliedBy(2).toMillis());
+        writeBehind.flush();
+
+        // Then
+        assertThat(writes).containsExactly(FIRST_LOGIN);
+    }
+
+    @Test
+    @DisplayName("Should not write the same sign-in again after the throttle window")
+    void testSameLoginAfterWindowIsNotWritten() throws InterruptedException {
+        // Given - the window of the first write has passed
+        writeBehind.record(USER_ID, FIRST_LOGIN);
+        writeBehind.flush();
+        Thread.sleep(MAX_STALENESS.multipliedBy(2).toMillis());
+
+        // When - later requests carry the same auth_time
+        writeBehind.record(USER_ID, FIRST_LOGIN);
+        writeBehind.flush();
+        writeBehind.record(USER_ID, FIRST_LOGIN);
+        writeBehind.flush();
+
+        // Then
+        assertThat(writes).containsExactly(FIRST_LOGIN);
+
+        // And a new sign-in is still written
+        writeBehind.record(USER_ID, FIRST_LOGIN.plusHours(1));
+        writeBehind.flush();
+        assertThat(writes).containsExactly(FIRST_LOGIN, FIRST_LOGIN.plusHours(1));
+    }
+
+    private static LastLoginProperties properties() {
+        LastLoginProperties properties = new LastLoginProperties();
+        properties.setMaxStaleness(MAX_STALENESS);
+        return properties;
+    }
+}
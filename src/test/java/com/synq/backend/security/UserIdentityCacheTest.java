@@ -0,0 +1,78 @@
+package com.synq.backend.security;
+
+import com.synq.backend.config.IdentityCacheProperties;
+import com.synq.backend.enums.UserRole;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for UserIdentityCache - hit, negative caching and invalidation
+ */
+class UserIdentityCacheTest {
+
+    private static final String SUBJECT = "kc-subject-1";
+
+    private final UserIdentityCache cache = new UserIdentityCache(new IdentityCacheProperties());
+
+    @Test
+    @DisplayName("Should load a subject once and serve later lookups from the cache")
+    void testHit() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        AuthenticatedUser user = new AuthenticatedUser(42L, SUBJECT, Set.of(UserRole.USER));
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            cache.get(SUBJECT, subject -> {
+                loads.incrementAndGet();
+                return Optional.of(user);
+            });
+        }
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get(SUBJECT, subject -> Optional.empty())).contains(user);
+    }
+
+    @Test
+    @DisplayName("Should cache unresolvable subjects as empty")
+    void testNegativeCaching() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        cache.get(SUBJECT, subject -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<AuthenticatedUser> second = cache.get(SUBJECT, subject -> {
+            loads.incrementAndGet();
+            return Optional.of(new AuthenticatedUser(1L, SUBJECT, Set.of()));
+        });
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(second).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reload a subject after invalidation")
+    void testInvalidate() {
+        // Given
+        cache.get(SUBJECT, subject -> Optional.of(new AuthenticatedUser(1L, SUBJECT, Set.of(UserRole.USER))));
+
+        // When
+        cache.invalidate(SUBJECT);
+        Optional<AuthenticatedUser> reloaded = cache.get(SUBJECT,
+                subject -> Optional.of(new AuthenticatedUser(1L, SUBJECT, Set.of(UserRole.ADMIN))));
+
+        // Then
+        assertThat(reloaded).map(AuthenticatedUser::roles).contains(Set.of(UserRole.ADMIN));
+    }
+}
@@ -0,0 +1,576 @@
+package com.synq.backend.service;
+
+import com.synq.backend.AbstractIntegrationTest;
+import com.synq.backend.cache.MembershipIndex;
+import com.synq.backend.dto.request.AttachExistingContentDto;
+import com.synq.backend.dto.request.CreateUploadSessionDto;
+import com.synq.backend.dto.response.AttachmentDto;
+import com.synq.backend.dto.response.UploadSessionDto;
+import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.enums.MessageType;
+import com.synq.backend.exceptions.EndpointException;
+import com.synq.backend.model.Frequency;
+import com.synq.backend.model.Message;
+import com.synq.backend.model.User;
+import com.synq.backend.repository.FrequencyRepository;
+import com.synq.backend.repository.MessageRepository;
+import com.synq.backend.repository.UserRepository;
+import com.synq.backend.storage.BlobDownload;
+import com.synq.backend.storage.BlobStore;
+import com.synq.backend.storage.ThumbnailGenerator;
+import com.synq.backend.storage.ThumbnailStore;
+import com.synq.backend.storage.UploadSessionSweeper;
+import com.synq.backend.storage.UploadStaging;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration test for AttachmentService - streamed and resumable uploads, deduplication, access checks and cleanup.
+ * Not transactional: uploads commit their row only after the body has been stored.
+ */
+class AttachmentServiceIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String USER_PREFIX = "attachment-test-";
+    private static final byte[] CONTENT = "hello attachment".getBytes(StandardCharsets.UTF_8);
+    private static final String CONTENT_SHA256 = "7fa36b95d5c98859ed72b4787f3c28b29eaa103970786755c9711cbb19be631c";
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MembershipIndex membershipIndex;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private UploadStaging uploadStaging;
+
+    @Autowired
+    private UploadSessionSweeper uploadSessionSweeper;
+
+    @Autowired
+    private ThumbnailGenerator thumbnailGenerator;
+
+    @Autowired
+    private ThumbnailStore thumbnailStore;
+
+    @Autowired
+    private FrequencyRepository frequencyRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long authorId;
+    private Long strangerId;
+    private Long frequencyId;
+    private Long messageId;
+    private Long otherFrequencyId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User author = userRepository.save(User.builder()
+                    .username(USER_PREFIX + "author")
+                    .email(USER_PREFIX + "author@test.com")
+                    .build());
+            User stranger = userRepository.save(User.builder()
+                    .username(USER_PREFIX + "stranger")
+                    .email(USER_PREFIX + "stranger@test.com")
+                    .build());
+            Frequency frequency = frequencyRepository.save(Frequency.builder()
+                    .name("Attachment Test")
+                    .slug("attachment-test")
+                    .isPrivate(true)
+                    .owner(author)
+                    .build());
+            Message message = messageRepository.save(Message.builder()
+                    .frequency(frequency)
+                    .author(author)
+                    .content("See attached")
+                    .type(MessageType.TEXT)
+                    .build());
+
+            authorId = author.getId();
+            strangerId = stranger.getId();
+            frequencyId = frequency.getId();
+            messageId = message.getId();
+        });
+        membershipService.joinFrequency(authorId, frequencyId, MembershipRole.OWNER, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (otherFrequencyId != null) {
+            jdbcTemplate.update("DELETE FROM attachments WHERE message_id IN (SELECT id FROM messages WHERE frequency_id = ?)",
+                    otherFrequencyId);
+            jdbcTemplate.update("DELETE FROM messages WHERE frequency_id = ?", otherFrequencyId);
+            jdbcTemplate.update("DELETE FROM memberships WHERE frequency_id = ?", otherFrequencyId);
+            jdbcTemplate.update("DELETE FROM frequencies WHERE id = ?", otherFrequencyId);
+            membershipIndex.evict(otherFrequencyId);
+        }
+        jdbcTemplate.update("DELETE FROM upload_sessions WHERE message_id = ?", messageId);
+        jdbcTemplate.update("DELETE FROM blobs WHERE storage_key IN (SELECT storage_key FROM attachments WHERE message_id = ?)", messageId);
+        jdbcTemplate.update("DELETE FROM attachments WHERE message_id = ?", messageId);
+        jdbcTemplate.update("DELETE FROM blobs WHERE storage_key = ?", CONTENT_SHA256);
+        jdbcTemplate.update("DELETE FROM messages WHERE frequency_id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM memberships WHERE frequency_id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM frequencies WHERE id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", USER_PREFIX + "%");
+        membershipIndex.evict(frequencyId);
+    }
+
+    @Test
+    @DisplayName("Should store an uploaded body with its checksum and serve it to members only")
+    void testUploadAndDownload() throws IOException {
+        // When
+        AttachmentDto attachment = upload(authorId);
+
+        // Then
+        assertThat(attachment.sizeBytes()).isEqualTo(CONTENT.length);
+        assertThat(attachment.fileName()).isEqualTo("notes.txt");
+        assertThat(attachment.mimeType()).isEqualTo("text/plain");
+        assertThat(attachment.checksumSha256()).isEqualTo(CONTENT_SHA256);
+        assertThat(attachment.fileUrl()).isEqualTo("/api/attachments/" + attachment.id() + "/content");
+
+        BlobDownload download = attachmentService.getDownload(attachment.id(), authorId);
+        assertThat(Files.readAllBytes(blobStore.localPath(download.storageKey()).orElseThrow())).isEqualTo(CONTENT);
+        assertThat(download.sha256()).isEqualTo(attachment.checksumSha256());
+
+        assertThatThrownBy(() -> attachmentService.getDownload(attachment.id(), strangerId))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    @DisplayName("Should only let the message author upload")
+    void testUploadRequiresAuthor() {
+        assertThatThrownBy(() -> upload(strangerId))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    @DisplayName("Should remove the blob once the attachment deletion commits")
+    void testDeleteRemovesBlob() throws IOException {
+        // Given
+        AttachmentDto attachment = upload(authorId);
+        Path blob = blobStore.localPath(attachmentService.getDownload(attachment.id(), authorId).storageKey()).orElseThrow();
+        assertThat(blob).exists();
+
+        // When
+        attachmentService.deleteAttachment(attachment.id(), authorId);
+
+        // Then
+        assertThat(blob).doesNotExist();
+        assertThatThrownBy(() -> attachmentService.getAttachment(attachment.id(), authorId))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should store identical content once and free it with the last reference")
+    void testDeduplicatedUploads() throws IOException {
+        // Given
+        AttachmentDto first = upload(authorId);
+        AttachmentDto second = upload(authorId);
+        Path blob = blobStore.localPath(CONTENT_SHA256).orElseThrow();
+        assertThat(attachmentService.getDownload(first.id(), authorId).storageKey()).isEqualTo(CONTENT_SHA256);
+        assertThat(attachmentService.getDownload(second.id(), authorId).storageKey()).isEqualTo(CONTENT_SHA256);
+        assertThat(refCount()).isEqualTo(2);
+
+        // When
+        attachmentService.deleteAttachment(first.id(), authorId);
+
+        // Then
+        assertThat(refCount()).isEqualTo(1);
+        assertThat(blob).exists();
+
+        // When
+        attachmentService.deleteAttachmentsByMessage(messageId);
+
+        // Then
+        assertThat(blob).doesNotExist();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM blobs WHERE storage_key = ?",
+                Integer.class, CONTENT_SHA256)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should attach stored content by hash without reading an upload body")
+    void testAttachExistingContent() throws IOException {
+        // Given
+        upload(authorId);
+        InputStream unreadable = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("The body should not be read");
+            }
+        };
+
+        // When
+        AttachmentDto claimed = attachmentService.attachExistingContent(
+                new AttachExistingContentDto(messageId, CONTENT_SHA256, (long) CONTENT.length, "copy.txt", "text/plain"),
+                authorId);
+        AttachmentDto shortCircuited = attachmentService.uploadAttachment(messageId, authorId, "again.txt", "text/plain",
+                CONTENT_SHA256.toUpperCase(), CONTENT.length, unreadable);
+
+        // Then
+        assertThat(claimed.checksumSha256()).isEqualTo(CONTENT_SHA256);
+        assertThat(shortCircuited.sizeBytes()).isEqualTo(CONTENT.length);
+        assertThat(refCount()).isEqualTo(3);
+        assertThatThrownBy(() -> attachmentService.attachExistingContent(
+                new AttachExistingContentDto(messageId, "0".repeat(64), 1L, null, null), authorId))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should require the body from a user who cannot read any attachment of the content")
+    void testAttachExistingContentRequiresReadAccess() throws IOException {
+        // Given - the content is only in the private frequency, and the stranger has a message elsewhere
+        upload(authorId);
+        Long strangerMessageId = transactionTemplate.execute(status -> {
+            User stranger = userRepository.getReferenceById(strangerId);
+            Frequency other = frequencyRepository.save(Frequency.builder()
+                    .name("Attachment Test Other")
+                    .slug("attachment-test-other")
+                    .isPrivate(true)
+                    .owner(stranger)
+                    .build());
+            otherFrequencyId = other.getId();
+            return messageRepository.save(Message.builder()
+                    .frequency(other)
+                    .author(stranger)
+                    .content("Mine")
+                    .type(MessageType.TEXT)
+                    .build()).getId();
+        });
+        membershipService.joinFrequency(strangerId, otherFrequencyId, MembershipRole.OWNER, null);
+
+        // When / Then - claiming by hash alone looks the same as unknown content
+        assertThatThrownBy(() -> attachmentService.attachExistingContent(
+                new AttachExistingContentDto(strangerMessageId, CONTENT_SHA256, (long) CONTENT.length, null, null), strangerId))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(refCount()).isEqualTo(1);
+
+        // And an upload declaring the hash has its body read and checked
+        assertThatThrownBy(() -> attachmentService.uploadAttachment(strangerMessageId, strangerId, "fake.txt", "text/plain",
+                CONTENT_SHA256, CONTENT.length, new ByteArrayInputStream(new byte[CONTENT.length])))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        AttachmentDto uploaded = attachmentService.uploadAttachment(strangerMessageId, strangerId, "mine.txt", "text/plain",
+                CONTENT_SHA256, CONTENT.length, new ByteArrayInputStream(CONTENT));
+        assertThat(uploaded.checksumSha256()).isEqualTo(CONTENT_SHA256);
+        assertThat(refCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should assemble chunks sent out of order and retried into one attachment")
+    void testResumableUpload() throws IOException, NoSuchAlgorithmException {
+        // Given
+        UploadSessionDto session = attachmentService.createUploadSession(
+                new CreateUploadSessionDto(messageId, (long) CONTENT.length, "notes.txt", "text/plain"), authorId);
+        assertThat(session.chunkSize()).isEqualTo(5);
+        assertThat(session.missingOffsets()).containsExactly(0L, 5L, 10L, 15L);
+
+        // When
+        sendChunk(session.id(), 15);
+        sendChunk(session.id(), 5);
+        sendChunk(session.id(), 5);
+        UploadSessionDto partial = sendChunk(session.id(), 0);
+
+        // Then
+        assertThat(partial.missingOffsets()).containsExactly(10L);
+        assertThat(partial.receivedBytes()).isEqualTo(11);
+        assertThatThrownBy(() -> attachmentService.completeUploadSession(session.id(), authorId))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.CONFLICT);
+
+        // When
+        sendChunk(session.id(), 10);
+        AttachmentDto attachment = attachmentService.completeUploadSession(session.id(), authorId);
+
+        // Then
+        assertThat(attachment.sizeBytes()).isEqualTo(CONTENT.length);
+        assertThat(attachment.checksumSha256())
+                .isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CONTENT)));
+        BlobDownload download = attachmentService.getDownload(attachment.id(), authorId);
+        assertThat(Files.readAllBytes(blobStore.localPath(download.storageKey()).orElseThrow())).isEqualTo(CONTENT);
+        assertThat(uploadStaging.path(session.id())).doesNotExist();
+        assertThatThrownBy(() -> attachmentService.getUploadSession(session.id(), authorId))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should not complete an upload while one of its chunks is still being written")
+    void testCompleteWaitsForChunkInFlight() throws Exception {
+        // Given - the last chunk has started streaming and is held mid-body
+        UploadSessionDto session = attachmentService.createUploadSession(
+                new CreateUploadSessionDto(messageId, (long) CONTENT.length, "notes.txt", "text/plain"), authorId);
+        sendChunk(session.id(), 0);
+        sendChunk(session.id(), 5);
+        sendChunk(session.id(), 10);
+        sendChunk(session.id(), 15);
+
+        CountDownLatch streaming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream retried = new ByteArrayInputStream(CONTENT, 15, 1) {
+            @Override
+            public synchronized int read(byte[] buffer, int offset, int length) {
+                streaming.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.read(buffer, offset, length);
+            }
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<UploadSessionDto> chunk = executor.submit(() ->
+                    attachmentService.writeUploadChunk(session.id(), authorId, 15, 1, retried));
+            assertThat(streaming.await(30, TimeUnit.SECONDS)).isTrue();
+
+            // When / Then
+            assertThatThrownBy(() -> attachmentService.completeUploadSession(session.id(), authorId))
+                    .isInstanceOf(EndpointException.class)
+                    .extracting(e -> ((EndpointException) e).getStatus())
+                    .isEqualTo(HttpStatus.CONFLICT);
+
+            // When
+            release.countDown();
+            chunk.get(30, TimeUnit.SECONDS);
+            AttachmentDto attachment = attachmentService.completeUploadSession(session.id(), authorId);
+
+            // Then
+            assertThat(attachment.checksumSha256()).isEqualTo(CONTENT_SHA256);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject chunks of an upload that is being completed")
+    void testChunksRejectedWhileCompleting() throws IOException {
+        // Given
+        UploadSessionDto session = attachmentService.createUploadSession(
+                new CreateUploadSessionDto(messageId, (long) CONTENT.length, "notes.txt", "text/plain"), authorId);
+        jdbcTemplate.update("UPDATE upload_sessions SET completing_until = NOW(6) + INTERVAL 1 MINUTE WHERE id = ?",
+                session.id());
+
+        // When / Then
+        assertThatThrownBy(() -> sendChunk(session.id(), 0))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.CONFLICT);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM upload_session_writers WHERE session_id = ?",
+                Integer.class, session.id())).isZero();
+        assertThat(Files.readAllBytes(uploadStaging.path(session.id()))).containsOnly(0);
+
+        // And once the finalize claim has expired, as when its node died, chunks are taken again
+        jdbcTemplate.update("UPDATE upload_sessions SET completing_until = NOW(6) - INTERVAL 1 SECOND WHERE id = ?",
+                session.id());
+        assertThat(sendChunk(session.id(), 0).receivedBytes()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should complete an upload once the claim of a writer that never finished has expired")
+    void testExpiredWriterClaimIsIgnored() throws IOException {
+        // Given - every chunk arrived, but a writer claimed the session and never released it
+        UploadSessionDto session = attachmentService.createUploadSession(
+                new CreateUploadSessionDto(messageId, (long) CONTENT.length, "notes.txt", "text/plain"), authorId);
+        sendChunk(session.id(), 0);
+        sendChunk(session.id(), 5);
+        sendChunk(session.id(), 10);
+        sendChunk(session.id(), 15);
+        jdbcTemplate.update("INSERT INTO upload_session_writers (lease_id, session_id, expires_at) " +
+                "VALUES (?, ?, NOW(6) + INTERVAL 1 MINUTE)", "lost-writer", session.id());
+
+        // When / Then - a live claim still blocks completion
+        assertThatThrownBy(() -> attachmentService.completeUploadSession(session.id(), authorId))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.CONFLICT);
+
+        // When - the claim runs out
+        jdbcTemplate.update("UPDATE upload_session_writers SET expires_at = NOW(6) - INTERVAL 1 SECOND WHERE lease_id = ?",
+                "lost-writer");
+        AttachmentDto attachment = attachmentService.completeUploadSession(session.id(), authorId);
+
+        // Then
+        assertThat(attachment.checksumSha256()).isEqualTo(CONTENT_SHA256);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM upload_session_writers WHERE session_id = ?",
+                Integer.class, session.id())).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject chunks that are not on a chunk boundary or have the wrong length")
+    void testInvalidChunks() throws IOException {
+        // Given
+        UploadSessionDto session = attachmentService.createUploadSession(
+                new CreateUploadSessionDto(messageId, (long) CONTENT.length, "notes.txt", null), authorId);
+
+        // When / Then
+        assertThatThrownBy(() -> attachmentService.writeUploadChunk(session.id(), authorId, 3, 5,
+                new ByteArrayInputStream(CONTENT, 3, 5)))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThatThrownBy(() -> attachmentService.writeUploadChunk(session.id(), authorId, 15, 5,
+                new ByteArrayInputStream(CONTENT, 15, 1)))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThatThrownBy(() -> attachmentService.writeUploadChunk(session.id(), strangerId, 0, 5,
+                new ByteArrayInputStream(CONTENT, 0, 5)))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    @DisplayName("Should sweep expired upload sessions and their staging files")
+    void testSweepExpiredSessions() throws IOException {
+        // Given
+        UploadSessionDto session = attachmentService.createUploadSession(
+                new CreateUploadSessionDto(messageId, (long) CONTENT.length, "notes.txt", null), authorId);
+        sendChunk(session.id(), 0);
+        jdbcTemplate.update("UPDATE upload_sessions SET expires_at = NOW(6) - INTERVAL 1 MINUTE WHERE id = ?", session.id());
+
+        // When
+        uploadSessionSweeper.sweep();
+
+        // Then
+        assertThat(uploadStaging.path(session.id())).doesNotExist();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM upload_session_chunks WHERE session_id = ?",
+                Integer.class, session.id())).isZero();
+        assertThatThrownBy(() -> attachmentService.getUploadSession(session.id(), authorId))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should generate thumbnails of an uploaded image and link them to the attachment")
+    void testGenerateThumbnails() throws IOException {
+        // Given
+        BufferedImage image = new BufferedImage(400, 200, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 200, 200);
+        graphics.dispose();
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        AttachmentDto attachment = attachmentService.uploadAttachment(messageId, authorId, "chart.png", "image/png",
+                null, png.size(), new ByteArrayInputStream(png.toByteArray()));
+
+        // When
+        thumbnailGenerator.generate(attachment.checksumSha256());
+
+        // Then
+        assertThat(attachmentService.getAttachment(attachment.id(), authorId).thumbnailUrl())
+                .isEqualTo("/api/attachments/" + attachment.id() + "/thumbnail");
+
+        BufferedImage small = ImageIO.read(attachmentService.getThumbnail(attachment.id(), authorId, null).toFile());
+        assertThat(small.getWidth()).isEqualTo(160);
+        assertThat(small.getHeight()).isEqualTo(80);
+        assertThat(new Color(small.getRGB(40, 40)).getBlue()).isLessThan(60);
+        // The transparent half is flattened onto white
+        assertThat(new Color(small.getRGB(120, 40)).getBlue()).isGreaterThan(200);
+
+        // The source is smaller than the largest size and is not enlarged
+        BufferedImage large = ImageIO.read(attachmentService.getThumbnail(attachment.id(), authorId, 600).toFile());
+        assertThat(large.getWidth()).isEqualTo(400);
+        assertThat(large.getHeight()).isEqualTo(200);
+
+        assertThatThrownBy(() -> attachmentService.getThumbnail(attachment.id(), strangerId, null))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    @DisplayName("Should remove thumbnails finished after their blob was collected instead of linking them")
+    void testThumbnailsOfCollectedBlobAreRemoved() throws IOException {
+        // Given - thumbnails on disk for content whose blob row is already gone
+        String collectedKey = "cd".repeat(32);
+        for (int size : thumbnailStore.sizes()) {
+            thumbnailStore.write(collectedKey, size, new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB));
+        }
+
+        // When
+        thumbnailGenerator.generate(collectedKey);
+
+        // Then
+        assertThat(thumbnailStore.hasAll(collectedKey)).isFalse();
+        assertThat(thumbnailStore.find(collectedKey, null)).isEmpty();
+    }
+
+    private UploadSessionDto sendChunk(Long sessionId, int offset) throws IOException {
+        byte[] chunk = Arrays.copyOfRange(CONTENT, offset, Math.min(offset + 5, CONTENT.length));
+        return attachmentService.writeUploadChunk(sessionId, authorId, offset, chunk.length, new ByteArrayInputStream(chunk));
+    }
+
+    private AttachmentDto upload(Long uploaderId) throws IOException {
+        return attachmentService.uploadAttachment(messageId, uploaderId, "C:\\Users\\me\\notes.txt", "text/plain",
+                null, CONTENT.length, new ByteArrayInputStream(CONTENT));
+    }
+
+    private Integer refCount() {
+        return jdbcTemplate.queryForObject("SELECT ref_count FROM blobs WHERE storage_key = ?", Integer.class, CONTENT_SHA256);
+    }
+}
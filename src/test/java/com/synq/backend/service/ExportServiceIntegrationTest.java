@@ -0,0 +1,160 @@
+package com.synq.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synq.backend.AbstractIntegrationTest;
+import com.synq.backend.cache.MembershipIndex;
+import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.enums.MessageType;
+import com.synq.backend.exceptions.EndpointException;
+import com.synq.backend.model.Frequency;
+import com.synq.backend.model.Message;
+import com.synq.backend.model.User;
+import com.synq.backend.repository.FrequencyRepository;
+import com.synq.backend.repository.MessageRepository;
+import com.synq.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration test for ExportService - NDJSON streaming of a frequency's full history.
+ * Not transactional: the export reads through its own connection.
+ */
+class ExportServiceIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String USER_PREFIX = "export-test-";
+    private static final int MESSAGES = 3_000;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MembershipIndex membershipIndex;
+
+    @Autowired
+    private FrequencyRepository frequencyRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long ownerId;
+    private Long memberId;
+    private Long frequencyId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User owner = userRepository.save(User.builder()
+                    .username(USER_PREFIX + "owner")
+                    .email(USER_PREFIX + "owner@test.com")
+                    .build());
+            User member = userRepository.save(User.builder()
+                    .username(USER_PREFIX + "member")
+                    .email(USER_PREFIX + "member@test.com")
+                    .build());
+            Frequency frequency = frequencyRepository.save(Frequency.builder()
+                    .name("Export Test")
+                    .slug("export-test")
+                    .owner(owner)
+                    .build());
+
+            List<Message> messages = new ArrayList<>(MESSAGES);
+            for (int i = 1; i <= MESSAGES; i++) {
+                messages.add(Message.builder()
+                        .frequency(frequency)
+                        .author(owner)
+                        .seq((long) i)
+                        .content("Message " + i)
+                        .type(MessageType.TEXT)
+                        .metadata(Map.of("index", i))
+                        .deletedAt(i == MESSAGES ? LocalDateTime.now() : null)
+                        .build());
+            }
+            messageRepository.saveAll(messages);
+
+            ownerId = owner.getId();
+            memberId = member.getId();
+            frequencyId = frequency.getId();
+        });
+        membershipService.joinFrequency(ownerId, frequencyId, MembershipRole.OWNER, null);
+        membershipService.joinFrequency(memberId, frequencyId, MembershipRole.MEMBER, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM messages WHERE frequency_id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM memberships WHERE frequency_id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM frequencies WHERE id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", USER_PREFIX + "%");
+        membershipIndex.evict(frequencyId);
+    }
+
+    @Test
+    @DisplayName("Should stream every message, deleted ones included, as one JSON object per line in sequence order")
+    void testExportMessages() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long exported = exportService.exportMessages(frequencyId, ownerId, out);
+
+        // Then
+        assertThat(exported).isEqualTo(MESSAGES);
+        List<JsonNode> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new StringReader(out.toString(StandardCharsets.UTF_8)))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        assertThat(lines).hasSize(MESSAGES);
+        assertThat(lines.get(0).get("seq").asLong()).isEqualTo(1);
+        assertThat(lines.get(0).get("authorUsername").asText()).isEqualTo(USER_PREFIX + "owner");
+        assertThat(lines.get(0).get("metadata").get("index").asInt()).isEqualTo(1);
+        assertThat(lines.get(MESSAGES - 1).get("seq").asLong()).isEqualTo(MESSAGES);
+        assertThat(lines.get(MESSAGES - 1).get("deletedAt").isNull()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should only let the owner export a frequency")
+    void testExportRequiresOwner() {
+        assertThatThrownBy(() -> exportService.checkCanExport(frequencyId, memberId))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+    }
+}
@@ -0,0 +1,76 @@
+package com.synq.backend.service;
+
+import com.synq.backend.AbstractIntegrationTest;
+import com.synq.backend.dto.response.FrequencyDto;
+import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.model.Frequency;
+import com.synq.backend.model.User;
+import com.synq.backend.repository.FrequencyRepository;
+import com.synq.backend.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for FrequencyService - frequencies shared between users
+ */
+@Transactional
+class FrequencyServiceIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private FrequencyService frequencyService;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private FrequencyRepository frequencyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should list only the frequencies both users are members of")
+    void testFrequenciesInCommon() {
+        // Given
+        User alice = createUser("common-alice");
+        User bob = createUser("common-bob");
+        User carol = createUser("common-carol");
+        Frequency shared = createFrequency("common-shared", alice);
+        Frequency aliceOnly = createFrequency("common-alice-only", alice);
+        Frequency bobAndCarol = createFrequency("common-bob-carol", bob);
+
+        membershipService.joinFrequency(alice.getId(), shared.getId(), MembershipRole.OWNER, null);
+        membershipService.joinFrequency(bob.getId(), shared.getId(), MembershipRole.MEMBER, null);
+        membershipService.joinFrequency(alice.getId(), aliceOnly.getId(), MembershipRole.OWNER, null);
+        membershipService.joinFrequency(bob.getId(), bobAndCarol.getId(), MembershipRole.OWNER, null);
+        membershipService.joinFrequency(carol.getId(), bobAndCarol.getId(), MembershipRole.MEMBER, null);
+
+        // When / Then
+        assertThat(frequencyService.getFrequenciesInCommon(alice.getId(), bob.getId()))
+                .extracting(FrequencyDto::id)
+                .containsExactly(shared.getId());
+        assertThat(frequencyService.getFrequenciesInCommon(bob.getId(), carol.getId()))
+                .extracting(FrequencyDto::id)
+                .containsExactly(bobAndCarol.getId());
+        assertThat(frequencyService.getFrequenciesInCommon(alice.getId(), carol.getId())).isEmpty();
+    }
+
+    private User createUser(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@test.com")
+                .build());
+    }
+
+    private Frequency createFrequency(String slug, User owner) {
+        return frequencyRepository.save(Frequency.builder()
+                .name(slug)
+                .slug(slug)
+                .owner(owner)
+                .build());
+    }
+}
@@ -0,0 +1,152 @@
+package com.synq.backend.service;
+
+import com.synq.backend.AbstractIntegrationTest;
+import com.synq.backend.exceptions.EndpointException;
+import com.synq.backend.model.Frequency;
+import com.synq.backend.model.Invite;
+import com.synq.backend.model.User;
+import com.synq.backend.repository.FrequencyRepository;
+import com.synq.backend.repository.InviteRepository;
+import com.synq.backend.repository.MembershipRepository;
+import com.synq.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test for invite redemption: many simultaneous redemptions of one limited-use invite.
+ * Not transactional: every redemption must commit in its own transaction to race for real.
+ */
+@Slf4j
+class InviteRedemptionConcurrencyIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String USER_PREFIX = "invite-race-";
+    private static final String TOKEN = "invite-race-token";
+    private static final int REDEEMERS = 10_000;
+    private static final int MAX_USES = 1_000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private InviteService inviteService;
+
+    @Autowired
+    private InviteRepository inviteRepository;
+
+    @Autowired
+    private FrequencyRepository frequencyRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM invites WHERE token = ?", TOKEN);
+        jdbcTemplate.update("DELETE m FROM memberships m JOIN users u ON u.id = m.user_id WHERE u.username LIKE ?",
+                USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE f FROM frequencies f JOIN users u ON u.id = f.owner_id WHERE u.username LIKE ?",
+                USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", USER_PREFIX + "%");
+    }
+
+    @Test
+    @DisplayName("Should redeem a 1000-use invite exactly 1000 times under 10k simultaneous redemptions")
+    void testSimultaneousRedemptions() throws Exception {
+        // Given
+        List<Long> userIds = createUsers();
+        Long frequencyId = transactionTemplate.execute(status -> {
+            User owner = userRepository.getReferenceById(userIds.get(0));
+            Frequency frequency = frequencyRepository.save(Frequency.builder()
+                    .name("Invite Race")
+                    .slug("invite-race")
+                    .owner(owner)
+                    .maxParticipants(REDEEMERS)
+                    .build());
+            inviteRepository.save(Invite.builder()
+                    .frequency(frequency)
+                    .inviter(owner)
+                    .token(TOKEN)
+                    .expiresAt(LocalDateTime.now().plusDays(1))
+                    .maxUses(MAX_USES)
+                    .build());
+            return frequency.getId();
+        });
+
+        AtomicInteger redeemed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // When
+        long startNanos;
+        try {
+            List<Future<?>> futures = new ArrayList<>(REDEEMERS);
+            for (Long userId : userIds) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        inviteService.redeemInvite(TOKEN, userId);
+                        redeemed.incrementAndGet();
+                    } catch (EndpointException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        log.info("{} redemptions on {} threads in {} ms ({} redemptions/s)",
+                REDEEMERS, THREADS, elapsedMillis, REDEEMERS * 1000L / Math.max(1, elapsedMillis));
+
+        // Then
+        assertThat(redeemed).hasValue(MAX_USES);
+        assertThat(rejected).hasValue(REDEEMERS - MAX_USES);
+        assertThat(inviteRepository.findByToken(TOKEN).orElseThrow().getUsesCount()).isEqualTo(MAX_USES);
+        assertThat(membershipRepository.countByFrequencyId(frequencyId)).isEqualTo(MAX_USES);
+    }
+
+    private List<Long> createUsers() {
+        return transactionTemplate.execute(status -> {
+            List<User> users = new ArrayList<>(REDEEMERS);
+            for (int i = 0; i < REDEEMERS; i++) {
+                users.add(User.builder()
+                        .username(USER_PREFIX + i)
+                        .email(USER_PREFIX + i + "@test.com")
+                        .build());
+            }
+            return userRepository.saveAll(users).stream().map(User::getId).toList();
+        });
+    }
+}
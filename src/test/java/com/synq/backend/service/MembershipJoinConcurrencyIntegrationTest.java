@@ -0,0 +1,164 @@
+package com.synq.backend.service;
+
+import com.synq.backend.AbstractIntegrationTest;
+import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.exceptions.EndpointException;
+import com.synq.backend.model.Frequency;
+import com.synq.backend.model.User;
+import com.synq.backend.repository.FrequencyRepository;
+import com.synq.backend.repository.MembershipRepository;
+import com.synq.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrency test and throughput benchmark for joinFrequency capacity enforcement.
+ * Not transactional: every join must commit in its own transaction to race for real.
+ */
+@Slf4j
+class MembershipJoinConcurrencyIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String USER_PREFIX = "join-race-";
+    private static final int JOINERS = 2_000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private FrequencyRepository frequencyRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Long> userIds;
+
+    @BeforeEach
+    void setUp() {
+        userIds = transactionTemplate.execute(status -> {
+            List<User> users = new ArrayList<>(JOINERS);
+            for (int i = 0; i < JOINERS; i++) {
+                users.add(User.builder()
+                        .username(USER_PREFIX + i)
+                        .email(USER_PREFIX + i + "@test.com")
+                        .build());
+            }
+            return userRepository.saveAll(users).stream().map(User::getId).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE m FROM memberships m JOIN users u ON u.id = m.user_id WHERE u.username LIKE ?",
+                USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE f FROM frequencies f JOIN users u ON u.id = f.owner_id WHERE u.username LIKE ?",
+                USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", USER_PREFIX + "%");
+    }
+
+    @Test
+    @DisplayName("Should never exceed maxParticipants under thousands of parallel joins")
+    void testParallelJoinsRespectCapacity() throws Exception {
+        // Given
+        int capacity = 500;
+        Long frequencyId = createFrequency("join-race-capacity", capacity);
+
+        // When
+        JoinResult result = joinAll(frequencyId);
+
+        // Then
+        assertThat(result.joined()).isEqualTo(capacity);
+        assertThat(result.rejected()).isEqualTo(JOINERS - capacity);
+        assertThat(membershipRepository.countByFrequencyId(frequencyId)).isEqualTo(capacity);
+        assertThat(frequencyRepository.findById(frequencyId).orElseThrow().getMemberCount()).isEqualTo(capacity);
+    }
+
+    @Test
+    @DisplayName("Should keep member_count equal to the membership rows when every join fits")
+    void testJoinThroughput() throws Exception {
+        // Given
+        Long frequencyId = createFrequency("join-race-throughput", JOINERS);
+
+        // When
+        long start = System.nanoTime();
+        JoinResult result = joinAll(frequencyId);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("{} joins on {} threads in {} ms ({} joins/s)",
+                JOINERS, THREADS, elapsedMillis, JOINERS * 1000L / Math.max(1, elapsedMillis));
+
+        // Then
+        assertThat(result.joined()).isEqualTo(JOINERS);
+        assertThat(frequencyRepository.findById(frequencyId).orElseThrow().getMemberCount())
+                .isEqualTo((int) membershipRepository.countByFrequencyId(frequencyId));
+    }
+
+    private Long createFrequency(String slug, int capacity) {
+        return transactionTemplate.execute(status -> frequencyRepository.save(Frequency.builder()
+                .name(slug)
+                .slug(slug)
+                .owner(userRepository.getReferenceById(userIds.get(0)))
+                .maxParticipants(capacity)
+                .build()).getId());
+    }
+
+    private JoinResult joinAll(Long frequencyId) throws Exception {
+        AtomicInteger joined = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>(JOINERS);
+            for (Long userId : userIds) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        membershipService.joinFrequency(userId, frequencyId, MembershipRole.MEMBER, null);
+                        joined.incrementAndGet();
+                    } catch (EndpointException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new JoinResult(joined.get(), rejected.get());
+    }
+
+    private record JoinResult(int joined, int rejected) {
+    }
+}
@@ -0,0 +1,151 @@
+package com.synq.backend.service;
+
+import com.synq.backend.AbstractIntegrationTest;
+import com.synq.backend.dto.response.MessageDto;
+import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.enums.MessageType;
+import com.synq.backend.model.Attachment;
+import com.synq.backend.model.Frequency;
+import com.synq.backend.model.Membership;
+import com.synq.backend.model.Message;
+import com.synq.backend.model.User;
+import com.synq.backend.repository.AttachmentRepository;
+import com.synq.backend.repository.FrequencyRepository;
+import com.synq.backend.repository.MembershipRepository;
+import com.synq.backend.repository.MessageRepository;
+import com.synq.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regression test guarding message page reads against N+1 lazy loading, attachments included
+ */
+@Transactional
+class MessageQueryCountIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int AUTHORS = 20;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FrequencyRepository frequencyRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Frequency testFrequency;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .username("querycount-owner")
+                .email("querycount-owner@test.com")
+                .build());
+
+        testFrequency = frequencyRepository.save(Frequency.builder()
+                .name("Query Count Frequency")
+                .slug("query-count-frequency")
+                .isPrivate(false)
+                .owner(owner)
+                .maxParticipants(100)
+                .build());
+
+        // One distinct author per message so lazy author loads cannot be served from the session
+        Message previous = null;
+        for (int i = 0; i < AUTHORS; i++) {
+            User author = userRepository.save(User.builder()
+                    .username("querycount-" + i)
+                    .email("querycount-" + i + "@test.com")
+                    .build());
+            membershipRepository.save(Membership.builder()
+                    .user(author)
+                    .frequency(testFrequency)
+                    .role(MembershipRole.MEMBER)
+                    .joinedAt(LocalDateTime.now())
+                    .build());
+            previous = messageRepository.save(Message.builder()
+                    .frequency(testFrequency)
+                    .author(author)
+                    .content("Message " + i)
+                    .type(MessageType.TEXT)
+                    .replyTo(previous)
+                    .build());
+
+            for (int j = 0; j < attachmentsOf(i); j++) {
+                attachmentRepository.save(Attachment.builder()
+                        .message(previous)
+                        .uploader(author)
+                        .fileName("file-" + i + "-" + j + ".txt")
+                        .mimeType("text/plain")
+                        .sizeBytes(1L)
+                        .storageKey("0".repeat(64))
+                        .fileUrl("")
+                        .build());
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should load a page of messages and all their attachments with two SQL statements")
+    void testMessagePageStatementCount() {
+        // Given
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        // When - second page bypasses the hot message cache
+        List<MessageDto> messages = messageService.getMessagesByFrequency(
+                testFrequency.getId(), PageRequest.of(1, 10));
+
+        // Then
+        assertThat(messages).hasSize(10);
+        assertThat(messages).allSatisfy(message -> {
+            assertThat(message.authorUsername()).startsWith("querycount-");
+            assertThat(message.frequencyId()).isEqualTo(testFrequency.getId());
+        });
+        assertThat(messages).allSatisfy(message -> assertThat(message.attachments())
+                .hasSize(attachmentsOf(Integer.parseInt(message.content().substring("Message ".length()))))
+                .allSatisfy(attachment -> assertThat(attachment.messageId()).isEqualTo(message.id())));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * Every other message has attachments, one of them several
+     */
+    private static int attachmentsOf(int index) {
+        if (index % 2 == 0) {
+            return 0;
+        }
+        return index == 5 ? 3 : 1;
+    }
+}
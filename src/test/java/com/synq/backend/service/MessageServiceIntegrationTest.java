@@ -2,9 +2,13 @@ package com.synq.backend.service;
 
 import com.synq.backend.AbstractIntegrationTest;
 import com.synq.backend.dto.request.CreateMessageDto;
+import com.synq.backend.dto.response.CursorPageDto;
 import com.synq.backend.dto.response.MessageDto;
+import com.synq.backend.dto.response.UnreadCountDto;
+import com.synq.backend.enums.CursorDirection;
 import com.synq.backend.enums.MembershipRole;
 import com.synq.backend.enums.MessageType;
+import com.synq.backend.exceptions.EndpointException;
 import com.synq.backend.model.Frequency;
 import com.synq.backend.model.Membership;
 import com.synq.backend.model.User;
@@ -12,16 +16,22 @@ import com.synq.backend.repository.FrequencyRepository;
 import com.synq.backend.repository.MembershipRepository;
 import com.synq.backend.repository.MessageRepository;
 import com.synq.backend.repository.UserRepository;
+import com.synq.backend.repository.projection.MessageRow;
+import com.synq.backend.sync.ReadMarkerWriteBehind;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Integration test for MessageService - tests message posting and persistence
@@ -44,6 +54,12 @@ class MessageServiceIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private MessageRepository messageRepository;
 
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private ReadMarkerWriteBehind readMarkerWriteBehind;
+
     private User testUser;
     private Frequency testFrequency;
 
@@ -162,5 +178,203 @@ class MessageServiceIntegrationTest extends AbstractIntegrationTest {
         assertThat(messages).extracting(MessageDto::content)
                 .containsExactly("Message 3", "Message 2", "Message 1");
     }
-}
 
+    @Test
+    @DisplayName("Should page through messages with keyset cursor in both directions")
+    void testGetMessagesByFrequencyKeyset() {
+        // Given - post multiple messages
+        for (int i = 1; i <= 5; i++) {
+            CreateMessageDto dto = new CreateMessageDto(
+                    testFrequency.getId(),
+                    "Message " + i,
+                    MessageType.TEXT,
+                    null,
+                    null
+            );
+            messageService.postMessage(dto, testUser.getId());
+        }
+
+        // When - walk back from the newest message two at a time
+        List<String> contents = new ArrayList<>();
+        CursorPageDto<MessageDto> page = messageService.getMessagesByFrequencyKeyset(
+                testFrequency.getId(), null, CursorDirection.OLDER, 2);
+        contents.addAll(page.items().stream().map(MessageDto::content).toList());
+        while (page.nextCursor() != null) {
+            page = messageService.getMessagesByFrequencyKeyset(
+                    testFrequency.getId(), page.nextCursor(), CursorDirection.OLDER, 2);
+            contents.addAll(page.items().stream().map(MessageDto::content).toList());
+        }
+
+        // Then - every message is returned exactly once, newest first
+        assertThat(contents).containsExactly("Message 5", "Message 4", "Message 3", "Message 2", "Message 1");
+
+        // And - reading newer from the oldest page returns the following messages
+        CursorPageDto<MessageDto> newer = messageService.getMessagesByFrequencyKeyset(
+                testFrequency.getId(), page.prevCursor(), CursorDirection.NEWER, 2);
+        assertThat(newer.items()).extracting(MessageDto::content)
+                .containsExactly("Message 3", "Message 2");
+        assertThat(newer.prevCursor()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should number messages densely and count unread from the read marker")
+    void testSequenceAndUnreadCounts() {
+        // Given
+        User otherUser = createOtherMember();
+        List<MessageDto> posted = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            posted.add(post(otherUser, "Message " + i));
+        }
+
+        // When - scrolling advances the marker several times, out of order
+        membershipService.markRead(testUser.getId(), testFrequency.getId(), posted.get(1).id());
+        membershipService.markRead(testUser.getId(), testFrequency.getId(), posted.get(3).id());
+        membershipService.markRead(testUser.getId(), testFrequency.getId(), posted.get(2).id());
+
+        // Then - the pending marker is visible before it is written
+        assertThat(messageRepository.findSeqByIdAndFrequencyId(posted.get(4).id(), testFrequency.getId()))
+                .contains(5L);
+        assertThat(unreadFor(testFrequency.getId()).unreadCount()).isEqualTo(1);
+
+        // And after the coalesced write
+        readMarkerWriteBehind.flush();
+        assertThat(readMarkerWriteBehind.pending(testUser.getId(), testFrequency.getId())).isEmpty();
+        UnreadCountDto unread = unreadFor(testFrequency.getId());
+        assertThat(unread.unreadCount()).isEqualTo(1);
+        assertThat(unread.lastReadMessageId()).isEqualTo(posted.get(3).id());
+    }
+
+    @Test
+    @DisplayName("Should move the author's read marker to their own post, so it is never unread")
+    void testOwnPostAdvancesReadMarker() {
+        // Given - another member's message is unread
+        User otherUser = createOtherMember();
+        MessageDto earlier = post(otherUser, "Earlier");
+        assertThat(unreadFor(testFrequency.getId()).unreadCount()).isEqualTo(1);
+
+        // When - the reader posts
+        MessageDto own = post(testUser, "Own");
+
+        // Then - their marker is on their post, written with it
+        UnreadCountDto unread = unreadFor(testFrequency.getId());
+        assertThat(unread.lastReadMessageId()).isEqualTo(own.id());
+        assertThat(unread.unreadCount()).isZero();
+        assertThat(readMarkerWriteBehind.pending(testUser.getId(), testFrequency.getId())).isEmpty();
+
+        // And only later messages of others count, even after marking an older one read
+        post(otherUser, "Later");
+        membershipService.markRead(testUser.getId(), testFrequency.getId(), earlier.id());
+        unread = unreadFor(testFrequency.getId());
+        assertThat(unread.lastReadMessageId()).isEqualTo(own.id());
+        assertThat(unread.unreadCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the thread summary on the parent and page replies by keyset")
+    void testThreadSummaryAndRepliesKeyset() {
+        // Given
+        MessageDto parent = messageService.postMessage(new CreateMessageDto(
+                testFrequency.getId(), "Thread start", MessageType.TEXT, null, null), testUser.getId());
+        List<MessageDto> replies = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            replies.add(messageService.postMessage(new CreateMessageDto(
+                    testFrequency.getId(), "Reply " + i, MessageType.TEXT, parent.id(), null), testUser.getId()));
+        }
+
+        // When - the newest reply is deleted
+        messageService.deleteMessage(replies.get(3).id(), testUser.getId());
+
+        // Then - count and last reply time follow, without loading the replies
+        MessageRow summary = row(parent.id());
+        assertThat(summary.replyCount()).isEqualTo(3);
+        assertThat(summary.lastReplyAt()).isEqualTo(row(replies.get(2).id()).createdAt());
+
+        // And the remaining replies come back oldest first, one per page
+        List<String> contents = new ArrayList<>();
+        CursorPageDto<MessageDto> page = replies(parent, null, CursorDirection.NEWER);
+        assertThat(page.prevCursor()).isNull();
+        contents.addAll(page.items().stream().map(MessageDto::content).toList());
+        while (page.nextCursor() != null) {
+            page = replies(parent, page.nextCursor(), CursorDirection.NEWER);
+            contents.addAll(page.items().stream().map(MessageDto::content).toList());
+        }
+        assertThat(contents).containsExactly("Reply 1", "Reply 2", "Reply 3");
+
+        // And following prevCursor back from the last page returns the earlier pages
+        CursorPageDto<MessageDto> previous = replies(parent, page.prevCursor(), CursorDirection.OLDER);
+        assertThat(previous.items()).extracting(MessageDto::content).containsExactly("Reply 2");
+        previous = replies(parent, previous.prevCursor(), CursorDirection.OLDER);
+        assertThat(previous.items()).extracting(MessageDto::content).containsExactly("Reply 1");
+        assertThat(previous.prevCursor()).isNull();
+
+        // And nextCursor of a backward page continues forward again
+        assertThat(replies(parent, previous.nextCursor(), CursorDirection.NEWER).items())
+                .extracting(MessageDto::content).containsExactly("Reply 2");
+    }
+
+    @Test
+    @DisplayName("Should let only members read the messages of a private frequency")
+    void testCheckCanReadPrivateFrequency() {
+        // Given
+        Frequency privateFrequency = frequencyRepository.save(Frequency.builder()
+                .name("Private Frequency")
+                .slug("private-frequency")
+                .isPrivate(true)
+                .owner(testUser)
+                .maxParticipants(100)
+                .build());
+        membershipRepository.save(Membership.builder()
+                .user(testUser)
+                .frequency(privateFrequency)
+                .role(MembershipRole.OWNER)
+                .joinedAt(LocalDateTime.now())
+                .build());
+        User outsider = userRepository.save(User.builder()
+                .username("messagetest-outsider")
+                .email("message-outsider@test.com")
+                .build());
+
+        // When / Then
+        messageService.checkCanRead(privateFrequency.getId(), testUser.getId());
+        assertThatThrownBy(() -> messageService.checkCanRead(privateFrequency.getId(), outsider.getId()))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    private User createOtherMember() {
+        User otherUser = userRepository.save(User.builder()
+                .username("messagetest-other")
+                .email("message-other@test.com")
+                .build());
+        membershipRepository.save(Membership.builder()
+                .user(otherUser)
+                .frequency(testFrequency)
+                .role(MembershipRole.MEMBER)
+                .joinedAt(LocalDateTime.now())
+                .build());
+        return otherUser;
+    }
+
+    private MessageDto post(User author, String content) {
+        return messageService.postMessage(new CreateMessageDto(
+                testFrequency.getId(), content, MessageType.TEXT, null, new HashMap<>()), author.getId());
+    }
+
+    private CursorPageDto<MessageDto> replies(MessageDto parent, String cursor, CursorDirection direction) {
+        return messageService.getRepliesKeyset(testFrequency.getId(), parent.id(), cursor, direction, 1);
+    }
+
+    private MessageRow row(Long messageId) {
+        return messageRepository.findRowsByFrequencyIdAndIdIn(testFrequency.getId(), List.of(messageId)).stream()
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private UnreadCountDto unreadFor(Long frequencyId) {
+        return membershipService.getUnreadCounts(testUser.getId()).stream()
+                .filter(unread -> unread.frequencyId().equals(frequencyId))
+                .findFirst()
+                .orElseThrow();
+    }
+}
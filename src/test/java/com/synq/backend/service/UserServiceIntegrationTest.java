@@ -4,11 +4,15 @@ import com.synq.backend.AbstractIntegrationTest;
 import com.synq.backend.dto.response.UserDto;
 import com.synq.backend.model.User;
 import com.synq.backend.repository.UserRepository;
+import com.synq.backend.security.LastLoginWriteBehind;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -23,6 +27,12 @@ class UserServiceIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private LastLoginWriteBehind lastLoginWriteBehind;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     @DisplayName("Should provision user from Keycloak on first login")
     void testProvisionUserFromKeycloak() {
@@ -82,5 +92,43 @@ class UserServiceIntegrationTest extends AbstractIntegrationTest {
         assertThat(foundUser.keycloakExternalId()).isEqualTo(keycloakExternalId);
         assertThat(foundUser.id()).isEqualTo(user.getId());
     }
-}
 
+    @Test
+    @DisplayName("Should coalesce repeated logins and write only the newest timestamp")
+    void testLastLoginCoalesced() {
+        // Given
+        User user = userService.provisionUserFromKeycloak("keycloak-sub-login", "loginuser", "login@example.com");
+        userRepository.flush();
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+        // When
+        lastLoginWriteBehind.record(user.getId(), base.plusMinutes(1));
+        lastLoginWriteBehind.record(user.getId(), base.plusMinutes(3));
+        lastLoginWriteBehind.record(user.getId(), base.plusMinutes(2));
+        lastLoginWriteBehind.flush();
+
+        // Then
+        assertThat(lastLoginAt(user.getId())).isEqualTo(base.plusMinutes(3));
+    }
+
+    @Test
+    @DisplayName("Should not overwrite a newer persisted login timestamp")
+    void testLastLoginNeverRegresses() {
+        // Given
+        User user = userService.provisionUserFromKeycloak("keycloak-sub-login-2", "loginuser2", "login2@example.com");
+        userRepository.flush();
+        LocalDateTime newer = LocalDateTime.of(2030, 6, 1, 12, 0);
+        jdbcTemplate.update("UPDATE users SET last_login_at = ? WHERE id = ?", newer, user.getId());
+
+        // When
+        lastLoginWriteBehind.record(user.getId(), newer.minusHours(1));
+        lastLoginWriteBehind.flush();
+
+        // Then
+        assertThat(lastLoginAt(user.getId())).isEqualTo(newer);
+    }
+
+    private LocalDateTime lastLoginAt(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT last_login_at FROM users WHERE id = ?", LocalDateTime.class, userId);
+    }
+}
@@ -0,0 +1,200 @@
+package com.synq.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.synq.backend.config.AuditProperties;
+import com.synq.backend.enums.AuditOverflowPolicy;
+import com.synq.backend.model.AuditLog;
+import com.synq.backend.repository.AuditLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for AuditServiceImpl - the overflow policies of the audit queue.
+ * Events are recorded before the writer starts, so the queue fills deterministically.
+ */
+class AuditServiceImplTest {
+
+    private static final int CAPACITY = 2;
+
+    @TempDir
+    private Path directory;
+
+    private final List<String> saved = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditServiceImpl auditService;
+
+    @AfterEach
+    void tearDown() {
+        if (auditService != null && auditService.isRunning()) {
+            auditService.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("BLOCK should drop an event that finds no room before the timeout")
+    void testBlock() {
+        // Given
+        auditService = auditService(AuditOverflowPolicy.BLOCK);
+
+        // When
+        recordActions("A0", "A1", "A2");
+        auditService.start();
+        auditService.stop();
+
+        // Then
+        assertThat(saved).containsExactly("A0", "A1");
+        assertThat(outcome("dropped")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("BLOCK should wait for the writer to make room while it is running")
+    void testBlockWithWriter() {
+        // Given
+        auditService = auditService(AuditOverflowPolicy.BLOCK);
+        auditService.start();
+
+        // When
+        recordActions("A0", "A1", "A2", "A3", "A4", "A5");
+        auditService.stop();
+
+        // Then
+        assertThat(saved).containsExactly("A0", "A1", "A2", "A3", "A4", "A5");
+        assertThat(outcome("dropped")).isZero();
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST should evict the head of the queue to make room")
+    void testDropOldest() {
+        // Given
+        auditService = auditService(AuditOverflowPolicy.DROP_OLDEST);
+
+        // When
+        recordActions("A0", "A1", "A2", "A3");
+        auditService.start();
+        auditService.stop();
+
+        // Then
+        assertThat(saved).containsExactly("A2", "A3");
+        assertThat(outcome("dropped")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("SPILL should write overflow to the spill file and replay it once the writer is idle")
+    void testSpill() throws InterruptedException {
+        // Given
+        auditService = auditService(AuditOverflowPolicy.SPILL);
+
+        // When
+        recordActions("A0", "A1", "A2", "A3");
+        auditService.start();
+        awaitSaved(4);
+        auditService.stop();
+
+        // Then
+        assertThat(saved).containsExactly("A0", "A1", "A2", "A3");
+        assertThat(outcome("spilled")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("SPILL should spill a batch that fails to insert and persist it on replay")
+    void testSpillFailedBatch() throws InterruptedException {
+        // Given
+        auditService = auditService(AuditOverflowPolicy.SPILL);
+        failuresLeft.set(1);
+
+        // When
+        recordActions("A0", "A1");
+        auditService.start();
+        awaitSaved(2);
+        auditService.stop();
+
+        // Then
+        assertThat(saved).containsExactly("A0", "A1");
+        assertThat(outcome("spilled")).isEqualTo(2);
+        assertThat(outcome("failed")).isZero();
+    }
+
+    private AuditServiceImpl auditService(AuditOverflowPolicy policy) {
+        AuditProperties properties = new AuditProperties();
+        properties.setQueueCapacity(CAPACITY);
+        properties.setBatchSize(CAPACITY);
+        properties.setFlushInterval(Duration.ofMillis(20));
+        properties.setBlockTimeout(Duration.ofMillis(200));
+        properties.setOverflowPolicy(policy);
+        properties.setSpillFile(directory.resolve("audit-spill.ndjson").toString());
+        return new AuditServiceImpl(properties, repository(), new NoOpTransactionManager(),
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+    }
+
+    private void recordActions(String... actionTypes) {
+        for (String actionType : actionTypes) {
+            auditService.record("user", actionType, "MESSAGE", "m1", Map.of());
+        }
+    }
+
+    private void awaitSaved(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (saved.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.counter("synq.audit.events", "outcome", outcome).count();
+    }
+
+    /**
+     * Repository that records the action types passed to saveAll, failing while failuresLeft is positive
+     */
+    @SuppressWarnings("unchecked")
+    private AuditLogRepository repository() {
+        return (AuditLogRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{AuditLogRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("saveAll")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                        throw new IllegalStateException("insert failed");
+                    }
+                    for (AuditLog log : (Iterable<AuditLog>) args[0]) {
+                        saved.add(log.getActionType());
+                    }
+                    return args[0];
+                });
+    }
+
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
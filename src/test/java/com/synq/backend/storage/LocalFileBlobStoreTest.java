@@ -0,0 +1,185 @@
+package com.synq.backend.storage;
+
+import com.synq.backend.config.StorageProperties;
+import com.synq.backend.exceptions.EndpointException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for LocalFileBlobStore and BlobDownloadWriter - streamed writes, content addressing and byte ranges
+ */
+class LocalFileBlobStoreTest {
+
+    private static final int SIZE = 100_000;
+
+    @TempDir
+    Path root;
+
+    private final byte[] content = new byte[SIZE];
+    private LocalFileBlobStore blobStore;
+    private BlobDownloadWriter writer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        new Random(42).nextBytes(content);
+
+        StorageProperties properties = new StorageProperties();
+        properties.setRootPath(root.toString());
+        // Small transfers so a single upload takes several transferFrom calls
+        properties.setTransferChunkSize(DataSize.ofKilobytes(4));
+        blobStore = new LocalFileBlobStore(properties);
+        writer = new BlobDownloadWriter(blobStore, properties);
+    }
+
+    @Test
+    @DisplayName("Should stream a body to a blob keyed by its SHA-256")
+    void testWrite() throws IOException, NoSuchAlgorithmException {
+        // When
+        StagedBlob blob = write(SIZE);
+
+        // Then
+        assertThat(blob.sizeBytes()).isEqualTo(SIZE);
+        assertThat(blob.sha256()).isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)));
+        assertThat(blob.file()).doesNotExist();
+        try (FileChannel channel = blobStore.open(blob.sha256())) {
+            assertThat(Channels.newInputStream(channel).readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a body over the size limit and keep nothing")
+    void testWriteTooLarge() throws IOException {
+        assertThatThrownBy(() -> write(SIZE - 1))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+
+        try (Stream<Path> files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the stored copy and drop the staged one when identical content is stored again")
+    void testStoreIdenticalContent() throws IOException {
+        // Given
+        StagedBlob first = write(SIZE);
+        Path stored = blobStore.localPath(first.sha256()).orElseThrow();
+        FileTime storedAt = Files.getLastModifiedTime(stored);
+
+        // When
+        StagedBlob second = blobStore.stage(Channels.newChannel(new ByteArrayInputStream(content)), SIZE);
+        blobStore.store(second);
+
+        // Then
+        assertThat(second.sha256()).isEqualTo(first.sha256());
+        assertThat(second.file()).doesNotExist();
+        assertThat(Files.getLastModifiedTime(stored)).isEqualTo(storedAt);
+    }
+
+    @Test
+    @DisplayName("Should serve the whole blob, a byte range and a suffix range")
+    void testDownloadRanges() throws IOException {
+        // Given
+        BlobDownload download = download(write(SIZE));
+
+        // When
+        MockHttpServletResponse full = get(download, null);
+        MockHttpServletResponse range = get(download, "bytes=1000-1999");
+        MockHttpServletResponse suffix = get(download, "bytes=-10");
+
+        // Then
+        assertThat(full.getStatus()).isEqualTo(200);
+        assertThat(full.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(full.getContentAsByteArray()).isEqualTo(content);
+
+        assertThat(range.getStatus()).isEqualTo(206);
+        assertThat(range.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 1000-1999/" + SIZE);
+        assertThat(range.getContentLengthLong()).isEqualTo(1000);
+        assertThat(range.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 1000, 2000));
+
+        assertThat(suffix.getStatus()).isEqualTo(206);
+        assertThat(suffix.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, SIZE - 10, SIZE));
+    }
+
+    @Test
+    @DisplayName("Should answer 416 for a range past the end of the blob")
+    void testUnsatisfiableRange() throws IOException {
+        // Given
+        BlobDownload download = download(write(SIZE));
+
+        // When
+        MockHttpServletResponse response = get(download, "bytes=" + SIZE + "-");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + SIZE);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should hand the file region to the connector when it supports sendfile")
+    void testSendfile() throws IOException {
+        // Given
+        StagedBlob blob = write(SIZE);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/attachments/1/content");
+        request.setAttribute(BlobDownloadWriter.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=50000-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        writer.write(download(blob), request, response);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(BlobDownloadWriter.SENDFILE_FILENAME))
+                .isEqualTo(blobStore.localPath(blob.sha256()).orElseThrow().toString());
+        assertThat(request.getAttribute(BlobDownloadWriter.SENDFILE_START)).isEqualTo(50_000L);
+        assertThat(request.getAttribute(BlobDownloadWriter.SENDFILE_END)).isEqualTo((long) SIZE);
+    }
+
+    private StagedBlob write(long maxBytes) throws IOException {
+        StagedBlob staged = blobStore.stage(Channels.newChannel(new ByteArrayInputStream(content)), maxBytes);
+        blobStore.store(staged);
+        return staged;
+    }
+
+    private static BlobDownload download(StagedBlob blob) {
+        return new BlobDownload(blob.sha256(), blob.sizeBytes(), "application/octet-stream", "data.bin", blob.sha256());
+    }
+
+    private MockHttpServletResponse get(BlobDownload download, String range) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/attachments/1/content");
+        if (range != null) {
+            request.addHeader(HttpHeaders.RANGE, range);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        writer.write(download, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,79 @@
+package com.synq.backend.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for ThumbnailRenderer - subsampled decoding and aspect-preserving scaling
+ */
+class ThumbnailRendererTest {
+
+    @Test
+    @DisplayName("Should subsample a large image while decoding but keep twice the requested size")
+    void testDecodeSubsamples() throws IOException {
+        // Given
+        byte[] png = png(new BufferedImage(3000, 1000, BufferedImage.TYPE_INT_RGB));
+
+        // When
+        BufferedImage decoded;
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(png))) {
+            decoded = ThumbnailRenderer.decode(input, 500, Long.MAX_VALUE);
+        }
+
+        // Then
+        assertThat(decoded.getWidth()).isEqualTo(1000);
+        assertThat(decoded.getHeight()).isEqualTo(334);
+    }
+
+    @Test
+    @DisplayName("Should refuse images that stay too large after subsampling, and content that is not an image")
+    void testDecodeRejects() throws IOException {
+        byte[] png = png(new BufferedImage(1000, 1000, BufferedImage.TYPE_INT_RGB));
+
+        assertThatThrownBy(() -> {
+            try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(png))) {
+                ThumbnailRenderer.decode(input, 1000, 100_000);
+            }
+        }).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> {
+            try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(new byte[]{1, 2, 3}))) {
+                ThumbnailRenderer.decode(input, 100, Long.MAX_VALUE);
+            }
+        }).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("Should scale the longest side down to the requested size in steps and never enlarge")
+    void testScale() {
+        // Given
+        BufferedImage tall = new BufferedImage(300, 1200, BufferedImage.TYPE_INT_ARGB);
+
+        // When
+        BufferedImage scaled = ThumbnailRenderer.scale(tall, 160);
+        BufferedImage unchanged = ThumbnailRenderer.scale(tall, 2000);
+
+        // Then
+        assertThat(scaled.getWidth()).isEqualTo(40);
+        assertThat(scaled.getHeight()).isEqualTo(160);
+        assertThat(scaled.getType()).isEqualTo(BufferedImage.TYPE_INT_RGB);
+        assertThat(unchanged.getWidth()).isEqualTo(300);
+        assertThat(unchanged.getHeight()).isEqualTo(1200);
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
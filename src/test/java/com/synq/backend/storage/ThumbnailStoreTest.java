@@ -0,0 +1,67 @@
+package com.synq.backend.storage;
+
+import com.synq.backend.config.StorageProperties;
+import com.synq.backend.config.ThumbnailProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for ThumbnailStore - size selection and keys that cannot name a blob
+ */
+class ThumbnailStoreTest {
+
+    private static final String KEY = "ab".repeat(32);
+
+    @TempDir
+    Path root;
+
+    private ThumbnailStore thumbnailStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StorageProperties storageProperties = new StorageProperties();
+        storageProperties.setRootPath(root.toString());
+        ThumbnailProperties properties = new ThumbnailProperties();
+        properties.setSizes(List.of(640, 160));
+        thumbnailStore = new ThumbnailStore(storageProperties, properties);
+    }
+
+    @Test
+    @DisplayName("Should pick the smallest size covering the request, or the largest one")
+    void testFindSize() throws IOException {
+        // Given
+        for (int size : thumbnailStore.sizes()) {
+            thumbnailStore.write(KEY, size, new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB));
+        }
+
+        // When / Then
+        assertThat(thumbnailStore.sizes()).containsExactly(160, 640);
+        assertThat(thumbnailStore.hasAll(KEY)).isTrue();
+        assertThat(thumbnailStore.find(KEY, null)).hasValueSatisfying(path -> assertThat(path).hasFileName(KEY + "-160.jpg"));
+        assertThat(thumbnailStore.find(KEY, 161)).hasValueSatisfying(path -> assertThat(path).hasFileName(KEY + "-640.jpg"));
+        assertThat(thumbnailStore.find(KEY, 2000)).hasValueSatisfying(path -> assertThat(path).hasFileName(KEY + "-640.jpg"));
+
+        thumbnailStore.deleteAll(KEY);
+        assertThat(thumbnailStore.hasAll(KEY)).isFalse();
+        assertThat(thumbnailStore.find(KEY, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find nothing for a missing or malformed key instead of failing")
+    void testFindInvalidKey() {
+        // When / Then
+        assertThat(thumbnailStore.find(null, null)).isEmpty();
+        assertThat(thumbnailStore.find("", 160)).isEmpty();
+        assertThat(thumbnailStore.find("../../etc/passwd", null)).isEmpty();
+        assertThat(thumbnailStore.find(KEY.toUpperCase(), null)).isEmpty();
+    }
+}
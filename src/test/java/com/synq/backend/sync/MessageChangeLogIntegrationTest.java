@@ -0,0 +1,167 @@
+package com.synq.backend.sync;
+
+import com.synq.backend.AbstractIntegrationTest;
+import com.synq.backend.cache.MembershipIndex;
+import com.synq.backend.dto.request.CreateMessageDto;
+import com.synq.backend.dto.request.UpdateMessageDto;
+import com.synq.backend.dto.response.MessageChangeDto;
+import com.synq.backend.dto.response.MessageChangesDto;
+import com.synq.backend.dto.response.MessageDto;
+import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.enums.MessageEventType;
+import com.synq.backend.enums.MessageType;
+import com.synq.backend.exceptions.EndpointException;
+import com.synq.backend.model.Frequency;
+import com.synq.backend.model.User;
+import com.synq.backend.repository.FrequencyRepository;
+import com.synq.backend.repository.UserRepository;
+import com.synq.backend.service.MembershipService;
+import com.synq.backend.service.MessageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration test for delta sync over the message change log.
+ * Not transactional: changes are appended when the writing transaction commits.
+ */
+class MessageChangeLogIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String USER_PREFIX = "changes-test-";
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MembershipIndex membershipIndex;
+
+    @Autowired
+    private FrequencyRepository frequencyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long frequencyId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.save(User.builder()
+                    .username(USER_PREFIX + "user")
+                    .email(USER_PREFIX + "user@test.com")
+                    .build());
+            Frequency frequency = frequencyRepository.save(Frequency.builder()
+                    .name("Changes Test")
+                    .slug("changes-test")
+                    .owner(user)
+                    .build());
+            userId = user.getId();
+            frequencyId = frequency.getId();
+        });
+        membershipService.joinFrequency(userId, frequencyId, MembershipRole.OWNER, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM messages WHERE frequency_id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM memberships WHERE frequency_id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM frequencies WHERE id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", USER_PREFIX + "%");
+        membershipIndex.evict(frequencyId);
+    }
+
+    @Test
+    @DisplayName("Should collapse inserts, edits and deletes since a token into current state and tombstones")
+    void testChangesSince() {
+        // Given
+        String token = messageService.getChangesSince(frequencyId, null, 100).token();
+        MessageDto kept = post("first");
+        MessageDto removed = post("second");
+        messageService.updateMessage(kept.id(), new UpdateMessageDto("first, edited", null), userId);
+        messageService.deleteMessage(removed.id(), userId);
+
+        // When
+        MessageChangesDto changes = messageService.getChangesSince(frequencyId, token, 100);
+
+        // Then
+        assertThat(changes.hasMore()).isFalse();
+        assertThat(changes.changes()).extracting(MessageChangeDto::messageId)
+                .containsExactly(kept.id(), removed.id());
+
+        MessageChangeDto insert = changes.changes().get(0);
+        assertThat(insert.type()).isEqualTo(MessageEventType.CREATED);
+        assertThat(insert.message().content()).isEqualTo("first, edited");
+
+        MessageChangeDto tombstone = changes.changes().get(1);
+        assertThat(tombstone.type()).isEqualTo(MessageEventType.DELETED);
+        assertThat(tombstone.seq()).isEqualTo(removed.seq());
+        assertThat(tombstone.message()).isNull();
+
+        // And nothing more after the returned token
+        MessageChangesDto none = messageService.getChangesSince(frequencyId, changes.token(), 100);
+        assertThat(none.changes()).isEmpty();
+        assertThat(none.token()).isEqualTo(changes.token());
+    }
+
+    @Test
+    @DisplayName("Should page through changes and report edits of messages seen earlier as updates")
+    void testPaging() {
+        // Given
+        String token = messageService.getChangesSince(frequencyId, null, 100).token();
+        MessageDto first = post("one");
+        post("two");
+        MessageChangesDto page = messageService.getChangesSince(frequencyId, token, 1);
+        messageService.updateMessage(first.id(), new UpdateMessageDto("one, edited", null), userId);
+
+        // When
+        MessageChangesDto rest = messageService.getChangesSince(frequencyId, page.token(), 100);
+
+        // Then
+        assertThat(page.hasMore()).isTrue();
+        assertThat(page.changes()).extracting(MessageChangeDto::messageId).containsExactly(first.id());
+        assertThat(rest.hasMore()).isFalse();
+        assertThat(rest.changes()).extracting(MessageChangeDto::type)
+                .containsExactly(MessageEventType.CREATED, MessageEventType.UPDATED);
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose changes were pruned")
+    void testExpiredToken() {
+        // Given
+        String token = messageService.getChangesSince(frequencyId, null, 100).token();
+        post("old");
+        post("new");
+        jdbcTemplate.update("DELETE FROM message_changes WHERE frequency_id = ? AND change_seq = 1", frequencyId);
+
+        // When / Then
+        assertThatThrownBy(() -> messageService.getChangesSince(frequencyId, token, 100))
+                .isInstanceOf(EndpointException.class)
+                .extracting(e -> ((EndpointException) e).getStatus())
+                .isEqualTo(HttpStatus.GONE);
+    }
+
+    private MessageDto post(String content) {
+        return messageService.postMessage(
+                new CreateMessageDto(frequencyId, content, MessageType.TEXT, null, Map.of()), userId);
+    }
+}
@@ -0,0 +1,272 @@
+package com.synq.backend.sync;
+
+import com.synq.backend.AbstractIntegrationTest;
+import com.synq.backend.dto.request.CreateMessageDto;
+import com.synq.backend.dto.response.CursorPageDto;
+import com.synq.backend.dto.response.MessageDto;
+import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.enums.MessageType;
+import com.synq.backend.model.Frequency;
+import com.synq.backend.model.Membership;
+import com.synq.backend.model.User;
+import com.synq.backend.repository.FrequencyRepository;
+import com.synq.backend.repository.MembershipRepository;
+import com.synq.backend.repository.UserRepository;
+import com.synq.backend.service.MessageService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for message sequence numbers under concurrent posting, with a measurement of
+ * how much the frequency row lock serializes posts to one frequency.
+ * Not transactional: every post must commit in its own transaction to race for real.
+ */
+@Slf4j
+class MessageSequenceAllocatorIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String USER_PREFIX = "seq-test-";
+    private static final int THREADS = 16;
+    private static final int PER_THREAD = 25;
+    private static final int CONTENTION_PER_THREAD = 100;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private FrequencyRepository frequencyRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long authorId;
+    private Long frequencyId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User owner = userRepository.save(User.builder()
+                    .username(USER_PREFIX + "owner")
+                    .email(USER_PREFIX + "owner@test.com")
+                    .build());
+            Frequency frequency = frequencyRepository.save(Frequency.builder()
+                    .name("Seq Test")
+                    .slug("seq-test")
+                    .owner(owner)
+                    .build());
+            membershipRepository.save(Membership.builder()
+                    .user(owner)
+                    .frequency(frequency)
+                    .role(MembershipRole.OWNER)
+                    .joinedAt(LocalDateTime.now())
+                    .build());
+            authorId = owner.getId();
+            frequencyId = frequency.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        String ownedFrequencies = "SELECT f.id FROM frequencies f JOIN users u ON u.id = f.owner_id WHERE u.username LIKE ?";
+        jdbcTemplate.update("DELETE FROM message_changes WHERE frequency_id IN (" + ownedFrequencies + ")", USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE m FROM messages m JOIN frequencies f ON f.id = m.frequency_id " +
+                "JOIN users u ON u.id = f.owner_id WHERE u.username LIKE ?", USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE m FROM memberships m JOIN users u ON u.id = m.user_id WHERE u.username LIKE ?",
+                USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE f FROM frequencies f JOIN users u ON u.id = f.owner_id WHERE u.username LIKE ?",
+                USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", USER_PREFIX + "%");
+    }
+
+    @Test
+    @DisplayName("Should number concurrent posts densely and commit them in sequence order")
+    void testConcurrentPostsAreDenseAndCommitOrdered() throws Exception {
+        // Given
+        Set<Long> seqs = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // When
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        assertThat(seqs.add(post("Message").seq())).isTrue();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then - no holes
+        long total = (long) THREADS * PER_THREAD;
+        assertThat(seqs).containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, total).boxed().toList());
+        assertThat(frequencyRepository.findLastMessageSeqById(frequencyId)).contains(total);
+
+        // And the change log, appended at commit, saw the posts in sequence order
+        List<Long> seqsInCommitOrder = jdbcTemplate.queryForList(
+                "SELECT m.seq FROM message_changes c JOIN messages m ON m.id = c.message_id " +
+                        "WHERE c.frequency_id = ? AND c.change_type = 'CREATED' ORDER BY c.change_seq",
+                Long.class, frequencyId);
+        assertThat(seqsInCommitOrder).hasSize((int) total).isSorted();
+    }
+
+    @Test
+    @DisplayName("Should give the number of a rolled back post to the next post")
+    void testRolledBackPostLeavesNoHole() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(post("Rolled back").seq()).isEqualTo(1L);
+            status.setRollbackOnly();
+        });
+
+        // When
+        Long seq = post("Committed").seq();
+
+        // Then
+        assertThat(seq).isEqualTo(1L);
+        assertThat(frequencyRepository.findLastMessageSeqById(frequencyId)).contains(1L);
+    }
+
+    @Test
+    @DisplayName("Should return deleted messages in a sync page as tombstones so no number is missing")
+    void testSyncReturnsTombstones() {
+        // Given
+        MessageDto first = post("First");
+        MessageDto deleted = post("Deleted");
+        MessageDto last = post("Last");
+        messageService.deleteMessage(deleted.id(), authorId);
+
+        // When
+        CursorPageDto<MessageDto> page = messageService.getMessagesAfterSeq(frequencyId, 0L, 10);
+
+        // Then
+        assertThat(page.items()).extracting(MessageDto::seq).containsExactly(first.seq(), deleted.seq(), last.seq());
+        MessageDto tombstone = page.items().get(1);
+        assertThat(tombstone.id()).isEqualTo(deleted.id());
+        assertThat(tombstone.deletedAt()).isNotNull();
+        assertThat(tombstone.content()).isNull();
+        assertThat(tombstone.authorId()).isNull();
+        assertThat(page.items().get(2).content()).isEqualTo("Last");
+    }
+
+    @Test
+    @DisplayName("Should measure posts to one frequency against the same load spread over many")
+    void testSingleFrequencyContention() throws Exception {
+        // Given - one author per thread, each a member of the shared frequency and of a frequency of their own
+        List<Long> authorIds = new ArrayList<>(THREADS);
+        List<Long> ownFrequencyIds = new ArrayList<>(THREADS);
+        transactionTemplate.executeWithoutResult(status -> {
+            Frequency shared = frequencyRepository.getReferenceById(frequencyId);
+            for (int t = 0; t < THREADS; t++) {
+                User author = userRepository.save(User.builder()
+                        .username(USER_PREFIX + "author-" + t)
+                        .email(USER_PREFIX + "author-" + t + "@test.com")
+                        .build());
+                Frequency own = frequencyRepository.save(Frequency.builder()
+                        .name("Seq Test " + t)
+                        .slug("seq-test-" + t)
+                        .owner(author)
+                        .build());
+                membershipRepository.save(member(author, shared, MembershipRole.MEMBER));
+                membershipRepository.save(member(author, own, MembershipRole.OWNER));
+                authorIds.add(author.getId());
+                ownFrequencyIds.add(own.getId());
+            }
+        });
+
+        // When
+        long spread = postsPerSecond(authorIds, ownFrequencyIds);
+        long single = postsPerSecond(authorIds, Collections.nCopies(THREADS, frequencyId));
+
+        // Then - posts to one frequency commit one at a time under its row lock
+        log.info("{} threads x {} posts: {} posts/s to one frequency, {} posts/s spread over {} frequencies",
+                THREADS, CONTENTION_PER_THREAD, single, spread, THREADS);
+        assertThat(frequencyRepository.findLastMessageSeqById(frequencyId))
+                .contains((long) THREADS * CONTENTION_PER_THREAD);
+    }
+
+    /**
+     * Post from every author at once, author i always into frequency i, and return the overall rate
+     */
+    private long postsPerSecond(List<Long> authorIds, List<Long> frequencyIds) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long startNanos;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Long author = authorIds.get(t);
+                Long frequency = frequencyIds.get(t);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CONTENTION_PER_THREAD; i++) {
+                        messageService.postMessage(
+                                new CreateMessageDto(frequency, "Message", MessageType.TEXT, null, null), author);
+                    }
+                    return null;
+                }));
+            }
+            startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return (long) THREADS * CONTENTION_PER_THREAD * 1000L / elapsedMillis;
+    }
+
+    private static Membership member(User user, Frequency frequency, MembershipRole role) {
+        return Membership.builder()
+                .user(user)
+                .frequency(frequency)
+                .role(role)
+                .joinedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private MessageDto post(String content) {
+        return messageService.postMessage(
+                new CreateMessageDto(frequencyId, content, MessageType.TEXT, null, null), authorId);
+    }
+}
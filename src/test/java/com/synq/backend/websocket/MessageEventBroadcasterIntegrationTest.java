@@ -0,0 +1,185 @@
+package com.synq.backend.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synq.backend.AbstractIntegrationTest;
+import com.synq.backend.dto.request.CreateMessageDto;
+import com.synq.backend.dto.response.MessageDto;
+import com.synq.backend.enums.MembershipRole;
+import com.synq.backend.enums.MessageType;
+import com.synq.backend.model.Frequency;
+import com.synq.backend.model.Membership;
+import com.synq.backend.model.User;
+import com.synq.backend.repository.FrequencyRepository;
+import com.synq.backend.repository.MembershipRepository;
+import com.synq.backend.repository.UserRepository;
+import com.synq.backend.service.MessageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for MessageEventBroadcaster - what reaches the frequency topic, and when.
+ * Not transactional: events are only broadcast once the service transaction commits.
+ */
+class MessageEventBroadcasterIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String USER_PREFIX = "broadcast-test-";
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private FrequencyRepository frequencyRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("brokerChannel")
+    private AbstractSubscribableChannel brokerChannel;
+
+    private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+    private final ChannelInterceptor capture = new ChannelInterceptor() {
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            sent.add(message);
+            return message;
+        }
+    };
+
+    private Long authorId;
+    private Long frequencyId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User author = userRepository.save(User.builder()
+                    .username(USER_PREFIX + "author")
+                    .email(USER_PREFIX + "author@test.com")
+                    .build());
+            Frequency frequency = frequencyRepository.save(Frequency.builder()
+                    .name("Broadcast Test")
+                    .slug("broadcast-test")
+                    .owner(author)
+                    .build());
+            membershipRepository.save(Membership.builder()
+                    .user(author)
+                    .frequency(frequency)
+                    .role(MembershipRole.OWNER)
+                    .joinedAt(LocalDateTime.now())
+                    .build());
+            authorId = author.getId();
+            frequencyId = frequency.getId();
+        });
+        brokerChannel.addInterceptor(capture);
+    }
+
+    @AfterEach
+    void tearDown() {
+        brokerChannel.removeInterceptor(capture);
+        jdbcTemplate.update("DELETE FROM message_changes WHERE frequency_id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM messages WHERE frequency_id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM memberships WHERE frequency_id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM frequencies WHERE id = ?", frequencyId);
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", USER_PREFIX + "%");
+    }
+
+    @Test
+    @DisplayName("Should publish a committed post to the frequency topic")
+    void testPublishedAfterCommit() throws IOException {
+        // When
+        MessageDto posted = post("Hello subscribers");
+
+        // Then
+        List<Message<?>> frames = framesFor(frequencyId);
+        assertThat(frames).hasSize(1);
+        JsonNode frame = json(frames.get(0));
+        assertThat(frame.path("type").asText()).isEqualTo("CREATED");
+        assertThat(frame.path("frequencyId").asLong()).isEqualTo(frequencyId);
+        assertThat(frame.path("message").path("id").asLong()).isEqualTo(posted.id());
+        assertThat(frame.path("message").path("content").asText()).isEqualTo("Hello subscribers");
+    }
+
+    @Test
+    @DisplayName("Should publish nothing for a post whose transaction rolls back")
+    void testNotPublishedOnRollback() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            post("Never committed");
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(framesFor(frequencyId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should publish a deletion with only the id, frequency and deletion time")
+    void testDeletedFrameCarriesNoContent() throws IOException {
+        // Given
+        MessageDto posted = post("Secret to be removed");
+        sent.clear();
+
+        // When
+        messageService.deleteMessage(posted.id(), authorId);
+
+        // Then
+        List<Message<?>> frames = framesFor(frequencyId);
+        assertThat(frames).hasSize(1);
+        JsonNode frame = json(frames.get(0));
+        assertThat(frame.path("type").asText()).isEqualTo("DELETED");
+        JsonNode message = frame.path("message");
+        assertThat(message.properties()).extracting(Map.Entry::getKey)
+                .containsExactlyInAnyOrder("id", "frequencyId", "deletedAt");
+        assertThat(message.path("id").asLong()).isEqualTo(posted.id());
+        assertThat(message.path("frequencyId").asLong()).isEqualTo(frequencyId);
+        assertThat(message.path("deletedAt").isNull()).isFalse();
+    }
+
+    private MessageDto post(String content) {
+        return messageService.postMessage(
+                new CreateMessageDto(frequencyId, content, MessageType.TEXT, null, Map.of()), authorId);
+    }
+
+    private List<Message<?>> framesFor(Long frequencyId) {
+        String destination = MessageEventBroadcaster.FREQUENCY_TOPIC_PREFIX + frequencyId;
+        return sent.stream()
+                .filter(message -> destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders())))
+                .toList();
+    }
+
+    private JsonNode json(Message<?> message) throws IOException {
+        return objectMapper.readTree((byte[]) message.getPayload());
+    }
+}